@@ -45,16 +45,19 @@ public class AsciidoctorConverterDoxiaParser extends AbstractTextParser {
     private final SiteConversionConfigurationParser siteConfigParser;
     private final LogHandlerFactory logHandlerFactory;
     private final SiteConverterDecorator siteConverter;
+    private final AsciidoctorRuntimePool runtimePool;
 
     @Inject
     public AsciidoctorConverterDoxiaParser(MavenProject mavenProject,
                                            SiteConversionConfigurationParser siteConfigParser,
                                            LogHandlerFactory logHandlerFactory,
-                                           SiteConverterDecorator siteConverter) {
+                                           SiteConverterDecorator siteConverter,
+                                           AsciidoctorRuntimePool runtimePool) {
         this.mavenProject = mavenProject;
         this.siteConfigParser = siteConfigParser;
         this.logHandlerFactory = logHandlerFactory;
         this.siteConverter = siteConverter;
+        this.runtimePool = runtimePool;
     }
 
     /**
@@ -72,24 +75,25 @@ public class AsciidoctorConverterDoxiaParser extends AbstractTextParser {
             return;
         }
 
-        final SiteConversionConfiguration conversionConfig = siteConfigParser.processAsciiDocConfig(mavenProject, ROLE_HINT);
+        final SiteConversionConfiguration conversionConfig = siteConfigParser.processAsciiDocConfig(mavenProject, ROLE_HINT, reference);
         final Xpp3Dom asciidocConfig = conversionConfig.getAsciidocConfig();
         final File siteDirectory = conversionConfig.getSiteBaseDir();
 
         // Doxia handles a single instance of this class and invokes it multiple times.
-        // We need to ensure certain elements are initialized only once to avoid errors.
-        // Note, this cannot be done in the constructor because mavenProjectProvider in set after construction.
-        // And overriding init and other methods form parent classes does not work.
-        final Asciidoctor asciidoctor = Asciidoctor.Factory.create();
-
-        for (String require : conversionConfig.getRequires()) {
-            requireLibrary(asciidoctor, require);
-        }
+        // Initialized instances are kept in a pool to avoid booting a new runtime for each document,
+        // locale and module.
+        final Asciidoctor asciidoctor = runtimePool.acquire(conversionConfig.getRequires());
 
         final LogHandler logHandler = logHandlerFactory.getConfiguration(asciidocConfig);
         final MemoryLogHandler memoryLogHandler = logHandlerFactory.create(asciidoctor, siteDirectory, logger);
 
-        final Result headerMetadata = siteConverter.process(asciidoctor, source, conversionConfig.getOptions());
+        final Result headerMetadata;
+        try {
+            headerMetadata = siteConverter.process(asciidoctor, source, conversionConfig.getOptions());
+        } finally {
+            asciidoctor.unregisterLogHandler(memoryLogHandler);
+            runtimePool.release(conversionConfig.getRequires(), asciidoctor);
+        }
 
         try {
             // process log messages according to mojo configuration
@@ -110,15 +114,4 @@ public class AsciidoctorConverterDoxiaParser extends AbstractTextParser {
 
         sink.rawText(headerMetadata.getHtml());
     }
-
-    private void requireLibrary(Asciidoctor asciidoctor, String require) {
-        if (!(require = require.trim()).isEmpty()) {
-            try {
-                asciidoctor.requireLibrary(require);
-            } catch (Exception ex) {
-                logger.error(ex.getLocalizedMessage());
-            }
-        }
-    }
-
 }
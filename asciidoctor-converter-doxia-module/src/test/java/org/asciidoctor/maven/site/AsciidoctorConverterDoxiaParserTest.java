@@ -267,7 +267,8 @@ class AsciidoctorConverterDoxiaParserTest {
             createMockMavenProject(configuration),
             new SiteConversionConfigurationParser(new SiteBaseDirResolver()),
             new LogHandlerFactory(),
-            new SiteConverterDecorator()
+            new SiteConverterDecorator(),
+            new AsciidoctorRuntimePool()
         );
     }
 
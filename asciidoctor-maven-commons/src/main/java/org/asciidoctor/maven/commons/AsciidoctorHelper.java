@@ -5,6 +5,7 @@ import org.asciidoctor.AttributesBuilder;
 
 import java.util.Map;
 import java.util.Properties;
+import java.util.function.Predicate;
 
 /**
  * Utility class for re-usable logic.
@@ -33,13 +34,40 @@ public class AsciidoctorHelper {
      * @param attributesBuilder AsciidoctorJ AttributesBuilder
      */
     public static void addProperties(Properties properties, AttributesBuilder attributesBuilder) {
+        addProperties(properties, attributesBuilder, attribute -> true);
+    }
+
+    /**
+     * Adds the properties from the {@link Properties} whose attribute name is accepted by the filter into a
+     * {@link AttributesBuilder}.
+     *
+     * @param properties        Java {@link Properties}
+     * @param attributesBuilder AsciidoctorJ AttributesBuilder
+     * @param filter            filter on the attribute name of each property
+     * @since 3.2.1
+     */
+    public static void addProperties(Properties properties, AttributesBuilder attributesBuilder, Predicate<String> filter) {
         if (properties != null) {
             for (Map.Entry<Object, Object> entry : properties.entrySet()) {
-                attributesBuilder.attribute(((String) entry.getKey()).replaceAll("\\.", "-"), entry.getValue());
+                final String attribute = toAttributeName((String) entry.getKey());
+                if (filter.test(attribute)) {
+                    attributesBuilder.attribute(attribute, entry.getValue());
+                }
             }
         }
     }
 
+    /**
+     * Returns the attribute name a Maven property is passed as, replacing . by -.
+     *
+     * @param property Maven property name
+     * @return Asciidoctor attribute name
+     * @since 3.2.1
+     */
+    public static String toAttributeName(String property) {
+        return property.replace('.', '-');
+    }
+
     /**
      * Adds an attribute into a {@link AttributesBuilder} taking care of Maven's XML parsing special cases like
      * toggles, nulls, etc.
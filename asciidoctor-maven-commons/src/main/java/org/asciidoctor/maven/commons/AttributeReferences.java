@@ -0,0 +1,183 @@
+package org.asciidoctor.maven.commons;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Finds the names of the attributes referenced in AsciiDoc sources, to only pass
+ * the Maven properties documents use as attributes.
+ * <p>
+ * Detects references (<code>{name}</code>, <code>{set:name}</code>) and conditional
+ * directives (<code>ifdef::name[]</code>, <code>ifndef::a,b[]</code>).
+ * Sources are not parsed, so a name may be found where it is not a reference (e.g. in a
+ * literal block), which only means the property is passed.
+ * Attribute values from the configuration can reference properties too, see {@link #withValues(Collection)}.
+ *
+ * @since 3.2.1
+ */
+public class AttributeReferences {
+
+    private static final Pattern STANDARD_EXTENSIONS = Pattern.compile(".*\\.a((sc(iidoc)?)|d(oc)?)$");
+    // docinfo files are not copied as resources, Asciidoctor substitutes attributes in them
+    private static final Pattern DOCINFO = Pattern.compile("(.+-)?docinfo(-header|-footer)?\\.(html|xml)$");
+
+    private static final Pattern REFERENCE = Pattern.compile("\\{(?:set:)?([A-Za-z0-9_][A-Za-z0-9_-]*)");
+    private static final Pattern CONDITIONAL = Pattern.compile("ifn?def::([^\\[\\s]+)\\[");
+
+    private final Set<String> names;
+    // to detect changes in the scanned files without reading them
+    private final long fileCount;
+    private final long lastModified;
+
+    private AttributeReferences(Set<String> names, long fileCount, long lastModified) {
+        this.names = names;
+        this.fileCount = fileCount;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Scans all AsciiDoc files in a directory and its sub-directories, including partials and
+     * docinfo files (e.g. <code>docinfo.html</code>, <code>index-docinfo-footer.xml</code>).
+     *
+     * @param directory  directory to scan
+     * @param extensions additional file extensions to scan, without dot
+     * @return referenced attributes
+     */
+    public static AttributeReferences scan(File directory, Collection<String> extensions) {
+        final Set<String> names = new HashSet<>();
+        final List<Path> files = scannedFiles(directory, extensions);
+        try {
+            for (Path file : files) {
+                collect(new String(Files.readAllBytes(file), StandardCharsets.UTF_8), names);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new AttributeReferences(names, files.size(), lastModified(files));
+    }
+
+    /**
+     * Whether files were added, removed or modified in a directory since it was scanned.
+     * Only checks the files' modification time, files are not read.
+     *
+     * @param directory  directory scanned
+     * @param extensions additional file extensions scanned, without dot
+     * @return {@literal true} if the directory needs to be scanned again
+     */
+    public boolean isModified(File directory, Collection<String> extensions) {
+        final List<Path> files = scannedFiles(directory, extensions);
+        return files.size() != fileCount || lastModified(files) != lastModified;
+    }
+
+    /**
+     * Returns the references found in the sources and in attribute values, e.g.
+     * <code>&lt;revnumber&gt;{project-version}&lt;/revnumber&gt;</code> in the plugin configuration.
+     *
+     * @param values attribute values, or texts with attributes like an attributes chain
+     * @return new referenced attributes
+     */
+    public AttributeReferences withValues(Collection<?> values) {
+        final Set<String> allNames = new HashSet<>(names);
+        for (Object value : values) {
+            if (value != null) {
+                collect(value.toString(), allNames);
+            }
+        }
+        return new AttributeReferences(allNames, fileCount, lastModified);
+    }
+
+    private static List<Path> scannedFiles(File directory, Collection<String> extensions) {
+        if (!directory.isDirectory()) {
+            return Collections.emptyList();
+        }
+        try (Stream<Path> files = Files.walk(directory.toPath())) {
+            return files.filter(Files::isRegularFile)
+                .filter(path -> isScanned(path.getFileName().toString(), extensions))
+                .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long lastModified(List<Path> files) {
+        long lastModified = 0;
+        for (Path file : files) {
+            lastModified = Math.max(lastModified, file.toFile().lastModified());
+        }
+        return lastModified;
+    }
+
+    private static boolean isScanned(String filename, Collection<String> extensions) {
+        if (STANDARD_EXTENSIONS.matcher(filename).matches() || DOCINFO.matcher(filename).matches()) {
+            return true;
+        }
+        for (String extension : extensions) {
+            if (filename.endsWith("." + extension)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static void collect(CharSequence content, Set<String> names) {
+        final Matcher reference = REFERENCE.matcher(content);
+        while (reference.find()) {
+            names.add(reference.group(1).toLowerCase(Locale.ROOT));
+        }
+        final Matcher conditional = CONDITIONAL.matcher(content);
+        while (conditional.find()) {
+            for (String name : conditional.group(1).split("[,+]")) {
+                if (!name.isEmpty()) {
+                    names.add(name.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether an attribute is referenced, attribute names are case-insensitive.
+     *
+     * @param attribute attribute name
+     * @return {@literal true} if the attribute is referenced
+     */
+    public boolean contains(String attribute) {
+        return names.contains(attribute.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Returns a filter accepting the referenced attributes and the ones in the allow-list.
+     *
+     * @param allowed Maven property or attribute names always accepted
+     * @return attribute name filter
+     */
+    public Predicate<String> or(Collection<String> allowed) {
+        final Set<String> allowedNames = allowed.stream()
+            .map(name -> AsciidoctorHelper.toAttributeName(name.trim()).toLowerCase(Locale.ROOT))
+            .collect(Collectors.toSet());
+        return attribute -> contains(attribute) || allowedNames.contains(attribute.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Returns the number of different attributes referenced.
+     *
+     * @return number of attributes
+     */
+    public int size() {
+        return names.size();
+    }
+}
@@ -0,0 +1,63 @@
+package org.asciidoctor.maven.log;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.asciidoctor.Asciidoctor;
+import org.asciidoctor.log.LogHandler;
+import org.asciidoctor.log.LogRecord;
+
+/**
+ * AsciidoctorJ LogHandler that forwards records to the handler set for the thread that logs them.
+ * <p>
+ * Allows converting in several threads with the same Asciidoctor instance, capturing the messages of
+ * each conversion separately. A single dispatcher is registered per instance, since registering
+ * handlers while other threads are logging is not thread-safe.
+ *
+ * @since 3.2.1
+ */
+public class ThreadLogDispatcher implements LogHandler {
+
+    private static final Map<Asciidoctor, ThreadLogDispatcher> DISPATCHERS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final ThreadLocal<LogHandler> handlers = new ThreadLocal<>();
+
+    private ThreadLogDispatcher() {
+    }
+
+    /**
+     * Returns the dispatcher of an Asciidoctor instance, registering it on first use.
+     *
+     * @param asciidoctor Asciidoctor instance
+     * @return dispatcher registered in the instance
+     */
+    public static ThreadLogDispatcher of(Asciidoctor asciidoctor) {
+        return DISPATCHERS.computeIfAbsent(asciidoctor, instance -> {
+            final ThreadLogDispatcher dispatcher = new ThreadLogDispatcher();
+            instance.registerLogHandler(dispatcher);
+            return dispatcher;
+        });
+    }
+
+    /**
+     * Sets the handler for the records logged by the current thread.
+     *
+     * @param handler handler, {@literal null} to ignore the records
+     */
+    public void setHandler(LogHandler handler) {
+        if (handler == null) {
+            handlers.remove();
+        } else {
+            handlers.set(handler);
+        }
+    }
+
+    @Override
+    public void log(LogRecord logRecord) {
+        final LogHandler handler = handlers.get();
+        if (handler != null) {
+            handler.log(logRecord);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package org.asciidoctor.maven.site;
+
+import javax.inject.Singleton;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+import org.asciidoctor.Asciidoctor;
+import org.codehaus.plexus.personality.plexus.lifecycle.phase.Disposable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps initialized Asciidoctor instances to be re-used across documents and
+ * modules, instead of booting a new runtime for each document.
+ * <p>
+ * Instances are grouped by the libraries they require, since these cannot be unloaded.
+ * Doxia renders documents, locales and modules one after another, the gain is not booting
+ * a runtime again for each of them. Each instance is still used by one thread at a time.
+ * At most {@link #DEFAULT_MAX_IDLE} instances are kept per group, instances released
+ * when the group is full are shut down. All idle instances are shut down when the
+ * container disposes the pool at the end of the session.
+ *
+ * @since 3.2.1
+ */
+@Singleton
+public class AsciidoctorRuntimePool implements Disposable {
+
+    /**
+     * Default maximum number of idle instances kept per group of libraries.
+     */
+    public static final int DEFAULT_MAX_IDLE = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+
+    private static final Logger logger = LoggerFactory.getLogger(AsciidoctorRuntimePool.class);
+
+    private final Map<List<String>, Deque<Asciidoctor>> idleInstances = new ConcurrentHashMap<>();
+    private final int maxIdle;
+    private volatile boolean disposed = false;
+
+    /**
+     * Constructor.
+     */
+    public AsciidoctorRuntimePool() {
+        this(DEFAULT_MAX_IDLE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param maxIdle maximum number of idle instances kept per group of libraries
+     */
+    public AsciidoctorRuntimePool(int maxIdle) {
+        this.maxIdle = maxIdle;
+    }
+
+    /**
+     * Returns an idle instance with the required libraries loaded, or initializes
+     * a new one if none is available.
+     *
+     * @param requires libraries to require
+     * @return Asciidoctor instance for exclusive use until released
+     */
+    public Asciidoctor acquire(List<String> requires) {
+        final Asciidoctor asciidoctor = idleInstances(requires).pollFirst();
+        if (asciidoctor != null) {
+            return asciidoctor;
+        }
+
+        final Asciidoctor newInstance = Asciidoctor.Factory.create();
+        for (String require : requires) {
+            requireLibrary(newInstance, require);
+        }
+        return newInstance;
+    }
+
+    /**
+     * Returns an instance to the pool to be re-used, or shuts it down if the pool
+     * already keeps the maximum number of idle instances or has been disposed.
+     *
+     * @param requires    libraries the instance was acquired with
+     * @param asciidoctor instance to release
+     */
+    public void release(List<String> requires, Asciidoctor asciidoctor) {
+        final Deque<Asciidoctor> instances = idleInstances(requires);
+        synchronized (instances) {
+            if (!disposed && instances.size() < maxIdle) {
+                instances.offerFirst(asciidoctor);
+                return;
+            }
+        }
+        asciidoctor.shutdown();
+    }
+
+    /**
+     * Returns the number of idle instances kept for a group of libraries.
+     *
+     * @param requires libraries the instances were acquired with
+     * @return number of idle instances
+     */
+    public int idleCount(List<String> requires) {
+        return idleInstances(requires).size();
+    }
+
+    /**
+     * Shuts down all idle instances. Instances released afterwards are shut down.
+     */
+    @Override
+    public void dispose() {
+        disposed = true;
+        for (Deque<Asciidoctor> instances : idleInstances.values()) {
+            synchronized (instances) {
+                Asciidoctor asciidoctor;
+                while ((asciidoctor = instances.pollFirst()) != null) {
+                    asciidoctor.shutdown();
+                }
+            }
+        }
+    }
+
+    private Deque<Asciidoctor> idleInstances(List<String> requires) {
+        return idleInstances.computeIfAbsent(List.copyOf(requires), key -> new ConcurrentLinkedDeque<>());
+    }
+
+    private void requireLibrary(Asciidoctor asciidoctor, String require) {
+        if (!(require = require.trim()).isEmpty()) {
+            try {
+                asciidoctor.requireLibrary(require);
+            } catch (Exception ex) {
+                logger.error(ex.getLocalizedMessage());
+            }
+        }
+    }
+}
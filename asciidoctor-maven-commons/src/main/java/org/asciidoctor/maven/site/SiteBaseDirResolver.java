@@ -3,15 +3,19 @@ package org.asciidoctor.maven.site;
 import javax.inject.Singleton;
 import java.io.File;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import org.codehaus.plexus.util.xml.Xpp3Dom;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
  * Calculates the path where the root of the sources are located based on the
  * maven-site-plugin configuration.
  * Not to confuse with Asciidoctor's baseDir.
+ * <p>
+ * When multiple locales are configured, each one has its own base dir and
+ * documents are matched to the locale that contains them.
  *
  * @author abelsromero
  * @since 3.1.1
@@ -19,26 +23,64 @@ import org.slf4j.LoggerFactory;
 @Singleton
 public class SiteBaseDirResolver {
 
-    private static final Logger logger = LoggerFactory.getLogger(SiteBaseDirResolver.class);
     private static final String DEFAULT_SOURCE_LOCATION = "src/site";
 
 
     File resolveBaseDir(File mavenBaseDir, Xpp3Dom siteConfig) {
+        return resolveBaseDirs(mavenBaseDir, siteConfig).get(0);
+    }
+
+    /**
+     * Resolves the base dir of the locale that contains the document.
+     * When the document is not located in any of the configured locales, the
+     * first one is used.
+     *
+     * @param mavenBaseDir Maven project base directory
+     * @param siteConfig   maven-site-plugin configuration
+     * @param reference    document path, absolute or relative to the Maven project
+     * @return site base dir for the document
+     * @since 3.2.1
+     */
+    File resolveBaseDir(File mavenBaseDir, Xpp3Dom siteConfig, String reference) {
+        final List<File> baseDirs = resolveBaseDirs(mavenBaseDir, siteConfig);
+        if (reference == null || reference.isBlank() || baseDirs.size() == 1)
+            return baseDirs.get(0);
+
+        final Path document = toAbsolutePath(mavenBaseDir, reference);
+        return baseDirs.stream()
+            .filter(baseDir -> document.startsWith(baseDir.toPath().toAbsolutePath().normalize()))
+            .findFirst()
+            .orElse(baseDirs.get(0));
+    }
+
+    /**
+     * Resolves the base dirs for all configured locales, in configuration order.
+     *
+     * @param mavenBaseDir Maven project base directory
+     * @param siteConfig   maven-site-plugin configuration
+     * @return site base dirs, at least one
+     * @since 3.2.1
+     */
+    List<File> resolveBaseDirs(File mavenBaseDir, Xpp3Dom siteConfig) {
         final String siteDirectory = resolveSiteDirectory(siteConfig);
-        final String locale = resolveLocale(siteConfig);
+        final List<String> locales = resolveLocales(siteConfig);
 
         final Path path = Path.of(mavenBaseDir.getPath());
+        final String sourceLocation = siteDirectory != null ? siteDirectory : DEFAULT_SOURCE_LOCATION;
 
-        if (siteDirectory != null && locale != null)
-            return normalize(path, siteDirectory, locale);
-
-        if (siteDirectory != null)
-            return normalize(path, siteDirectory);
+        if (locales.isEmpty())
+            return List.of(normalize(path, sourceLocation));
 
-        if (locale != null)
-            return normalize(path, DEFAULT_SOURCE_LOCATION, locale);
+        return locales.stream()
+            .map(locale -> normalize(path, sourceLocation, locale))
+            .collect(Collectors.toList());
+    }
 
-        return normalize(path, DEFAULT_SOURCE_LOCATION);
+    private static Path toAbsolutePath(File mavenBaseDir, String reference) {
+        final Path referencePath = Path.of(reference);
+        return (referencePath.isAbsolute() ? referencePath : mavenBaseDir.toPath().resolve(referencePath))
+            .toAbsolutePath()
+            .normalize();
     }
 
     private static String resolveSiteDirectory(Xpp3Dom siteConfig) {
@@ -51,19 +93,18 @@ public class SiteBaseDirResolver {
         return null;
     }
 
-    private static String resolveLocale(Xpp3Dom siteConfig) {
+    private static List<String> resolveLocales(Xpp3Dom siteConfig) {
         if (siteConfig != null) {
             final Xpp3Dom locales = siteConfig.getChild("locales");
-            if (locales != null) {
-                // We can support 1 locale: https://issues.apache.org/jira/browse/DOXIA-755
-                String[] split = locales.getValue().split(",");
-                if (split.length > 0) {
-                    logger.warn("Multiple locales found: {}, this is not supported. Configure multiple plugin executions instead.", locales.getValue());
-                }
-                return split[0];
+            if (locales != null && locales.getValue() != null) {
+                return Arrays.stream(locales.getValue().split(","))
+                    .map(String::trim)
+                    .filter(locale -> !locale.isEmpty())
+                    .distinct()
+                    .collect(Collectors.toList());
             }
         }
-        return null;
+        return List.of();
     }
 
     private static File normalize(Path path, String... other) {
@@ -7,7 +7,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -18,6 +20,7 @@ import org.asciidoctor.Options;
 import org.asciidoctor.OptionsBuilder;
 import org.asciidoctor.SafeMode;
 import org.asciidoctor.maven.commons.AsciidoctorHelper;
+import org.asciidoctor.maven.commons.AttributeReferences;
 import org.asciidoctor.maven.commons.StringUtils;
 import org.codehaus.plexus.util.xml.Xpp3Dom;
 
@@ -35,6 +38,8 @@ import static org.asciidoctor.maven.commons.StringUtils.isNotBlank;
 public class SiteConversionConfigurationParser {
 
     private final SiteBaseDirResolver siteBaseDirResolver;
+    // sources are scanned again only when they change, not for every document
+    private final Map<File, AttributeReferences> attributeReferences = new ConcurrentHashMap<>();
 
     @Inject
     public SiteConversionConfigurationParser(SiteBaseDirResolver siteBaseDirResolver) {
@@ -42,18 +47,32 @@ public class SiteConversionConfigurationParser {
     }
 
     public SiteConversionConfiguration processAsciiDocConfig(MavenProject mavenProject, String roleHint) {
+        return processAsciiDocConfig(mavenProject, roleHint, null);
+    }
 
-        final AttributesBuilder presetAttributes = defaultAttributes();
-        AsciidoctorHelper.addProperties(mavenProject.getProperties(), presetAttributes);
-        final Attributes attributes = presetAttributes.build();
-
-        final File siteDir = siteBaseDirResolver.resolveBaseDir(mavenProject.getBasedir(), getSiteConfig(mavenProject));
+    /**
+     * Extracts the configuration for a document, using the site base dir of the
+     * locale that contains it.
+     *
+     * @param mavenProject current Maven project
+     * @param roleHint     Doxia parser role hint
+     * @param reference    document path as passed by Doxia, can be {@literal null}
+     * @return conversion configuration for the document
+     * @since 3.2.1
+     */
+    public SiteConversionConfiguration processAsciiDocConfig(MavenProject mavenProject, String roleHint, String reference) {
+
+        final File siteDir = siteBaseDirResolver.resolveBaseDir(mavenProject.getBasedir(), getSiteConfig(mavenProject), reference);
         final OptionsBuilder presetOptions = defaultOptions(siteDir, roleHint);
 
         final Xpp3Dom asciidocConfig = Optional.ofNullable(getSiteConfig(mavenProject))
             .map(node -> node.getChild("asciidoc"))
             .orElse(null);
 
+        final AttributesBuilder presetAttributes = defaultAttributes();
+        addProperties(mavenProject, asciidocConfig, new File(siteDir, roleHint), presetAttributes);
+        final Attributes attributes = presetAttributes.build();
+
         if (asciidocConfig == null) {
             final Options options = presetOptions.attributes(attributes).build();
             return new SiteConversionConfiguration(null, siteDir, options, Collections.emptyList());
@@ -95,6 +114,8 @@ public class SiteConversionConfigurationParser {
                 presetOptions.templateDirs(dirs.toArray(new File[dirs.size()]));
             } else if ("baseDir".equals(optName)) {
                 presetOptions.baseDir(resolveProjectDir(mavenProject, asciidocOpt.getValue()));
+            } else if ("attributesProjection".equals(optName) || "projectedProperties".equals(optName)) {
+                // applied to the Maven properties
             } else {
                 presetOptions.option(optName.replaceAll("(?<!_)([A-Z])", "_$1").toLowerCase(), asciidocOpt.getValue());
             }
@@ -104,6 +125,34 @@ public class SiteConversionConfigurationParser {
         return new SiteConversionConfiguration(asciidocConfig, siteDir, options, gemsToRequire);
     }
 
+    private void addProperties(MavenProject mavenProject, Xpp3Dom asciidocConfig, File sourceDir, AttributesBuilder attributesBuilder) {
+        final Xpp3Dom projection = asciidocConfig == null ? null : asciidocConfig.getChild("attributesProjection");
+        if (projection == null || !"true".equals(String.valueOf(projection.getValue()).trim())) {
+            AsciidoctorHelper.addProperties(mavenProject.getProperties(), attributesBuilder);
+            return;
+        }
+
+        // <projectedProperties>project.version, my-site.version</projectedProperties>
+        final Xpp3Dom projectedProperties = asciidocConfig.getChild("projectedProperties");
+        final List<String> allowed = projectedProperties == null || StringUtils.isBlank(projectedProperties.getValue())
+            ? Collections.emptyList()
+            : Stream.of(projectedProperties.getValue().split(","))
+            .filter(StringUtils::isNotBlank)
+            .map(String::trim)
+            .collect(Collectors.toList());
+        // site:run renders documents again when they are modified
+        final AttributeReferences references = attributeReferences.compute(sourceDir,
+            (dir, scanned) -> scanned == null || scanned.isModified(dir, Collections.emptyList())
+                ? AttributeReferences.scan(dir, Collections.emptyList())
+                : scanned);
+        // <attributes><revnumber>{project-version}</revnumber></attributes>
+        final Xpp3Dom attributes = asciidocConfig.getChild("attributes");
+        final List<String> values = attributes == null
+            ? Collections.emptyList()
+            : Stream.of(attributes.getChildren()).map(Xpp3Dom::getValue).collect(Collectors.toList());
+        AsciidoctorHelper.addProperties(mavenProject.getProperties(), attributesBuilder, references.withValues(values).or(allowed));
+    }
+
     private Xpp3Dom getSiteConfig(MavenProject mavenProject) {
         return mavenProject.getGoalConfiguration("org.apache.maven.plugins", "maven-site-plugin", "site", "site");
     }
@@ -0,0 +1,132 @@
+package org.asciidoctor.maven.commons;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AttributeReferencesTest {
+
+    @TempDir
+    File sourceDir;
+
+    @Test
+    void should_find_references_in_sources_and_partials() throws IOException {
+        // given
+        write("index.adoc", "= Title\n:revnumber: {Project-Version}\n\ninclude::_partial.adoc[]\n\nifdef::backend-html5,draft+local[]\n");
+        write("_partial.adoc", "Released on {set:release-date:today} from {scm-url}.\n");
+        write("notes.txt", "{not-scanned}");
+
+        // when
+        final AttributeReferences references = AttributeReferences.scan(sourceDir, List.of());
+
+        // then
+        assertThat(references.contains("project-version")).isTrue();
+        assertThat(references.contains("release-date")).isTrue();
+        assertThat(references.contains("scm-url")).isTrue();
+        assertThat(references.contains("backend-html5")).isTrue();
+        assertThat(references.contains("draft")).isTrue();
+        assertThat(references.contains("local")).isTrue();
+        assertThat(references.contains("not-scanned")).isFalse();
+    }
+
+    @Test
+    void should_scan_custom_extensions() throws IOException {
+        // given
+        write("notes.txt", "{project-name}");
+
+        // when
+        final AttributeReferences references = AttributeReferences.scan(sourceDir, List.of("txt"));
+
+        // then
+        assertThat(references.contains("project-name")).isTrue();
+    }
+
+    @Test
+    void should_find_references_in_docinfo_files() throws IOException {
+        // given
+        write("docinfo.html", "<meta name=\"version\" content=\"{project-version}\">");
+        write("docinfo-header.html", "<p>{header-note}</p>");
+        write("index-docinfo-footer.html", "<footer>{scm-url}</footer>");
+        write("index-docinfo.xml", "<productname>{project-name}</productname>");
+        write("page.html", "{not-scanned}");
+
+        // when
+        final AttributeReferences references = AttributeReferences.scan(sourceDir, List.of());
+
+        // then
+        assertThat(references.contains("project-version")).isTrue();
+        assertThat(references.contains("header-note")).isTrue();
+        assertThat(references.contains("scm-url")).isTrue();
+        assertThat(references.contains("project-name")).isTrue();
+        assertThat(references.contains("not-scanned")).isFalse();
+    }
+
+    @Test
+    void should_accept_allowed_properties() throws IOException {
+        // given
+        write("index.adoc", "{project-version}");
+
+        // when
+        final Predicate<String> filter = AttributeReferences.scan(sourceDir, List.of()).or(List.of("project.name"));
+
+        // then
+        assertThat(filter.test("project-version")).isTrue();
+        assertThat(filter.test("project-name")).isTrue();
+        assertThat(filter.test("project-url")).isFalse();
+    }
+
+    @Test
+    void should_find_references_in_attribute_values() throws IOException {
+        // given
+        write("index.adoc", "{revnumber}");
+
+        // when
+        final AttributeReferences references = AttributeReferences.scan(sourceDir, List.of())
+            .withValues(List.of("{project-version}", "revdate={release-date} toc"));
+
+        // then
+        assertThat(references.contains("revnumber")).isTrue();
+        assertThat(references.contains("project-version")).isTrue();
+        assertThat(references.contains("release-date")).isTrue();
+        assertThat(references.contains("toc")).isFalse();
+    }
+
+    @Test
+    void should_detect_modified_sources() throws IOException {
+        // given
+        final File source = write("index.adoc", "{project-version}");
+        write("notes.txt", "{not-scanned}");
+        final AttributeReferences references = AttributeReferences.scan(sourceDir, List.of());
+
+        // then
+        assertThat(references.isModified(sourceDir, List.of())).isFalse();
+
+        assertThat(source.setLastModified(source.lastModified() + 10_000)).isTrue();
+        assertThat(references.isModified(sourceDir, List.of())).isTrue();
+
+        final AttributeReferences rescanned = AttributeReferences.scan(sourceDir, List.of());
+        write("_partial.adoc", "{scm-url}");
+        new File(sourceDir, "_partial.adoc").setLastModified(0);
+        assertThat(rescanned.isModified(sourceDir, List.of())).isTrue();
+    }
+
+    @Test
+    void should_not_find_references_when_directory_does_not_exist() {
+        final AttributeReferences references = AttributeReferences.scan(new File(sourceDir, "missing"), List.of());
+
+        assertThat(references.size()).isZero();
+    }
+
+    private File write(String name, String content) throws IOException {
+        final File file = new File(sourceDir, name);
+        Files.writeString(file.toPath(), content);
+        return file;
+    }
+}
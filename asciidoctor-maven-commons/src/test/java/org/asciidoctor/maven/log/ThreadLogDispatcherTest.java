@@ -0,0 +1,49 @@
+package org.asciidoctor.maven.log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.asciidoctor.Asciidoctor;
+import org.asciidoctor.log.LogRecord;
+import org.asciidoctor.log.Severity;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ThreadLogDispatcherTest {
+
+    @Test
+    void should_register_a_single_dispatcher_per_instance() {
+        final Asciidoctor asciidoctor = mock(Asciidoctor.class);
+
+        final ThreadLogDispatcher dispatcher = ThreadLogDispatcher.of(asciidoctor);
+
+        assertThat(ThreadLogDispatcher.of(asciidoctor)).isSameAs(dispatcher);
+        verify(asciidoctor, times(1)).registerLogHandler(any());
+    }
+
+    @Test
+    void should_forward_records_to_the_handler_of_the_logging_thread() {
+        final ThreadLogDispatcher dispatcher = ThreadLogDispatcher.of(mock(Asciidoctor.class));
+        final List<LogRecord> mainRecords = new ArrayList<>();
+        final List<LogRecord> otherRecords = new ArrayList<>();
+
+        dispatcher.setHandler(mainRecords::add);
+        CompletableFuture.runAsync(() -> {
+            dispatcher.setHandler(otherRecords::add);
+            dispatcher.log(new LogRecord(Severity.WARN, "other thread"));
+            dispatcher.setHandler(null);
+        }).join();
+        dispatcher.log(new LogRecord(Severity.WARN, "main thread"));
+        dispatcher.setHandler(null);
+        dispatcher.log(new LogRecord(Severity.WARN, "ignored"));
+
+        assertThat(mainRecords).extracting(LogRecord::getMessage).containsExactly("main thread");
+        assertThat(otherRecords).extracting(LogRecord::getMessage).containsExactly("other thread");
+    }
+}
@@ -0,0 +1,54 @@
+package org.asciidoctor.maven.site;
+
+import java.util.List;
+
+import org.asciidoctor.Asciidoctor;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsciidoctorRuntimePoolTest {
+
+    private static final List<String> REQUIRES = List.of();
+
+    @Test
+    void should_reuse_released_instance() {
+        final AsciidoctorRuntimePool pool = new AsciidoctorRuntimePool(1);
+        final Asciidoctor asciidoctor = Mockito.mock(Asciidoctor.class);
+
+        pool.release(REQUIRES, asciidoctor);
+
+        assertThat(pool.acquire(REQUIRES)).isSameAs(asciidoctor);
+        assertThat(pool.idleCount(REQUIRES)).isZero();
+    }
+
+    @Test
+    void should_shutdown_instances_over_max_idle() {
+        final AsciidoctorRuntimePool pool = new AsciidoctorRuntimePool(1);
+        final Asciidoctor kept = Mockito.mock(Asciidoctor.class);
+        final Asciidoctor surplus = Mockito.mock(Asciidoctor.class);
+
+        pool.release(REQUIRES, kept);
+        pool.release(REQUIRES, surplus);
+
+        assertThat(pool.idleCount(REQUIRES)).isEqualTo(1);
+        Mockito.verify(kept, Mockito.never()).shutdown();
+        Mockito.verify(surplus).shutdown();
+    }
+
+    @Test
+    void should_shutdown_idle_and_released_instances_when_disposed() {
+        final AsciidoctorRuntimePool pool = new AsciidoctorRuntimePool(2);
+        final Asciidoctor idle = Mockito.mock(Asciidoctor.class);
+        final Asciidoctor inUse = Mockito.mock(Asciidoctor.class);
+        pool.release(REQUIRES, idle);
+
+        pool.dispose();
+        pool.release(REQUIRES, inUse);
+
+        assertThat(pool.idleCount(REQUIRES)).isZero();
+        Mockito.verify(idle).shutdown();
+        Mockito.verify(inUse).shutdown();
+    }
+}
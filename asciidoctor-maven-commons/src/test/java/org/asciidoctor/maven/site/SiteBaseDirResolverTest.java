@@ -3,6 +3,7 @@ package org.asciidoctor.maven.site;
 import java.io.File;
 import java.io.StringReader;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -67,6 +68,38 @@ class SiteBaseDirResolverTest {
         assertThat(result.toString()).isEqualTo(path("some", "my-src", "my-site", "es"));
     }
 
+    @Test
+    void should_resolve_all_locales() {
+        final Xpp3Dom siteConfiguration = buildXpp3Dom(Map.of("locales", "en, es,fr"));
+
+        SiteBaseDirResolver resolver = new SiteBaseDirResolver();
+        List<File> result = resolver.resolveBaseDirs(BASE_DIR, siteConfiguration);
+
+        assertThat(result)
+            .extracting(File::toString)
+            .containsExactly(path("src", "site", "en"), path("src", "site", "es"), path("src", "site", "fr"));
+    }
+
+    @Test
+    void should_resolve_locale_containing_the_document() {
+        final Xpp3Dom siteConfiguration = buildXpp3Dom(Map.of("locales", "en,es"));
+
+        SiteBaseDirResolver resolver = new SiteBaseDirResolver();
+        File result = resolver.resolveBaseDir(BASE_DIR, siteConfiguration, path("src", "site", "es", "asciidoc", "index.adoc"));
+
+        assertThat(result.toString()).isEqualTo(path("src", "site", "es"));
+    }
+
+    @Test
+    void should_resolve_first_locale_when_document_is_not_in_any_locale() {
+        final Xpp3Dom siteConfiguration = buildXpp3Dom(Map.of("locales", "en,es"));
+
+        SiteBaseDirResolver resolver = new SiteBaseDirResolver();
+        File result = resolver.resolveBaseDir(BASE_DIR, siteConfiguration, path("src", "site", "asciidoc", "index.adoc"));
+
+        assertThat(result.toString()).isEqualTo(path("src", "site", "en"));
+    }
+
     @SneakyThrows
     private static Xpp3Dom buildXpp3Dom(Map<String, String> config) {
         String configurationsXml = config.keySet()
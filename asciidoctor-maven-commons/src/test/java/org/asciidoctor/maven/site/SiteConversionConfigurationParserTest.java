@@ -469,6 +469,67 @@ class SiteConversionConfigurationParserTest {
         ));
     }
 
+    @Test
+    void should_only_return_projected_maven_project_properties_when_attributes_projection_is_enabled() {
+        // given
+        final Map<String, String> projectProperties = new HashMap<>();
+        projectProperties.put("mvn.property-test1", "value-1");
+        projectProperties.put("mvn-property.test2", "value_2");
+        final Xpp3Dom siteConfig = Xpp3DoomBuilder.asciidocNode()
+            .addChild("attributesProjection", "true")
+            .parent()
+            .addChild("projectedProperties", "mvn-property.test2")
+            .build();
+        final MavenProject project = fakeMavenProjectBuilder()
+            .properties(projectProperties)
+            .siteConfig(siteConfig)
+            .build();
+
+        // when
+        SiteConversionConfiguration configuration = configParser.processAsciiDocConfig(project, ROLE_HINT);
+
+        // then
+        assertContainsDefaultOptions(configuration);
+        final Map<String, Object> optionsMap = configuration.getOptions().map();
+        Map attributes = (Map) optionsMap.get(ATTRIBUTES);
+        assertThat(attributes).containsExactlyInAnyOrderEntriesOf(map(
+            entry("mvn-property-test2", "value_2"),
+            entry("idprefix", "@"),
+            entry("showtitle", "@")
+        ));
+    }
+
+    @Test
+    void should_project_maven_project_properties_referenced_in_attributes() {
+        // given
+        final Map<String, String> projectProperties = new HashMap<>();
+        projectProperties.put("mvn.property-test1", "value-1");
+        projectProperties.put("mvn-property.test2", "value_2");
+        final Xpp3Dom siteConfig = Xpp3DoomBuilder.asciidocNode()
+            .addChild("attributesProjection", "true")
+            .parent()
+            .addChild("attributes")
+            .addChild("revnumber", "{mvn-property-test1}")
+            .build();
+        final MavenProject project = fakeMavenProjectBuilder()
+            .properties(projectProperties)
+            .siteConfig(siteConfig)
+            .build();
+
+        // when
+        SiteConversionConfiguration configuration = configParser.processAsciiDocConfig(project, ROLE_HINT);
+
+        // then
+        final Map<String, Object> optionsMap = configuration.getOptions().map();
+        Map attributes = (Map) optionsMap.get(ATTRIBUTES);
+        assertThat(attributes).containsExactlyInAnyOrderEntriesOf(map(
+            entry("mvn-property-test1", "value-1"),
+            entry("revnumber", "{mvn-property-test1}"),
+            entry("idprefix", "@"),
+            entry("showtitle", "@")
+        ));
+    }
+
     private void assertContainsDefaultOptions(SiteConversionConfiguration configuration) {
         final Map<String, Object> optionsMap = configuration.getOptions().map();
         assertThat(optionsMap).containsOnlyKeys(ATTRIBUTES, BACKEND, BASEDIR, SAFE);
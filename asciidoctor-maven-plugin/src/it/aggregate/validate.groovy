@@ -0,0 +1,17 @@
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+
+for (int i = 1; i <= 2; i++) {
+    File file = new File(basedir, "module-${i}/target/generated-docs/sample.html")
+    println("Checking for existence of " + file)
+    if (!file.isFile()) {
+        throw new Exception("Missing file " + file)
+    }
+
+    String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8)
+    if (!content.contains("Converted in module-${i}.")) {
+        throw new Exception("Module attributes not applied in " + file)
+    }
+}
+
+return true
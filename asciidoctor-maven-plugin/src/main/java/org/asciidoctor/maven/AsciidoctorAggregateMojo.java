@@ -0,0 +1,261 @@
+package org.asciidoctor.maven;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MavenPluginManager;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.PluginConfigurationException;
+import org.apache.maven.plugin.PluginContainerException;
+import org.apache.maven.plugin.descriptor.MojoDescriptor;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+import org.asciidoctor.Asciidoctor;
+import org.asciidoctor.maven.process.ConversionTimings;
+import org.asciidoctor.maven.process.MemoryAdmissionController;
+import org.codehaus.plexus.configuration.PlexusConfiguration;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+
+/**
+ * Converts the AsciiDoc sources of all modules in the reactor in a single execution.
+ * <p>
+ * Collects the configuration of every {@code process-asciidoc} execution declared in the reactor
+ * and converts the modules in parallel in a shared thread pool.
+ * Modules are started from the slowest to the fastest, based on the durations of previous builds,
+ * and only while there is enough free heap to convert them.
+ * Modules with the same gemPath, verbose, requires and extensions configuration share
+ * a single Asciidoctor instance, so the runtime is initialized only once.
+ *
+ * @since 3.2.1
+ */
+@Mojo(name = "process-asciidoc-aggregate", aggregator = true, threadSafe = true)
+public class AsciidoctorAggregateMojo extends AbstractMojo {
+
+    private static final String PROCESS_ASCIIDOC_GOAL = "process-asciidoc";
+
+    @Parameter(property = AsciidoctorMaven.PREFIX + "skip", defaultValue = "false")
+    protected boolean skip;
+
+    // Number of modules converted at the same time, 0 uses the number of available processors
+    @Parameter(property = AsciidoctorMaven.PREFIX + "threads", defaultValue = "0")
+    protected int threads;
+
+    // Percentage of the maximum heap that modules converted at the same time can use
+    @Parameter(property = AsciidoctorMaven.PREFIX + "heapUsageLimit", defaultValue = "80")
+    protected int heapUsageLimit;
+
+    @Parameter(defaultValue = "${session}", readonly = true)
+    protected MavenSession session;
+
+    @Parameter(defaultValue = "${mojoExecution}", readonly = true)
+    protected MojoExecution mojoExecution;
+
+    private final MavenPluginManager mavenPluginManager;
+
+    @Inject
+    public AsciidoctorAggregateMojo(MavenPluginManager mavenPluginManager) {
+        this.mavenPluginManager = mavenPluginManager;
+    }
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (skip) {
+            getLog().info("AsciiDoc processing is skipped.");
+            return;
+        }
+
+        // the longest conversions start first, so that they do not delay the end of the build
+        final List<ModuleExecution> moduleExecutions = ConversionTimings.longestFirst(configureModuleExecutions(), execution -> execution.estimatedMillis);
+        if (moduleExecutions.isEmpty()) {
+            getLog().info("No '" + PROCESS_ASCIIDOC_GOAL + "' executions found in the reactor. Skipping processing");
+            return;
+        }
+
+        final Map<List<Object>, Asciidoctor> runtimes = new LinkedHashMap<>();
+        final ExecutorService executor = Executors.newFixedThreadPool(threadsCount(moduleExecutions.size()));
+        try {
+            for (ModuleExecution moduleExecution : moduleExecutions) {
+                final AsciidoctorMojo mojo = moduleExecution.mojo;
+                if (mojo.isFork() || mojo.isDaemon()) {
+                    // converted in worker JVMs
+                    continue;
+                }
+                final List<Object> configuration = mojo.getAsciidoctorConfiguration();
+                if (!runtimes.containsKey(configuration)) {
+                    runtimes.put(configuration, mojo.createAsciidoctor());
+                }
+                mojo.setSharedAsciidoctor(runtimes.get(configuration));
+            }
+            getLog().info("Converting " + moduleExecutions.size() + " execution(s) with " + runtimes.size() + " Asciidoctor instance(s)");
+
+            final MemoryAdmissionController admissionController = new MemoryAdmissionController(heapUsageLimit);
+            final List<Future<?>> conversions = new ArrayList<>();
+            for (ModuleExecution moduleExecution : moduleExecutions) {
+                conversions.add(executor.submit(() -> {
+                    try (MemoryAdmissionController.Permit permit = admissionController.acquire(moduleExecution.estimatedFootprint)) {
+                        moduleExecution.mojo.execute();
+                    }
+                    return null;
+                }));
+            }
+            awaitConversions(moduleExecutions, conversions);
+        } finally {
+            executor.shutdownNow();
+            runtimes.values().forEach(Asciidoctor::shutdown);
+            for (ModuleExecution moduleExecution : moduleExecutions) {
+                mavenPluginManager.releaseMojo(moduleExecution.mojo, moduleExecution.execution);
+            }
+        }
+    }
+
+    private int threadsCount(int executionsCount) {
+        final int maxThreads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return Math.min(maxThreads, executionsCount);
+    }
+
+    /**
+     * Waits for all conversions to finish, so that all failures are reported.
+     */
+    private void awaitConversions(List<ModuleExecution> moduleExecutions, List<Future<?>> conversions) throws MojoExecutionException {
+        final List<String> failures = new ArrayList<>();
+        Throwable firstFailure = null;
+        for (int i = 0; i < conversions.size(); i++) {
+            try {
+                conversions.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new MojoExecutionException("Interrupted while converting AsciiDoc sources", e);
+            } catch (ExecutionException e) {
+                final ModuleExecution moduleExecution = moduleExecutions.get(i);
+                failures.add(moduleExecution.describe() + ": " + e.getCause().getMessage());
+                if (firstFailure == null) {
+                    firstFailure = e.getCause();
+                }
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new MojoExecutionException("Failed converting AsciiDoc sources in " + String.join(", ", failures), firstFailure);
+        }
+    }
+
+    private List<ModuleExecution> configureModuleExecutions() throws MojoExecutionException {
+        final MojoDescriptor mojoDescriptor = mojoExecution.getMojoDescriptor().getPluginDescriptor().getMojo(PROCESS_ASCIIDOC_GOAL);
+        final String pluginKey = mojoDescriptor.getPluginDescriptor().getPluginLookupKey();
+
+        final List<ModuleExecution> moduleExecutions = new ArrayList<>();
+        for (MavenProject project : session.getProjects()) {
+            final Plugin plugin = project.getPlugin(pluginKey);
+            if (plugin == null) {
+                continue;
+            }
+            for (PluginExecution pluginExecution : plugin.getExecutions()) {
+                if (!pluginExecution.getGoals().contains(PROCESS_ASCIIDOC_GOAL)) {
+                    continue;
+                }
+                final MojoExecution execution = new MojoExecution(mojoDescriptor, pluginExecution.getId());
+                execution.setConfiguration(finalizeConfiguration(mojoDescriptor, (Xpp3Dom) pluginExecution.getConfiguration()));
+                moduleExecutions.add(new ModuleExecution(project, execution, configureMojo(project, execution)));
+            }
+        }
+        return moduleExecutions;
+    }
+
+    private AsciidoctorMojo configureMojo(MavenProject project, MojoExecution execution) throws MojoExecutionException {
+        // expressions like ${project.build.directory} are resolved against the session's current project
+        final MavenSession projectSession = session.clone();
+        projectSession.setCurrentProject(project);
+        try {
+            final AsciidoctorMojo mojo = (AsciidoctorMojo) mavenPluginManager.getConfiguredMojo(org.apache.maven.plugin.Mojo.class, projectSession, execution);
+            mojo.project = project;
+            return mojo;
+        } catch (PluginConfigurationException | PluginContainerException e) {
+            throw new MojoExecutionException("Could not configure execution '" + execution.getExecutionId() + "' of " + project.getId(), e);
+        }
+    }
+
+    /**
+     * Merges the execution configuration with the parameters' expressions and default values,
+     * the same way Maven does before executing a goal.
+     */
+    private static Xpp3Dom finalizeConfiguration(MojoDescriptor mojoDescriptor, Xpp3Dom executionConfiguration) {
+        final Xpp3Dom configuration = new Xpp3Dom("configuration");
+        if (mojoDescriptor.getParameters() == null) {
+            return configuration;
+        }
+
+        final Xpp3Dom defaultConfiguration = defaultConfiguration(mojoDescriptor);
+        for (org.apache.maven.plugin.descriptor.Parameter parameter : mojoDescriptor.getParameters()) {
+            Xpp3Dom parameterConfiguration = executionConfiguration == null ? null : executionConfiguration.getChild(parameter.getName());
+            if (parameterConfiguration == null && executionConfiguration != null && parameter.getAlias() != null) {
+                parameterConfiguration = executionConfiguration.getChild(parameter.getAlias());
+            }
+            parameterConfiguration = Xpp3Dom.mergeXpp3Dom(parameterConfiguration, defaultConfiguration.getChild(parameter.getName()), Boolean.TRUE);
+            if (parameterConfiguration != null) {
+                parameterConfiguration = new Xpp3Dom(parameterConfiguration, parameter.getName());
+                if (parameterConfiguration.getAttribute("implementation") == null && parameter.getImplementation() != null) {
+                    parameterConfiguration.setAttribute("implementation", parameter.getImplementation());
+                }
+                configuration.addChild(parameterConfiguration);
+            }
+        }
+        return configuration;
+    }
+
+    /**
+     * Returns the parameters' expressions and default values declared in the plugin descriptor.
+     */
+    private static Xpp3Dom defaultConfiguration(MojoDescriptor mojoDescriptor) {
+        final Xpp3Dom configuration = new Xpp3Dom("configuration");
+        final PlexusConfiguration mojoConfiguration = mojoDescriptor.getMojoConfiguration();
+        if (mojoConfiguration == null) {
+            return configuration;
+        }
+        for (PlexusConfiguration parameterConfiguration : mojoConfiguration.getChildren()) {
+            final String expression = parameterConfiguration.getValue(null);
+            final String defaultValue = parameterConfiguration.getAttribute("default-value", null);
+            if (expression != null || defaultValue != null) {
+                final Xpp3Dom parameter = new Xpp3Dom(parameterConfiguration.getName());
+                parameter.setValue(expression);
+                if (defaultValue != null) {
+                    parameter.setAttribute("default-value", defaultValue);
+                }
+                configuration.addChild(parameter);
+            }
+        }
+        return configuration;
+    }
+
+    private static class ModuleExecution {
+        final MavenProject project;
+        final MojoExecution execution;
+        final AsciidoctorMojo mojo;
+        final long estimatedMillis;
+        final long estimatedFootprint;
+
+        ModuleExecution(MavenProject project, MojoExecution execution, AsciidoctorMojo mojo) {
+            this.project = project;
+            this.execution = execution;
+            this.mojo = mojo;
+            this.estimatedMillis = mojo.estimateConversionMillis();
+            this.estimatedFootprint = mojo.estimateFootprint();
+        }
+
+        String describe() {
+            return project.getArtifactId() + " (" + execution.getExecutionId() + ")";
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.asciidoctor.maven;
+
+import javax.inject.Inject;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.asciidoctor.Options;
+import org.asciidoctor.SafeMode;
+import org.asciidoctor.maven.fork.CdsArchive;
+import org.asciidoctor.maven.fork.ForkConfiguration;
+import org.asciidoctor.maven.process.ResourcesProcessor;
+import org.asciidoctor.maven.process.SourceDocumentFinder;
+
+/**
+ * Generates a Class Data Sharing archive of the classes used in conversions, to speed up
+ * the startup of the worker JVMs used in fork and daemon modes.
+ * <p>
+ * A worker with the same configuration as {@code process-asciidoc} converts a training document
+ * and some of the project sources, and writes the archive when it exits.
+ * Workers started afterwards with the same JVM and classpath use the archive, and ignore it otherwise.
+ * Requires Java 13 or later.
+ *
+ * @since 3.2.1
+ */
+@Mojo(name = "generate-cds-archive")
+public class AsciidoctorCdsArchiveMojo extends AsciidoctorMojo {
+
+    // Number of project sources converted to train the archive, in addition to the built-in document
+    @Parameter(property = AsciidoctorMaven.PREFIX + "cdsTrainingDocuments", defaultValue = "20")
+    protected int cdsTrainingDocuments;
+
+    // Whether to compare the startup of a worker with and without the archive
+    @Parameter(property = AsciidoctorMaven.PREFIX + "cdsBenchmark", defaultValue = "true")
+    protected boolean cdsBenchmark;
+
+    @Parameter(defaultValue = "${project.build.directory}/asciidoctor-maven/cds", readonly = true)
+    protected File cdsWorkDirectory;
+
+    @Inject
+    public AsciidoctorCdsArchiveMojo(AsciidoctorJFactory asciidoctorJFactory,
+                                     AsciidoctorOptionsFactory asciidoctorOptionsFactory,
+                                     SourceDocumentFinder finder,
+                                     ResourcesProcessor resourcesProcessor) {
+        super(asciidoctorJFactory, asciidoctorOptionsFactory, finder, resourcesProcessor);
+    }
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (skip) {
+            getLog().info("AsciiDoc processing is skipped.");
+            return;
+        }
+        if (!CdsArchive.isSupported()) {
+            getLog().warn("CDS archives require Java 13 or later, current version is " + Runtime.version().feature() + ". Skipping");
+            return;
+        }
+
+        final ForkConfiguration configuration = getForkConfiguration();
+        final Path workDirectory = cdsWorkDirectory.toPath();
+        final Map<String, Object> options = Options.builder()
+            .backend(getConversionBackends().get(0))
+            .safe(SafeMode.UNSAFE)
+            .toDir(new File(cdsWorkDirectory, "output"))
+            .mkDirs(true)
+            .build()
+            .map();
+
+        try {
+            final long start = System.currentTimeMillis();
+            final Path archive = CdsArchive.create(configuration, trainingSources(), options, workDirectory);
+            getLog().info("Created CDS archive " + archive + " in " + (System.currentTimeMillis() - start) + "ms");
+
+            if (cdsBenchmark) {
+                final long withoutArchive = CdsArchive.measureStartup(configuration, false, options, workDirectory);
+                final long withArchive = CdsArchive.measureStartup(configuration, true, options, workDirectory);
+                getLog().info("Worker startup and first conversion: " + withoutArchive + "ms without archive, " + withArchive + "ms with archive");
+            }
+        } catch (IOException e) {
+            throw new MojoExecutionException("Failed creating CDS archive: " + e.getMessage(), e);
+        }
+    }
+
+    private List<File> trainingSources() {
+        if (sourceDirectory == null || cdsTrainingDocuments <= 0) {
+            return List.of();
+        }
+        final Optional<File> sourceDirectoryCandidate = findSourceDirectory(sourceDirectory, project.getBasedir());
+        if (!sourceDirectoryCandidate.isPresent()) {
+            return List.of();
+        }
+        final List<File> sourceFiles = findSourceFiles(sourceDirectoryCandidate.get());
+        return sourceFiles.subList(0, Math.min(cdsTrainingDocuments, sourceFiles.size()));
+    }
+}
@@ -37,6 +37,7 @@ public class AsciidoctorHttpMojo extends AsciidoctorRefreshMojo {
         doWait();
         server.stop();
         stopMonitors();
+        shutdownAsciidoctor();
     }
 
     public String getHome() {
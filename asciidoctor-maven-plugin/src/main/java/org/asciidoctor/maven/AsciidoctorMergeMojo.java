@@ -0,0 +1,120 @@
+package org.asciidoctor.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.asciidoctor.maven.process.ConversionTimings;
+
+/**
+ * Merges the outputs of a conversion split in shards with {@code shardIndex} and {@code shardCount}
+ * into a single output directory.
+ * <p>
+ * Files found in several shards, like copied resources, are copied once.
+ * If their contents differ, the file from the first shard is kept and a warning is logged.
+ * Conversion timings of the shards are merged too, so that next builds can balance shards.
+ *
+ * @since 3.2.1
+ */
+@Mojo(name = "process-asciidoc-merge", threadSafe = true)
+public class AsciidoctorMergeMojo extends AbstractMojo {
+
+    @Parameter(property = AsciidoctorMaven.PREFIX + "skip", defaultValue = "false")
+    protected boolean skip;
+
+    @Parameter(property = AsciidoctorMaven.PREFIX + "shardDirectories", required = true)
+    protected List<File> shardDirectories = new ArrayList<>();
+
+    @Parameter(property = AsciidoctorMaven.PREFIX + "outputDirectory", defaultValue = "${project.build.directory}/generated-docs")
+    protected File outputDirectory;
+
+    @Parameter(property = AsciidoctorMaven.PREFIX + "shardConversionTimingsFiles")
+    protected List<File> shardConversionTimingsFiles = new ArrayList<>();
+
+    @Parameter(property = AsciidoctorMaven.PREFIX + "conversionTimingsFile", defaultValue = "${project.build.directory}/asciidoctor-maven/conversion-timings.properties")
+    protected File conversionTimingsFile;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (skip) {
+            getLog().info("AsciiDoc processing is skipped.");
+            return;
+        }
+
+        final Map<Path, Path> mergedFiles = new HashMap<>();
+        int conflicts = 0;
+        for (File shardDirectory : shardDirectories) {
+            if (!shardDirectory.isDirectory()) {
+                throw new MojoExecutionException("Shard directory not found: " + shardDirectory.getAbsolutePath());
+            }
+            try {
+                conflicts += mergeShard(shardDirectory.toPath(), mergedFiles);
+            } catch (IOException e) {
+                throw new MojoExecutionException("Failed merging shard " + shardDirectory.getAbsolutePath() + ": " + e.getMessage(), e);
+            }
+        }
+        getLog().info("Merged " + mergedFiles.size() + " files from " + shardDirectories.size() + " shards into " + outputDirectory.getAbsolutePath()
+            + (conflicts > 0 ? " with " + conflicts + " conflict(s)" : ""));
+
+        mergeConversionTimings();
+    }
+
+    /**
+     * Copies the files of a shard, unless they were already copied from a previous shard.
+     *
+     * @return number of files with different contents in previous shards
+     */
+    private int mergeShard(Path shardDirectory, Map<Path, Path> mergedFiles) throws IOException {
+        final List<Path> files;
+        try (Stream<Path> paths = Files.walk(shardDirectory)) {
+            files = paths.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+
+        int conflicts = 0;
+        for (Path file : files) {
+            final Path relativePath = shardDirectory.relativize(file);
+            final Path mergedFile = mergedFiles.get(relativePath);
+            if (mergedFile != null) {
+                if (!FileUtils.contentEquals(mergedFile.toFile(), file.toFile())) {
+                    getLog().warn("File " + relativePath + " differs between shards, keeping " + mergedFile);
+                    conflicts++;
+                }
+                continue;
+            }
+            final Path target = outputDirectory.toPath().resolve(relativePath);
+            Files.createDirectories(target.getParent());
+            Files.copy(file, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+            mergedFiles.put(relativePath, file);
+        }
+        return conflicts;
+    }
+
+    private void mergeConversionTimings() {
+        if (shardConversionTimingsFiles.isEmpty()) {
+            return;
+        }
+        // paths are relative to the source directory, the same for all shards
+        final ConversionTimings conversionTimings = ConversionTimings.load(conversionTimingsFile, null);
+        for (File shardConversionTimingsFile : shardConversionTimingsFiles) {
+            conversionTimings.merge(ConversionTimings.load(shardConversionTimingsFile, null));
+        }
+        try {
+            conversionTimings.save();
+        } catch (IOException e) {
+            getLog().warn("Could not save conversion timings in " + conversionTimingsFile + ": " + e.getMessage());
+        }
+    }
+}
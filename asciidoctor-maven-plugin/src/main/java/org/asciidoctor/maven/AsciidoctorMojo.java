@@ -5,17 +5,20 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 import static org.asciidoctor.maven.process.SourceDirectoryFinder.DEFAULT_SOURCE_DIR;
 
-import org.apache.commons.io.FilenameUtils;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
@@ -24,18 +27,33 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
 import org.asciidoctor.Asciidoctor;
 import org.asciidoctor.Options;
-import org.asciidoctor.OptionsBuilder;
+import org.asciidoctor.maven.book.BookConverter;
 import org.asciidoctor.maven.extensions.AsciidoctorJExtensionRegistry;
 import org.asciidoctor.maven.extensions.ExtensionConfiguration;
 import org.asciidoctor.maven.extensions.ExtensionRegistry;
+import org.asciidoctor.maven.fork.ConversionResult;
+import org.asciidoctor.maven.fork.ForkConfiguration;
+import org.asciidoctor.maven.fork.ForkedLogRecord;
+import org.asciidoctor.maven.fork.ForkedWorker;
+import org.asciidoctor.maven.fork.ForkedWorkerPool;
 import org.asciidoctor.maven.log.LogHandler;
 import org.asciidoctor.maven.log.LogRecordFormatter;
 import org.asciidoctor.maven.log.LogRecordsProcessors;
 import org.asciidoctor.maven.log.MemoryLogHandler;
+import org.asciidoctor.maven.log.ThreadLogDispatcher;
+import org.asciidoctor.maven.model.LazyRequire;
 import org.asciidoctor.maven.model.Resource;
+import org.asciidoctor.maven.process.ConversionPlan;
+import org.asciidoctor.maven.process.ConversionTimings;
+import org.asciidoctor.maven.process.LazyRequires;
+import org.asciidoctor.maven.process.MarshalledAttributes;
+import org.asciidoctor.maven.process.MemoryAdmissionController;
+import org.asciidoctor.maven.process.PipelinedConverter;
 import org.asciidoctor.maven.process.ResourcesProcessor;
 import org.asciidoctor.maven.process.SourceDirectoryFinder;
 import org.asciidoctor.maven.process.SourceDocumentFinder;
+import org.asciidoctor.maven.process.SourceFileOptions;
+import org.asciidoctor.maven.process.SourceSharder;
 
 
 /**
@@ -44,6 +62,8 @@ import org.asciidoctor.maven.process.SourceDocumentFinder;
 @Mojo(name = "process-asciidoc", threadSafe = true)
 public class AsciidoctorMojo extends AbstractMojo {
 
+    private static final Path DAEMONS_DIRECTORY = Path.of(System.getProperty("user.home"), ".asciidoctor-maven", "daemons");
+
     @Parameter(property = AsciidoctorMaven.PREFIX + "sourceDirectory", defaultValue = "${basedir}/" + DEFAULT_SOURCE_DIR)
     protected File sourceDirectory;
 
@@ -77,15 +97,27 @@ public class AsciidoctorMojo extends AbstractMojo {
     @Parameter(property = AsciidoctorMaven.PREFIX + "requires")
     protected List<String> requires = new ArrayList<>();
 
+    @Parameter
+    protected List<LazyRequire> lazyRequires = new ArrayList<>();
+
     @Parameter
     protected Map<String, Object> attributes = new HashMap<>();
 
     @Parameter(property = AsciidoctorMaven.PREFIX + Options.ATTRIBUTES)
     protected String attributesChain;
 
+    @Parameter(property = AsciidoctorMaven.PREFIX + "attributesProjection", defaultValue = "false")
+    protected boolean attributesProjection;
+
+    @Parameter(property = AsciidoctorMaven.PREFIX + "projectedProperties")
+    protected List<String> projectedProperties = new ArrayList<>();
+
     @Parameter(property = AsciidoctorMaven.PREFIX + Options.BACKEND, defaultValue = "html5")
     protected String backend;
 
+    @Parameter(property = AsciidoctorMaven.PREFIX + "backends")
+    protected List<String> backends = new ArrayList<>();
+
     @Parameter(property = AsciidoctorMaven.PREFIX + Options.DOCTYPE)
     protected String doctype;
 
@@ -132,9 +164,53 @@ public class AsciidoctorMojo extends AbstractMojo {
     @Parameter
     private LogHandler logHandler = new LogHandler();
 
+    @Parameter(property = AsciidoctorMaven.PREFIX + "fork", defaultValue = "false")
+    protected boolean fork;
+
+    @Parameter(property = AsciidoctorMaven.PREFIX + "jvmArgs")
+    protected List<String> jvmArgs = new ArrayList<>();
+
+    @Parameter(property = AsciidoctorMaven.PREFIX + "runtimeProfile")
+    protected String runtimeProfile;
+
+    @Parameter
+    protected Map<String, String> runtimeOptions = new HashMap<>();
+
+    @Parameter(property = AsciidoctorMaven.PREFIX + "daemon", defaultValue = "false")
+    protected boolean daemon;
+
+    @Parameter(property = AsciidoctorMaven.PREFIX + "daemonIdleTimeout", defaultValue = "180")
+    protected int daemonIdleTimeout;
+
+    @Parameter(property = AsciidoctorMaven.PREFIX + "conversionTimingsFile", defaultValue = "${project.build.directory}/asciidoctor-maven/conversion-timings.properties")
+    protected File conversionTimingsFile;
+
+    @Parameter(property = AsciidoctorMaven.PREFIX + "shardIndex", defaultValue = "0")
+    protected int shardIndex;
+
+    @Parameter(property = AsciidoctorMaven.PREFIX + "shardCount", defaultValue = "1")
+    protected int shardCount;
+
+    @Parameter(property = AsciidoctorMaven.PREFIX + "shardStrategy", defaultValue = SourceSharder.HASH_STRATEGY)
+    protected String shardStrategy;
+
+    @Parameter(property = AsciidoctorMaven.PREFIX + "bookMode", defaultValue = "false")
+    protected boolean bookMode;
+
+    // Number of chapters converted at the same time, 0 uses the number of available processors
+    @Parameter(property = AsciidoctorMaven.PREFIX + "bookModeThreads", defaultValue = "0")
+    protected int bookModeThreads;
+
+    // Percentage of the maximum heap that chapters converted at the same time can use
+    @Parameter(property = AsciidoctorMaven.PREFIX + "heapUsageLimit", defaultValue = "80")
+    protected int heapUsageLimit;
+
     @Inject
     protected MavenProject project;
 
+    // set by the aggregate goal to share a runtime between modules
+    private Asciidoctor sharedAsciidoctor;
+
     private final AsciidoctorJFactory asciidoctorJFactory;
     private final AsciidoctorOptionsFactory asciidoctorOptionsFactory;
     private final SourceDocumentFinder finder;
@@ -190,7 +266,7 @@ public class AsciidoctorMojo extends AbstractMojo {
         }
 
         if (sourceFiles == null) {
-            sourceFiles = findSourceFiles(sourceDirectoryCandidate.get());
+            sourceFiles = selectShard(findSourceFiles(sourceDirectoryCandidate.get()), sourceDirectoryCandidate.get());
         }
         if (sourceFiles.isEmpty()) {
             getLog().info("No sources found. Skipping processing");
@@ -210,53 +286,493 @@ public class AsciidoctorMojo extends AbstractMojo {
                 }
             }
         }
+        if (!fork && !daemon) {
+            checkExtensionsClasspath();
+        }
 
-        final Asciidoctor asciidoctor = asciidoctorJFactory.create(gemPath, getLog());
+        // boot the runtime while resources are copied, only once it is known there is something to convert
+        final CompletableFuture<Asciidoctor> asciidoctorFuture = fork || daemon ? null : initAsciidoctor();
 
-        if (enableVerbose) {
-            asciidoctor.requireLibrary("enable_verbose.rb");
+        if (bookMode && (fork || daemon)) {
+            getLog().warn("bookMode is not supported with fork or daemon modes, converting documents as a whole");
         }
-        asciidoctor.requireLibraries(requires);
 
-        ExtensionRegistry extensionRegistry = new AsciidoctorJExtensionRegistry(asciidoctor);
+        if (daemon) {
+            final ForkedWorker worker = connectDaemon();
+            if (worker != null) {
+                try {
+                    final MemoryLogHandler memoryLogHandler = prepareConversion(sourceDirectoryCandidate.get(), resourcesProcessor);
+                    convertSources(sourceFiles, sourceDirectoryCandidate.get(), memoryLogHandler, forkedConverter(worker, memoryLogHandler), null,
+                        ConversionTimings.load(conversionTimingsFile, sourceDirectoryCandidate.get()));
+                } finally {
+                    worker.close();
+                }
+                return;
+            }
+        }
+
+        if (fork) {
+            final ForkedWorkerPool workerPool = ForkedWorkerPool.getInstance();
+            final ForkedWorker worker = acquireWorker(workerPool);
+            try {
+                final MemoryLogHandler memoryLogHandler = prepareConversion(sourceDirectoryCandidate.get(), resourcesProcessor);
+                convertSources(sourceFiles, sourceDirectoryCandidate.get(), memoryLogHandler, forkedConverter(worker, memoryLogHandler), null,
+                    ConversionTimings.load(conversionTimingsFile, sourceDirectoryCandidate.get()));
+            } finally {
+                workerPool.release(worker);
+            }
+            return;
+        }
+
+        final MemoryLogHandler memoryLogHandler;
+        try {
+            memoryLogHandler = prepareConversion(sourceDirectoryCandidate.get(), resourcesProcessor);
+        } catch (MojoExecutionException | RuntimeException e) {
+            if (asciidoctorFuture != null) {
+                // nothing will be converted, do not leave the runtime booting for nothing
+                asciidoctorFuture.thenAccept(asciidoctor -> releaseAsciidoctor(asciidoctor, 0));
+            }
+            throw e;
+        }
+        final Asciidoctor asciidoctor = asciidoctorFuture != null ? awaitAsciidoctor(asciidoctorFuture) : getAsciidoctor();
+        // the instance may be converting other modules in other threads, messages are logged in the converting thread
+        final ThreadLogDispatcher logDispatcher = ThreadLogDispatcher.of(asciidoctor);
+        logDispatcher.setHandler(memoryLogHandler);
+        // disable default console output of AsciidoctorJ
+        Logger.getLogger("asciidoctor").setUseParentHandlers(false);
+
+        final ExecutorService bookExecutor = bookMode ? Executors.newFixedThreadPool(bookModeThreadsCount()) : null;
+        final PipelinedConverter pipelinedConverter = bookMode ? null : new PipelinedConverter(asciidoctor, sourceFiles);
+        // chapters in book mode are recorded with the sources
+        final ConversionTimings conversionTimings = ConversionTimings.load(conversionTimingsFile, sourceDirectoryCandidate.get());
+        try {
+            convertSources(sourceFiles, sourceDirectoryCandidate.get(), memoryLogHandler,
+                bookMode ? bookConverter(asciidoctor, bookExecutor, memoryLogHandler, conversionTimings) : pipelinedConverter(pipelinedConverter),
+                asciidoctor, conversionTimings);
+            if (pipelinedConverter != null) {
+                closePipelinedConverter(pipelinedConverter);
+            }
+        } finally {
+            // the instance may be re-used, do not keep handlers from previous conversions
+            logDispatcher.setHandler(null);
+            if (bookExecutor != null) {
+                bookExecutor.shutdownNow();
+            }
+            if (pipelinedConverter != null) {
+                try {
+                    // pending outputs are written even if conversion failed
+                    pipelinedConverter.close();
+                } catch (IOException e) {
+                    getLog().debug("Could not write outputs: " + e.getMessage());
+                }
+            }
+            releaseAsciidoctor(asciidoctor, sourceFiles.size() * getConversionBackends().size());
+        }
+    }
+
+    /**
+     * Gets the Asciidoctor instance in another thread, so that booting JRuby and loading
+     * libraries does not delay resources copy.
+     */
+    private CompletableFuture<Asciidoctor> initAsciidoctor() {
+        if (sharedAsciidoctor != null) {
+            return CompletableFuture.completedFuture(sharedAsciidoctor);
+        }
+        final CompletableFuture<Asciidoctor> future = new CompletableFuture<>();
+        // new threads inherit the context classloader with the plugin dependencies required by JRuby
+        final Thread thread = new Thread(() -> {
+            try {
+                future.complete(getAsciidoctor());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }, "asciidoctor-init");
+        thread.setDaemon(true);
+        thread.start();
+        return future;
+    }
+
+    /**
+     * Checks extensions can be loaded before initializing Asciidoctor in another thread,
+     * so that a wrong configuration fails before any resource is copied.
+     */
+    private void checkExtensionsClasspath() throws MojoExecutionException {
         for (ExtensionConfiguration extension : extensions) {
             try {
-                extensionRegistry.register(extension.getClassName(), extension.getBlockName());
-            } catch (Exception e) {
-                throw new MojoExecutionException(e.getMessage(), e);
+                Class.forName(extension.getClassName(), false, AsciidoctorJExtensionRegistry.class.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                throw new MojoExecutionException("'" + extension.getClassName() + "' not found in classpath", e);
+            }
+        }
+    }
+
+    private Asciidoctor awaitAsciidoctor(CompletableFuture<Asciidoctor> future) throws MojoExecutionException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while initializing Asciidoctor", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof MojoExecutionException) {
+                throw (MojoExecutionException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new MojoExecutionException(cause.getMessage(), cause);
+        }
+    }
+
+    private int bookModeThreadsCount() {
+        return bookModeThreads > 0 ? bookModeThreads : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Converts master documents chapter by chapter.
+     * Chapters are converted in other threads, so the converter reports their messages.
+     */
+    private SourceConverter bookConverter(Asciidoctor asciidoctor, ExecutorService executor, MemoryLogHandler memoryLogHandler,
+                                          ConversionTimings conversionTimings) {
+        final BookConverter bookConverter = new BookConverter(asciidoctor, executor, new MemoryAdmissionController(heapUsageLimit),
+            conversionTimings, memoryLogHandler, getLog());
+        return (source, options) -> {
+            try {
+                bookConverter.convert(source, options);
+            } catch (IOException e) {
+                throw new MojoExecutionException("Failed converting " + source + ": " + e.getMessage(), e);
+            }
+        };
+    }
+
+    private SourceConverter pipelinedConverter(PipelinedConverter pipelinedConverter) {
+        return (source, options) -> {
+            try {
+                pipelinedConverter.convert(source, options);
+            } catch (IOException e) {
+                throw new MojoExecutionException("Failed converting " + source + ": " + e.getMessage(), e);
             }
+        };
+    }
+
+    private void closePipelinedConverter(PipelinedConverter pipelinedConverter) throws MojoExecutionException {
+        try {
+            pipelinedConverter.close();
+        } catch (IOException e) {
+            throw new MojoExecutionException("Failed writing converted document: " + e.getMessage(), e);
         }
+        final int changedOutputs = pipelinedConverter.getChangedOutputs();
+        final int unchangedOutputs = pipelinedConverter.getUnchangedOutputs();
+        if (changedOutputs + unchangedOutputs > 0) {
+            getLog().info("Changed " + changedOutputs + " output(s), " + unchangedOutputs + " unchanged output(s) not re-written");
+        }
+    }
 
-        OptionsBuilder optionsBuilder = asciidoctorOptionsFactory.create(this, project, getLog());
+    /**
+     * Returns the sources converted by this execution when conversion is split in shards.
+     */
+    private List<File> selectShard(List<File> sourceFiles, File sourceDir) throws MojoExecutionException {
+        if (shardCount <= 1) {
+            return sourceFiles;
+        }
+        if (shardIndex < 0 || shardIndex >= shardCount) {
+            throw new MojoExecutionException("Invalid shardIndex " + shardIndex + ", must be between 0 and " + (shardCount - 1));
+        }
+
+        final SourceSharder sharder = new SourceSharder(sourceDir, shardCount);
+        final List<File> shard;
+        if (SourceSharder.HASH_STRATEGY.equals(shardStrategy)) {
+            shard = sharder.byHash(sourceFiles, shardIndex);
+        } else if (SourceSharder.TIMINGS_STRATEGY.equals(shardStrategy)) {
+            shard = sharder.byTimings(sourceFiles, shardIndex, ConversionTimings.load(conversionTimingsFile, sourceDir));
+        } else {
+            throw new MojoExecutionException("Invalid shardStrategy '" + shardStrategy + "', valid values are: "
+                + SourceSharder.HASH_STRATEGY + ", " + SourceSharder.TIMINGS_STRATEGY);
+        }
+        getLog().info("Converting shard " + shardIndex + " of " + shardCount + ": " + shard.size() + " of " + sourceFiles.size() + " sources");
+        return shard;
+    }
 
+    /**
+     * Copies resources and creates the LogHandler to capture asciidoctor messages.
+     */
+    private MemoryLogHandler prepareConversion(File sourceDir, ResourcesProcessor resourcesProcessor) throws MojoExecutionException {
         // Copy output resources
-        final File sourceDir = sourceDirectoryCandidate.get();
         resourcesProcessor.process(sourceDir, outputDirectory, this);
 
-        // register LogHandler to capture asciidoctor messages
-        final MemoryLogHandler memoryLogHandler = new MemoryLogHandler(logHandler.getOutputToConsole(),
+        return new MemoryLogHandler(logHandler.getOutputToConsole(),
             logRecord -> getLog().info(LogRecordFormatter.format(logRecord, sourceDir)));
-        asciidoctor.registerLogHandler(memoryLogHandler);
-        // disable default console output of AsciidoctorJ
-        Logger.getLogger("asciidoctor").setUseParentHandlers(false);
+    }
 
-        final Set<File> uniquePaths = new HashSet<>();
-        for (int i = 0; i < sourceFiles.size(); i++) {
-            final File source = sourceFiles.get(i);
-            final Destination destination = setDestinationPaths(source, optionsBuilder, sourceDir, this);
-            final File destinationPath = destination.path;
-            if (!uniquePaths.add(destinationPath)) {
-                String destinationFile = destinationPath.getAbsolutePath();
-                if (!destination.isOutput) {
-                    String baseName = FilenameUtils.getBaseName(destinationPath.getName());
-                    destinationFile = destinationPath.getParentFile().getAbsolutePath() + File.separator + baseName + ".*";
-                }
-                getLog().warn("Duplicated destination found: overwriting file: " + destinationFile);
+    private ForkedWorker acquireWorker(ForkedWorkerPool workerPool) throws MojoExecutionException {
+        try {
+            return workerPool.acquire(getForkConfiguration());
+        } catch (IOException e) {
+            throw new MojoExecutionException("Could not start conversion worker: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Connects to a running daemon or starts a new one.
+     *
+     * @return connected worker, {@literal null} when conversion should fall back to the current JVM
+     */
+    private ForkedWorker connectDaemon() throws MojoExecutionException {
+        try {
+            return ForkedWorker.connectDaemon(getForkConfiguration(), DAEMONS_DIRECTORY, TimeUnit.MINUTES.toMillis(daemonIdleTimeout));
+        } catch (IOException e) {
+            getLog().warn("Conversion daemon not available, converting in the current JVM: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private SourceConverter forkedConverter(ForkedWorker worker, MemoryLogHandler memoryLogHandler) {
+        return (source, options) -> {
+            final ConversionResult result;
+            try {
+                result = worker.convert(source, options.map());
+            } catch (IOException e) {
+                throw new MojoExecutionException("Conversion worker failed converting " + source + ": " + e.getMessage(), e);
+            }
+            for (ForkedLogRecord logRecord : result.getLogRecords()) {
+                memoryLogHandler.log(logRecord.toLogRecord());
+            }
+            if (result.getFailure() != null) {
+                throw new MojoExecutionException("Failed converting " + source + ": " + result.getFailure());
+            }
+        };
+    }
+
+    /**
+     * Converts the sources with the converter.
+     * When converting in this JVM, `asciidoctor` is the instance used, so that the attributes shared
+     * by all documents are converted to Ruby once and lazy requires are required before each document.
+     * The duration of each source is recorded in `conversionTimings`, which are saved at the end.
+     */
+    private void convertSources(List<File> sourceFiles, File sourceDir, MemoryLogHandler memoryLogHandler, SourceConverter converter,
+                                Asciidoctor asciidoctor, ConversionTimings conversionTimings) throws MojoExecutionException {
+        final ConversionPlan conversionPlan = createConversionPlan(sourceFiles, sourceDir, asciidoctor);
+        for (String duplicatedDestination : conversionPlan.getDuplicatedDestinations()) {
+            getLog().warn("Duplicated destination found: overwriting file: " + duplicatedDestination);
+        }
+
+        final LazyRequires lazyRequires = asciidoctor == null ? null : new LazyRequires(this.lazyRequires, getLog());
+        final List<ConversionPlan.Conversion> conversions = conversionPlan.getConversions();
+        long sourceMillis = 0;
+        for (int i = 0; i < conversions.size(); i++) {
+            final ConversionPlan.Conversion conversion = conversions.get(i);
+            final File source = conversion.getSource();
+            final long start = System.nanoTime();
+            if (lazyRequires != null && !lazyRequires.isEmpty()) {
+                lazyRequires.require(asciidoctor, source);
             }
+            boolean processLogRecords = logHandler.getFailFast() || i == (conversions.size() - 1);
+            convertFile(converter, conversion.getOptions(), source, sourceDir, memoryLogHandler, processLogRecords);
+            sourceMillis += TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (i == (conversions.size() - 1) || !conversions.get(i + 1).getSource().equals(source)) {
+                conversionTimings.record(source, sourceMillis);
+                sourceMillis = 0;
+            }
+        }
+        saveConversionTimings(conversionTimings);
+    }
+
+    private ConversionPlan createConversionPlan(List<File> sourceFiles, File sourceDir, Asciidoctor asciidoctor) throws MojoExecutionException {
+        final Options options = asciidoctorOptionsFactory.create(this, project, sourceDir, getLog()).build();
+        if (asciidoctor != null) {
+            options.setOption(Options.ATTRIBUTES, MarshalledAttributes.of(asciidoctor, SourceFileOptions.attributes(options)));
+        }
+        try {
+            return ConversionPlan.create(sourceFiles, sourceDir, getConversionBackends(), options, this);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Unable to locate output directory", e);
+        }
+    }
+
+    private void saveConversionTimings(ConversionTimings conversionTimings) {
+        try {
+            conversionTimings.save();
+        } catch (IOException e) {
+            getLog().warn("Could not save conversion timings in " + conversionTimingsFile + ": " + e.getMessage());
+        }
+    }
 
-            boolean processLogRecords = logHandler.getFailFast() || (i == (sourceFiles.size() - 1));
-            convertFile(asciidoctor, optionsBuilder.build(), source, sourceDir, memoryLogHandler, processLogRecords);
+    /**
+     * Returns the estimated time to convert all sources, based on previous builds.
+     * Used to schedule the longest executions first.
+     *
+     * @return estimated duration in milliseconds, 0 if there is nothing to convert
+     * @since 3.2.1
+     */
+    long estimateConversionMillis() {
+        final Optional<File> sourceDirectoryCandidate = findSourceDirectoryToEstimate();
+        if (!sourceDirectoryCandidate.isPresent()) {
+            return 0;
         }
+        return ConversionTimings.load(conversionTimingsFile, sourceDirectoryCandidate.get())
+            .estimate(findSourceFiles(sourceDirectoryCandidate.get())) * getConversionBackends().size();
+    }
+
+    /**
+     * Returns the estimated memory to convert the largest source in the current JVM.
+     * Sources are converted one at a time, so the largest one determines the memory needed.
+     *
+     * @return estimated footprint in bytes, 0 if there is nothing to convert or conversion happens in other JVMs
+     * @since 3.2.1
+     */
+    long estimateFootprint() {
+        if (fork || daemon) {
+            return 0;
+        }
+        long footprint = 0;
+        for (File source : findSourceFilesToEstimate()) {
+            footprint = Math.max(footprint, MemoryAdmissionController.estimateFootprint(source));
+        }
+        return footprint;
+    }
+
+    private List<File> findSourceFilesToEstimate() {
+        final Optional<File> sourceDirectoryCandidate = findSourceDirectoryToEstimate();
+        return sourceDirectoryCandidate.isPresent() ? findSourceFiles(sourceDirectoryCandidate.get()) : List.of();
+    }
+
+    private Optional<File> findSourceDirectoryToEstimate() {
+        if (skip || sourceDirectory == null) {
+            return Optional.empty();
+        }
+        return findSourceDirectory(sourceDirectory, project.getBasedir());
+    }
+
+    /**
+     * Returns the backends each source is converted to.
+     * When `backends` is set, it takes precedence over `backend`.
+     *
+     * @return backends in conversion order
+     * @since 3.2.1
+     */
+    protected List<String> getConversionBackends() {
+        return backends == null || backends.isEmpty() ? List.of(backend) : backends;
+    }
+
+    /**
+     * Returns the configuration of the worker JVMs used in fork mode.
+     *
+     * @return fork configuration
+     * @since 3.2.1
+     */
+    protected ForkConfiguration getForkConfiguration() throws MojoExecutionException {
+        final List<ForkConfiguration.Extension> forkExtensions = new ArrayList<>();
+        for (ExtensionConfiguration extension : extensions) {
+            forkExtensions.add(new ForkConfiguration.Extension(extension.getClassName(), extension.getBlockName()));
+        }
+        // workers are long-lived, lazy requires are required when they start
+        final List<String> forkRequires = new ArrayList<>(requires);
+        forkRequires.addAll(getLazyRequiredLibraries());
+        // profile options go first, so that jvmArgs can override them
+        final List<String> forkJvmArgs = RuntimeProfile.jvmArgs(getJRubyOptions());
+        forkJvmArgs.addAll(jvmArgs);
+        return new ForkConfiguration(forkJvmArgs, ForkConfiguration.pluginClasspath(), gemPath, enableVerbose, forkRequires, forkExtensions);
+    }
+
+    /**
+     * Returns the Asciidoctor instance used to convert the sources.
+     * By default, a new instance is created for every conversion,
+     * unless one is shared by the aggregate goal.
+     *
+     * @return Asciidoctor instance with all libraries and extensions loaded
+     * @throws MojoExecutionException If an extension cannot be registered
+     * @since 3.2.1
+     */
+    protected Asciidoctor getAsciidoctor() throws MojoExecutionException {
+        return sharedAsciidoctor != null ? sharedAsciidoctor : createAsciidoctor();
+    }
+
+    /**
+     * Notifies that the instance returned by {@link #getAsciidoctor()} finished converting.
+     * By default, shuts down the instance unless it is shared by the aggregate goal,
+     * since a new one is created for every conversion.
+     *
+     * @param asciidoctor        Asciidoctor instance
+     * @param convertedDocuments number of documents converted, 0 when conversion did not happen
+     * @since 3.2.1
+     */
+    protected void releaseAsciidoctor(Asciidoctor asciidoctor, int convertedDocuments) {
+        if (asciidoctor != sharedAsciidoctor) {
+            asciidoctor.shutdown();
+        }
+    }
+
+    void setSharedAsciidoctor(Asciidoctor sharedAsciidoctor) {
+        this.sharedAsciidoctor = sharedAsciidoctor;
+    }
+
+    /**
+     * Returns the configuration used to initialize Asciidoctor instances.
+     * Instances created with equal configurations are interchangeable.
+     *
+     * @return gemPath, verbose, requires, lazyRequires and extensions configuration
+     * @since 3.2.1
+     */
+    protected List<Object> getAsciidoctorConfiguration() {
+        final List<String> extensionsConfiguration = new ArrayList<>();
+        for (ExtensionConfiguration extension : extensions) {
+            extensionsConfiguration.add(extension.getClassName() + ":" + extension.getBlockName());
+        }
+        return Arrays.asList(gemPath, enableVerbose, new ArrayList<>(requires), getLazyRequiredLibraries(), extensionsConfiguration);
+    }
+
+    /**
+     * Returns the JRuby options of worker JVMs, from `runtimeProfile` and `runtimeOptions`.
+     *
+     * @return JRuby options
+     * @throws MojoExecutionException If the runtime profile is not valid
+     * @since 3.2.1
+     */
+    protected Map<String, String> getJRubyOptions() throws MojoExecutionException {
+        return RuntimeProfile.options(runtimeProfile, runtimeOptions);
+    }
+
+    private List<String> getLazyRequiredLibraries() {
+        final List<String> libraries = new ArrayList<>();
+        for (LazyRequire lazyRequire : lazyRequires) {
+            libraries.add(lazyRequire.getLibrary());
+        }
+        return libraries;
+    }
+
+    /**
+     * Creates a new Asciidoctor instance, requires the configured libraries
+     * and registers the configured extensions.
+     *
+     * @return new Asciidoctor instance
+     * @throws MojoExecutionException If an extension cannot be registered
+     * @since 3.2.1
+     */
+    protected Asciidoctor createAsciidoctor() throws MojoExecutionException {
+        if (!getJRubyOptions().isEmpty()) {
+            // JRuby loads its options once per JVM, runtimes created later ignore them
+            getLog().warn("runtimeProfile and runtimeOptions only apply to fork and daemon workers, set JRuby options in MAVEN_OPTS"
+                + " to configure the Maven JVM");
+        }
+        final Asciidoctor asciidoctor = asciidoctorJFactory.create(gemPath, getLog());
+
+        if (enableVerbose) {
+            asciidoctor.requireLibrary("enable_verbose.rb");
+        }
+        asciidoctor.requireLibraries(requires);
+
+        ExtensionRegistry extensionRegistry = new AsciidoctorJExtensionRegistry(asciidoctor);
+        for (ExtensionConfiguration extension : extensions) {
+            try {
+                extensionRegistry.register(extension.getClassName(), extension.getBlockName());
+            } catch (Exception e) {
+                throw new MojoExecutionException(e.getMessage(), e);
+            }
+        }
+        return asciidoctor;
     }
 
     private void processLogRecords(File sourceDir, MemoryLogHandler memoryLogHandler) throws MojoExecutionException {
@@ -285,64 +801,6 @@ public class AsciidoctorMojo extends AbstractMojo {
         return candidateName.startsWith("./") || candidateName.startsWith(".\\");
     }
 
-    /**
-     * Updates optionsBuilder's baseDir and toDir accordingly to the conversion configuration.
-     *
-     * @param sourceFile      AsciiDoc source file to process.
-     * @param optionsBuilder  Asciidoctor options to be updated.
-     * @param sourceDirectory Source directory configured (`sourceFile` may include relative path).
-     * @param configuration   AsciidoctorMojo containing conversion configuration.
-     * @return the final destination file path.
-     * @throws MojoExecutionException If output is not valid
-     */
-    public Destination setDestinationPaths(final File sourceFile, final OptionsBuilder optionsBuilder, final File sourceDirectory,
-                                           final AsciidoctorMojo configuration) throws MojoExecutionException {
-        try {
-            if (configuration.getBaseDir() != null) {
-                optionsBuilder.baseDir(configuration.getBaseDir());
-            } else {
-                // when preserveDirectories == false, parent and sourceDirectory are the same
-                if (configuration.isRelativeBaseDir()) {
-                    optionsBuilder.baseDir(sourceFile.getParentFile());
-                } else {
-                    optionsBuilder.baseDir(sourceDirectory);
-                }
-            }
-            final File outputDir = configuration.getOutputDirectory();
-            if (configuration.isPreserveDirectories()) {
-                final String candidatePath = sourceFile.getParentFile().getCanonicalPath().substring(sourceDirectory.getCanonicalPath().length());
-                final File relativePath = new File(outputDir.getCanonicalPath() + candidatePath);
-                optionsBuilder.toDir(relativePath);
-            } else {
-                optionsBuilder.toDir(outputDir);
-            }
-            final File outputFile = configuration.getOutputFile();
-            final String toDir = (String) optionsBuilder.build().map().get(Options.TO_DIR);
-            if (outputFile != null) {
-                // allow overriding the output file name
-                optionsBuilder.toFile(outputFile);
-                return outputFile.isAbsolute()
-                    ? new Destination(outputFile, true)
-                    : new Destination(new File(toDir, outputFile.getPath()), true);
-            } else {
-                return new Destination(new File(toDir, sourceFile.getName()), false);
-            }
-        } catch (IOException e) {
-            throw new MojoExecutionException("Unable to locate output directory", e);
-        }
-    }
-
-    class Destination {
-        final File path;
-        // Whether path is the actual output file or an approximation
-        final boolean isOutput;
-
-        Destination(File destination, boolean isSource) {
-            this.path = destination;
-            this.isOutput = isSource;
-        }
-    }
-
     protected List<File> findSourceFiles(File sourceDirectory) {
         if (sourceDocumentName != null)
             return List.of(new File(sourceDirectory, sourceDocumentName));
@@ -353,15 +811,20 @@ public class AsciidoctorMojo extends AbstractMojo {
             finder.find(sourceDirectoryPath, sourceDocumentExtensions);
     }
 
-    private void convertFile(Asciidoctor asciidoctor, Options options, File f, File sourceDir, MemoryLogHandler memoryLogHandler, boolean processLogRecords) throws MojoExecutionException {
+    private void convertFile(SourceConverter converter, Options options, File f, File sourceDir, MemoryLogHandler memoryLogHandler, boolean processLogRecords) throws MojoExecutionException {
         memoryLogHandler.setCurrentFile(f);
-        asciidoctor.convertFile(f, options);
+        converter.convert(f, options);
         logConvertedFile(f);
         if (processLogRecords) {
             processLogRecords(sourceDir, memoryLogHandler);
         }
     }
 
+    @FunctionalInterface
+    private interface SourceConverter {
+        void convert(File source, Options options) throws MojoExecutionException;
+    }
+
     protected void logConvertedFile(File f) {
         getLog().info("Converted " + f.getAbsolutePath());
     }
@@ -420,6 +883,14 @@ public class AsciidoctorMojo extends AbstractMojo {
         this.skip = skip;
     }
 
+    public List<String> getBackends() {
+        return backends;
+    }
+
+    public void setBackends(List<String> backends) {
+        this.backends = backends;
+    }
+
     public String getDoctype() {
         return doctype;
     }
@@ -564,6 +1035,30 @@ public class AsciidoctorMojo extends AbstractMojo {
         return attributesChain;
     }
 
+    public List<LazyRequire> getLazyRequires() {
+        return lazyRequires;
+    }
+
+    public void setLazyRequires(List<LazyRequire> lazyRequires) {
+        this.lazyRequires = lazyRequires;
+    }
+
+    public boolean isAttributesProjection() {
+        return attributesProjection;
+    }
+
+    public void setAttributesProjection(boolean attributesProjection) {
+        this.attributesProjection = attributesProjection;
+    }
+
+    public List<String> getProjectedProperties() {
+        return projectedProperties;
+    }
+
+    public void setProjectedProperties(List<String> projectedProperties) {
+        this.projectedProperties = projectedProperties;
+    }
+
     public boolean isRelativeBaseDir() {
         return relativeBaseDir;
     }
@@ -571,4 +1066,108 @@ public class AsciidoctorMojo extends AbstractMojo {
     public boolean isPreserveDirectories() {
         return preserveDirectories;
     }
+
+    public boolean isFork() {
+        return fork;
+    }
+
+    public void setFork(boolean fork) {
+        this.fork = fork;
+    }
+
+    public List<String> getJvmArgs() {
+        return jvmArgs;
+    }
+
+    public void setJvmArgs(List<String> jvmArgs) {
+        this.jvmArgs = jvmArgs;
+    }
+
+    public String getRuntimeProfile() {
+        return runtimeProfile;
+    }
+
+    public void setRuntimeProfile(String runtimeProfile) {
+        this.runtimeProfile = runtimeProfile;
+    }
+
+    public Map<String, String> getRuntimeOptions() {
+        return runtimeOptions;
+    }
+
+    public void setRuntimeOptions(Map<String, String> runtimeOptions) {
+        this.runtimeOptions = runtimeOptions;
+    }
+
+    public boolean isDaemon() {
+        return daemon;
+    }
+
+    public void setDaemon(boolean daemon) {
+        this.daemon = daemon;
+    }
+
+    public int getDaemonIdleTimeout() {
+        return daemonIdleTimeout;
+    }
+
+    public void setDaemonIdleTimeout(int daemonIdleTimeout) {
+        this.daemonIdleTimeout = daemonIdleTimeout;
+    }
+
+    public boolean isBookMode() {
+        return bookMode;
+    }
+
+    public void setBookMode(boolean bookMode) {
+        this.bookMode = bookMode;
+    }
+
+    public int getBookModeThreads() {
+        return bookModeThreads;
+    }
+
+    public void setBookModeThreads(int bookModeThreads) {
+        this.bookModeThreads = bookModeThreads;
+    }
+
+    public File getConversionTimingsFile() {
+        return conversionTimingsFile;
+    }
+
+    public void setConversionTimingsFile(File conversionTimingsFile) {
+        this.conversionTimingsFile = conversionTimingsFile;
+    }
+
+    public int getShardIndex() {
+        return shardIndex;
+    }
+
+    public void setShardIndex(int shardIndex) {
+        this.shardIndex = shardIndex;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public void setShardCount(int shardCount) {
+        this.shardCount = shardCount;
+    }
+
+    public String getShardStrategy() {
+        return shardStrategy;
+    }
+
+    public void setShardStrategy(String shardStrategy) {
+        this.shardStrategy = shardStrategy;
+    }
+
+    public int getHeapUsageLimit() {
+        return heapUsageLimit;
+    }
+
+    public void setHeapUsageLimit(int heapUsageLimit) {
+        this.heapUsageLimit = heapUsageLimit;
+    }
 }
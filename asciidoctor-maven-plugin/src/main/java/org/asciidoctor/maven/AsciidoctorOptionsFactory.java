@@ -2,6 +2,8 @@ package org.asciidoctor.maven;
 
 import javax.inject.Singleton;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.project.MavenProject;
@@ -11,6 +13,7 @@ import org.asciidoctor.Options;
 import org.asciidoctor.OptionsBuilder;
 import org.asciidoctor.SafeMode;
 import org.asciidoctor.maven.commons.AsciidoctorHelper;
+import org.asciidoctor.maven.commons.AttributeReferences;
 
 import static org.asciidoctor.maven.commons.StringUtils.isBlank;
 import static org.asciidoctor.maven.commons.StringUtils.isNotBlank;
@@ -31,10 +34,11 @@ public class AsciidoctorOptionsFactory {
      *
      * @param configuration AsciidoctorMojo containing conversion configuration.
      * @param mavenProject  Current {@link MavenProject} instance.
+     * @param sourceDir     Source directory scanned for attribute references when `attributesProjection` is enabled.
      * @param log           The mojo's {@link Log} reference.
      * @return initialized {@link Attributes}.
      */
-    private Attributes createAttributes(AsciidoctorMojo configuration, MavenProject mavenProject, Log log) {
+    private Attributes createAttributes(AsciidoctorMojo configuration, MavenProject mavenProject, File sourceDir, Log log) {
 
         final AttributesBuilder attributesBuilder = Attributes.builder();
 
@@ -43,7 +47,19 @@ public class AsciidoctorOptionsFactory {
             attributesBuilder.dataUri(true);
         }
 
-        AsciidoctorHelper.addProperties(mavenProject.getProperties(), attributesBuilder);
+        if (configuration.isAttributesProjection()) {
+            final List<Object> values = new ArrayList<>(configuration.getAttributes().values());
+            if (isNotBlank(configuration.getAttributesChain())) {
+                values.add(configuration.getAttributesChain());
+            }
+            // <revnumber>{project-version}</revnumber>
+            final AttributeReferences references = AttributeReferences.scan(sourceDir, configuration.getSourceDocumentExtensions())
+                .withValues(values);
+            log.debug("Attributes referenced in sources: " + references.size());
+            AsciidoctorHelper.addProperties(mavenProject.getProperties(), attributesBuilder, references.or(configuration.getProjectedProperties()));
+        } else {
+            AsciidoctorHelper.addProperties(mavenProject.getProperties(), attributesBuilder);
+        }
         AsciidoctorHelper.addAttributes(configuration.getAttributes(), attributesBuilder);
 
         if (isNotBlank(configuration.getAttributesChain())) {
@@ -59,10 +75,11 @@ public class AsciidoctorOptionsFactory {
      *
      * @param configuration AsciidoctorMojo containing conversion configuration.
      * @param mavenProject  Current {@link MavenProject} instance.
+     * @param sourceDir     Source directory of the documents to convert.
      * @param log           The mojo's {@link Log} reference.
      * @return initialized optionsBuilder.
      */
-    OptionsBuilder create(AsciidoctorMojo configuration, MavenProject mavenProject, Log log) {
+    OptionsBuilder create(AsciidoctorMojo configuration, MavenProject mavenProject, File sourceDir, Log log) {
 
         final OptionsBuilder optionsBuilder = Options.builder()
             .backend(configuration.getBackend())
@@ -91,7 +108,7 @@ public class AsciidoctorOptionsFactory {
         if (!configuration.getTemplateDirs().isEmpty())
             optionsBuilder.templateDirs(configuration.getTemplateDirs().toArray(new File[]{}));
 
-        final Attributes attributes = createAttributes(configuration, mavenProject, log);
+        final Attributes attributes = createAttributes(configuration, mavenProject, sourceDir, log);
         return optionsBuilder.attributes(attributes);
     }
 
@@ -5,9 +5,11 @@ import java.io.File;
 import java.io.FileFilter;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.Scanner;
 import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.io.filefilter.FileFilterUtils;
 import org.apache.commons.io.filefilter.IOFileFilter;
@@ -20,12 +22,17 @@ import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
+import org.asciidoctor.Asciidoctor;
+import org.asciidoctor.Options;
+import org.asciidoctor.SafeMode;
+import org.asciidoctor.maven.process.IoExecutors;
 import org.asciidoctor.maven.process.ResourcesProcessor;
 import org.asciidoctor.maven.process.SourceDocumentFinder;
 import org.asciidoctor.maven.refresh.AdditionalSourceFileAlterationListenerAdaptor;
 import org.asciidoctor.maven.refresh.AsciidoctorConverterFileAlterationListenerAdaptor;
 import org.asciidoctor.maven.refresh.ResourceCopyFileAlterationListenerAdaptor;
 import org.asciidoctor.maven.refresh.ResourcesPatternBuilder;
+import org.asciidoctor.maven.refresh.RuntimeRecycler;
 import org.asciidoctor.maven.refresh.TimeCounter;
 
 import static org.asciidoctor.maven.commons.StringUtils.isNotBlank;
@@ -42,8 +49,38 @@ public class AsciidoctorRefreshMojo extends AsciidoctorMojo {
     @Parameter(property = PREFIX + "refreshOn")
     protected String refreshOn;
 
+    /**
+     * Number of documents converted before replacing the Asciidoctor runtime, 0 to disable.
+     *
+     * @since 3.2.1
+     */
+    @Parameter(property = PREFIX + "recycleAfterDocuments", defaultValue = "1000")
+    protected int recycleAfterDocuments;
+
+    /**
+     * Growth in MB of the heap used after garbage collection before replacing the Asciidoctor runtime, 0 to disable.
+     *
+     * @since 3.2.1
+     */
+    @Parameter(property = PREFIX + "recycleHeapGrowth", defaultValue = "512")
+    protected int recycleHeapGrowth;
+
+    /**
+     * Minutes without conversions before replacing the Asciidoctor runtime, 0 to disable.
+     *
+     * @since 3.2.1
+     */
+    @Parameter(property = PREFIX + "recycleIdleTimeout", defaultValue = "30")
+    protected int recycleIdleTimeout;
+
     private Collection<FileAlterationMonitor> monitors = null;
 
+    // Runtime kept for the whole session, so that conversions on change do not boot a new one.
+    // Guarded by its own lock, since it is initialized in another thread while processing sources.
+    private final Object runtimeLock = new Object();
+    private RuntimeRecycler runtimeRecycler = null;
+    private List<Object> asciidoctorConfiguration = null;
+
     @Inject
     public AsciidoctorRefreshMojo(AsciidoctorJFactory asciidoctorJFactory, AsciidoctorOptionsFactory asciidoctorOptionsFactory, SourceDocumentFinder finder, ResourcesProcessor defaultResourcesProcessor) {
         super(asciidoctorJFactory, asciidoctorOptionsFactory, finder, defaultResourcesProcessor);
@@ -55,6 +92,91 @@ public class AsciidoctorRefreshMojo extends AsciidoctorMojo {
         doWork();
         doWait();
         stopMonitors();
+        shutdownAsciidoctor();
+    }
+
+    /**
+     * Converts a collection of AsciiDoc sources with the instance kept for the session.
+     * Conversions are serialized, since changes can be detected while a manual refresh is running.
+     *
+     * @param sourceFiles        Collection of source files to convert.
+     * @param resourcesProcessor Behavior to apply for resources.
+     * @throws MojoExecutionException If requirements are not met
+     */
+    @Override
+    public synchronized void processSources(List<File> sourceFiles, ResourcesProcessor resourcesProcessor) throws MojoExecutionException {
+        super.processSources(sourceFiles, resourcesProcessor);
+    }
+
+    /**
+     * Returns the instance kept for the session, re-creating it only when
+     * the configuration used to initialize it has changed.
+     * The instance is periodically replaced by a new one prepared in the background,
+     * see {@link RuntimeRecycler}.
+     *
+     * @return Asciidoctor instance with all libraries and extensions loaded
+     * @throws MojoExecutionException If an extension cannot be registered
+     */
+    @Override
+    protected Asciidoctor getAsciidoctor() throws MojoExecutionException {
+        synchronized (runtimeLock) {
+            final List<Object> configuration = getAsciidoctorConfiguration();
+            if (runtimeRecycler == null || !configuration.equals(asciidoctorConfiguration)) {
+                if (runtimeRecycler != null) {
+                    getLog().info("Asciidoctor configuration changed, re-initializing");
+                }
+                shutdownAsciidoctor();
+                runtimeRecycler = new RuntimeRecycler(this::createWarmAsciidoctor,
+                    recycleAfterDocuments,
+                    recycleHeapGrowth * 1024L * 1024L,
+                    TimeUnit.MINUTES.toMillis(recycleIdleTimeout),
+                    getLog());
+                asciidoctorConfiguration = configuration;
+            }
+            try {
+                return runtimeRecycler.acquire();
+            } catch (MojoExecutionException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new MojoExecutionException(e.getMessage(), e);
+            }
+        }
+    }
+
+    @Override
+    protected void releaseAsciidoctor(Asciidoctor asciidoctor, int convertedDocuments) {
+        synchronized (runtimeLock) {
+            if (runtimeRecycler != null) {
+                runtimeRecycler.release(convertedDocuments);
+            }
+        }
+    }
+
+    /**
+     * Creates a new instance and converts a small document, so that the first
+     * conversion after replacing the runtime does not pay for loading the converter.
+     */
+    private Asciidoctor createWarmAsciidoctor() throws MojoExecutionException {
+        final Asciidoctor asciidoctor = createAsciidoctor();
+        try {
+            asciidoctor.convert("= Warm-up\n\nA *warm-up* paragraph.", Options.builder()
+                .backend(getConversionBackends().get(0))
+                .safe(SafeMode.SAFE)
+                .build());
+        } catch (Exception e) {
+            getLog().debug("Could not warm up Asciidoctor runtime: " + e.getMessage());
+        }
+        return asciidoctor;
+    }
+
+    protected void shutdownAsciidoctor() {
+        synchronized (runtimeLock) {
+            if (runtimeRecycler != null) {
+                runtimeRecycler.close();
+                runtimeRecycler = null;
+                asciidoctorConfiguration = null;
+            }
+        }
     }
 
     protected void doWork() {
@@ -114,6 +236,7 @@ public class AsciidoctorRefreshMojo extends AsciidoctorMojo {
         final File sourceDirectory = sourceDirectoryCandidate.get();
 
         final FileAlterationMonitor fileAlterationMonitor = new FileAlterationMonitor(interval);
+        fileAlterationMonitor.setThreadFactory(IoExecutors.threadFactory("asciidoctor-watcher"));
 
         { // sources monitor
             final FileAlterationObserver observer = new FileAlterationObserver(sourceDirectory, buildSourcesFileFilter());
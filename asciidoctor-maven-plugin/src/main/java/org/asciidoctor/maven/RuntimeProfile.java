@@ -0,0 +1,81 @@
+package org.asciidoctor.maven;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.plugin.MojoExecutionException;
+
+/**
+ * JRuby options of the worker JVMs in fork and daemon modes, according to the {@code runtimeProfile}.
+ * <ul>
+ *     <li>{@code startup}: interpreter only, for short sessions converting few documents at a time</li>
+ *     <li>{@code throughput}: JIT compilation and invokedynamic, for executions converting many documents</li>
+ *     <li>{@code custom}: only the options set in {@code runtimeOptions}</li>
+ * </ul>
+ * Options are JRuby properties (e.g. {@code jruby.compile.mode}) passed as {@code -D} arguments.
+ * JRuby loads them once per JVM, so they cannot be changed for runtimes created in the Maven JVM.
+ *
+ * @since 3.2.1
+ */
+public final class RuntimeProfile {
+
+    public static final String STARTUP = "startup";
+    public static final String THROUGHPUT = "throughput";
+    public static final String CUSTOM = "custom";
+
+    private RuntimeProfile() {
+    }
+
+    /**
+     * Returns the JRuby options of a profile.
+     *
+     * @param profile        profile name, {@literal null} or blank for JRuby defaults
+     * @param runtimeOptions options that take precedence over the ones of the profile
+     * @return JRuby options in application order
+     * @throws MojoExecutionException if the profile is not valid
+     */
+    public static Map<String, String> options(String profile, Map<String, String> runtimeOptions) throws MojoExecutionException {
+        final Map<String, String> options = new LinkedHashMap<>();
+        if (profile == null || profile.isBlank() || CUSTOM.equals(profile)) {
+            // only runtimeOptions
+        } else if (STARTUP.equals(profile)) {
+            options.put("jruby.compile.mode", "OFF");
+            options.put("jruby.compile.invokedynamic", "false");
+            options.put("jruby.jit.threshold", "-1");
+        } else if (THROUGHPUT.equals(profile)) {
+            options.put("jruby.compile.mode", "JIT");
+            options.put("jruby.compile.invokedynamic", "true");
+            // compile sooner and more methods than the defaults (50 calls, 4096 methods)
+            options.put("jruby.jit.threshold", "20");
+            options.put("jruby.jit.max", "-1");
+            options.put("jruby.jit.background", "true");
+            options.put("jruby.thread.pool.enabled", "true");
+        } else {
+            throw new MojoExecutionException("Invalid runtimeProfile '" + profile + "', valid values are: "
+                + STARTUP + ", " + THROUGHPUT + ", " + CUSTOM);
+        }
+        if (runtimeOptions != null) {
+            for (Map.Entry<String, String> option : runtimeOptions.entrySet()) {
+                // Maven interprets an empty value as null, as with attributes it enables the option
+                options.put(option.getKey(), option.getValue() == null ? "true" : option.getValue());
+            }
+        }
+        return options;
+    }
+
+    /**
+     * Returns the JRuby options as JVM arguments.
+     *
+     * @param options JRuby options
+     * @return {@code -D} arguments
+     */
+    public static List<String> jvmArgs(Map<String, String> options) {
+        final List<String> jvmArgs = new ArrayList<>();
+        for (Map.Entry<String, String> option : options.entrySet()) {
+            jvmArgs.add("-D" + option.getKey() + "=" + option.getValue());
+        }
+        return jvmArgs;
+    }
+}
@@ -0,0 +1,605 @@
+package org.asciidoctor.maven.book;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.maven.plugin.logging.Log;
+import org.asciidoctor.Asciidoctor;
+import org.asciidoctor.Options;
+import org.asciidoctor.ast.ContentNode;
+import org.asciidoctor.ast.Document;
+import org.asciidoctor.ast.Footnote;
+import org.asciidoctor.ast.Section;
+import org.asciidoctor.ast.StructuralNode;
+import org.asciidoctor.jruby.internal.RubyObjectWrapper;
+import org.asciidoctor.log.LogHandler;
+import org.asciidoctor.log.LogRecord;
+import org.asciidoctor.log.Severity;
+import org.asciidoctor.maven.log.ThreadLogDispatcher;
+import org.asciidoctor.maven.process.ConversionTimings;
+import org.asciidoctor.maven.process.MemoryAdmissionController;
+
+import static org.asciidoctor.maven.process.SourceFileOptions.attributes;
+import static org.asciidoctor.maven.process.SourceFileOptions.baseDir;
+import static org.asciidoctor.maven.process.SourceFileOptions.fileAttributes;
+import static org.asciidoctor.maven.process.SourceFileOptions.outputFile;
+
+/**
+ * Converts a master document that includes chapters, converting the chapters in parallel.
+ * <p>
+ * Chapters are the files included at the top level of the master document (see {@link BookStructure}).
+ * Each chapter is converted as a separate document, with the attributes of the master's header,
+ * so that only one chapter per thread is kept in memory.
+ * Then, the master document is converted with an outline of the chapters' sections in place of
+ * the includes, which produces the header, table of contents and section numbers, and the
+ * contents of the sections are inserted in the result.
+ * <p>
+ * To produce the same output as a single conversion:
+ * <ul>
+ *     <li>caption numbers continue from previous chapters: all chapters are first parsed, without converting them,
+ *     to count their captions, and the ones that need offsets are parsed again with them before being converted</li>
+ *     <li>footnotes are numbered per chapter, and renumbered once the footnotes of previous chapters are known</li>
+ *     <li>references to sections and anchors in other chapters are resolved after all chapters are converted</li>
+ * </ul>
+ * Section titles are replaced by placeholders in the outline, so that they are not substituted again.
+ * The result is stitched in memory and written once.
+ * Chapters are stitched into the markup of the built-in html5 converter, so only the html5 backend is supported.
+ * Masters without chapters, other backends, masters setting {@code xrefstyle} or chapters with a
+ * document header are converted as a single document.
+ *
+ * @since 3.2.1
+ */
+public class BookConverter {
+
+    private static final String PLACEHOLDER_FORMAT = "<!-- asciidoctor-maven-plugin:chapter %d:%d -->";
+    private static final Pattern PLACEHOLDER = Pattern.compile("<!-- asciidoctor-maven-plugin:chapter (\\d+):(\\d+) -->");
+    // only letters and digits, so that no substitution applies to it
+    private static final String TITLE_PLACEHOLDER_FORMAT = "AsciidoctorMavenPluginChapter%dTitle%d";
+    private static final Pattern TITLE_PLACEHOLDER = Pattern.compile("AsciidoctorMavenPluginChapter(\\d+)Title(\\d+)");
+    private static final Pattern FOOTNOTE_ID = Pattern.compile("(_footnote(?:ref|def)_)(\\d+)");
+    private static final Pattern FOOTNOTE_LINK_TEXT = Pattern.compile("(title=\"View footnote\\.\">)(\\d+)(</a>)");
+    private static final Pattern UNRESOLVED_REFERENCE = Pattern.compile("<a href=\"#([^\"]+)\">\\[\\1]</a>");
+    private static final String INVALID_REFERENCE_MESSAGE = "possible invalid reference: ";
+    private static final String COUNTER_SUFFIX = "-number";
+    private static final String FOOTNOTE_COUNTER = "footnote-number";
+    private static final Set<String> HTML5_BACKENDS = Set.of("html", "html5");
+
+    private final Asciidoctor asciidoctor;
+    private final Executor executor;
+    private final MemoryAdmissionController admissionController;
+    private final ConversionTimings conversionTimings;
+    private final LogHandler logHandler;
+    private final Log log;
+    private final ThreadLogDispatcher logDispatcher;
+
+    /**
+     * Constructor.
+     *
+     * @param asciidoctor         Asciidoctor instance, must support conversions in multiple threads
+     * @param executor            executor to convert the chapters
+     * @param admissionController limits the chapters converted at the same time by the available memory
+     * @param conversionTimings   durations of previous conversions, chapters' durations are recorded in them
+     * @param logHandler          handler messages from the chapters' conversions are reported to
+     * @param log                 Maven log
+     */
+    public BookConverter(Asciidoctor asciidoctor, Executor executor, MemoryAdmissionController admissionController,
+                         ConversionTimings conversionTimings, LogHandler logHandler, Log log) {
+        this.asciidoctor = asciidoctor;
+        this.executor = executor;
+        this.admissionController = admissionController;
+        this.conversionTimings = conversionTimings;
+        this.logHandler = logHandler;
+        this.log = log;
+        this.logDispatcher = ThreadLogDispatcher.of(asciidoctor);
+    }
+
+    /**
+     * Converts a master document.
+     *
+     * @param master  master document
+     * @param options Asciidoctor options
+     * @throws IOException if the master document or the result cannot be read or written
+     */
+    public void convert(File master, Options options) throws IOException {
+        final String backend = (String) options.map().get(Options.BACKEND);
+        if (!isSupported(backend)) {
+            log.info("Book mode only supports the html5 backend, converting " + master.getName() + " as a single document");
+            asciidoctor.convertFile(master, options);
+            return;
+        }
+
+        final List<String> lines = Files.readAllLines(master.toPath(), StandardCharsets.UTF_8);
+        final Document header = asciidoctor.loadFile(master, copy(options, Map.of(Options.PARSE_HEADER_ONLY, true)));
+        // includes in the master document are resolved against the base directory
+        final BookStructure structure = BookStructure.parse(lines, new File(baseDir(master, options)),
+            name -> header.hasAttribute(name) ? String.valueOf(header.getAttribute(name)) : null);
+        if (structure.getChapters().isEmpty()) {
+            asciidoctor.convertFile(master, options);
+            return;
+        }
+        if (header.hasAttribute("xrefstyle")) {
+            // references between chapters are resolved with the target's reftext or title only
+            log.info("Book mode does not support xrefstyle, converting " + master.getName() + " as a single document");
+            asciidoctor.convertFile(master, options);
+            return;
+        }
+
+        final Map<String, Object> sharedAttributes = sharedAttributes(structure, header, options);
+        final List<ChapterResult> results = convertChapters(structure, options, sharedAttributes);
+
+        for (ChapterResult result : results) {
+            if (result.hasDocumentHeader) {
+                log.info("Chapter " + result.chapter.getFile().getName() + " has a document header, converting "
+                    + master.getName() + " as a single document");
+                asciidoctor.convertFile(master, options);
+                return;
+            }
+        }
+
+        final Map<String, String> references = new HashMap<>();
+        results.forEach(result -> references.putAll(result.references));
+        reportLogRecords(results, references);
+
+        final File outputFile = outputFile(master, options, header);
+        if (header.hasAttribute("linkcss") && header.hasAttribute("copycss")) {
+            // Asciidoctor only copies stylesheets when it writes the output itself
+            convertOutline(master, options, outline(structure, results), outputFile);
+            final String converted = Files.readString(outputFile.toPath(), StandardCharsets.UTF_8);
+            Files.writeString(outputFile.toPath(), stitch(converted, results, references), StandardCharsets.UTF_8);
+            return;
+        }
+        final String converted = convertOutline(master, options, outline(structure, results));
+        Files.createDirectories(outputFile.getAbsoluteFile().getParentFile().toPath());
+        Files.writeString(outputFile.toPath(), stitch(converted, results, references), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Whether chapters can be converted separately for a backend. Chapters are stitched into the markup of
+     * the built-in html5 converter, which is the only one that is supported.
+     *
+     * @param backend backend, {@literal null} for the default one
+     * @return {@literal true} if the backend is html5
+     */
+    public static boolean isSupported(String backend) {
+        return backend == null || HTML5_BACKENDS.contains(backend);
+    }
+
+    /**
+     * Converts all chapters in parallel. Chapters are first parsed to count their captions, the first chapter
+     * and chapters without captions are converted right away, the others are parsed again with
+     * the numbers of previous chapters and converted.
+     *
+     * @return results in chapters order, not converted if a chapter has a document header
+     */
+    private List<ChapterResult> convertChapters(BookStructure structure, Options options, Map<String, Object> sharedAttributes) {
+        final List<BookStructure.Chapter> chapters = structure.getChapters();
+        final List<CompletableFuture<ChapterResult>> conversions = new ArrayList<>(Collections.nCopies(chapters.size(), null));
+        for (int i : longestFirst(chapters)) {
+            conversions.set(i, convertChapterAsync(i, chapters.get(i), options, sharedAttributes, null));
+        }
+        final List<ChapterResult> results = join(conversions);
+
+        if (results.stream().anyMatch(result -> result.hasDocumentHeader)) {
+            return results;
+        }
+
+        final Map<String, Integer> offsets = new HashMap<>();
+        final List<Map<String, Integer>> chaptersOffsets = new ArrayList<>();
+        for (ChapterResult result : results) {
+            final Map<String, Integer> chapterOffsets = new HashMap<>();
+            for (String counter : result.counters.keySet()) {
+                chapterOffsets.put(counter, offsets.getOrDefault(counter, 0));
+            }
+            chaptersOffsets.add(chapterOffsets);
+            result.counters.forEach((counter, value) -> offsets.merge(counter, value, Integer::sum));
+        }
+
+        final List<CompletableFuture<ChapterResult>> pending = new ArrayList<>(Collections.nCopies(chapters.size(), null));
+        for (int i : longestFirst(chapters)) {
+            pending.set(i, results.get(i).converted
+                ? CompletableFuture.completedFuture(results.get(i))
+                : convertChapterAsync(i, chapters.get(i), options, sharedAttributes, chaptersOffsets.get(i)));
+        }
+        final List<ChapterResult> converted = join(pending);
+
+        int footnoteOffset = 0;
+        for (int i = 0; i < converted.size(); i++) {
+            final ChapterResult result = converted.get(i);
+            // chapters parsed twice take both times
+            final long millis = result == results.get(i) ? result.millis : results.get(i).millis + result.millis;
+            conversionTimings.record(result.chapter.getFile(), millis);
+            result.renumberFootnotes(footnoteOffset);
+            footnoteOffset += result.footnotes.size();
+        }
+        return converted;
+    }
+
+    /**
+     * Returns the indexes of the chapters from the longest to the shortest conversion in previous builds,
+     * so that the longest conversions start first and do not delay the end of the conversion.
+     */
+    private List<Integer> longestFirst(List<BookStructure.Chapter> chapters) {
+        final List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < chapters.size(); i++) {
+            indexes.add(i);
+        }
+        return ConversionTimings.longestFirst(indexes, i -> conversionTimings.estimate(chapters.get(i).getFile()));
+    }
+
+    /**
+     * Parses a chapter and converts it, when its caption numbers are known.
+     *
+     * @param counterOffsets caption numbers used by previous chapters, {@literal null} if not known yet
+     */
+    private CompletableFuture<ChapterResult> convertChapterAsync(int index, BookStructure.Chapter chapter, Options options,
+                                                                 Map<String, Object> sharedAttributes, Map<String, Integer> counterOffsets) {
+        return CompletableFuture.supplyAsync(() -> {
+            // messages are reported in chapters order once all are converted
+            final List<LogRecord> logRecords = new ArrayList<>();
+            logDispatcher.setHandler(logRecords::add);
+            try (MemoryAdmissionController.Permit permit = admissionController.acquire(MemoryAdmissionController.estimateFootprint(chapter.getFile()))) {
+                final long start = System.nanoTime();
+                final ChapterResult result = convertChapter(index, chapter, options, sharedAttributes, counterOffsets, logRecords);
+                result.millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                return result;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            } finally {
+                logDispatcher.setHandler(null);
+            }
+        }, executor);
+    }
+
+    private ChapterResult convertChapter(int index, BookStructure.Chapter chapter, Options options, Map<String, Object> sharedAttributes,
+                                         Map<String, Integer> counterOffsets, List<LogRecord> logRecords) {
+        final Map<String, Object> attributes = new HashMap<>(sharedAttributes);
+        attributes.put("leveloffset", chapter.getLevelOffset() + "@");
+        if (counterOffsets != null) {
+            counterOffsets.forEach((counter, offset) -> attributes.put(counter, String.valueOf(offset)));
+        }
+        attributes.putAll(attributes(options));
+
+        final Map<String, Object> chapterOptions = new HashMap<>();
+        chapterOptions.put(Options.ATTRIBUTES, attributes);
+        chapterOptions.put(Options.BASEDIR, chapter.getFile().getAbsoluteFile().getParent());
+        chapterOptions.put(Options.STANDALONE, false);
+        final Document document = asciidoctor.loadFile(chapter.getFile(), copy(options, chapterOptions));
+
+        final ChapterResult result = new ChapterResult(index, chapter, logRecords);
+        result.hasDocumentHeader = document.hasAttribute("doctitle");
+        if (counterOffsets == null) {
+            collectCounters(document, result);
+        }
+        if (result.hasDocumentHeader || counterOffsets == null && index > 0 && !result.counters.isEmpty()) {
+            // parsed again with the numbers of previous chapters
+            return result;
+        }
+
+        collectSections(document, result);
+        collectReferences(document, result);
+        for (Footnote footnote : document.getCatalog().getFootnotes()) {
+            result.footnotes.put(footnote.getIndex(), footnote.getText());
+        }
+        result.converted = true;
+        return result;
+    }
+
+    /**
+     * Collects the caption numbers used by a parsed chapter. Captions are numbered when parsing, footnotes when converting.
+     */
+    private static void collectCounters(Document document, ChapterResult result) {
+        // parsing restores the document attributes, counters are only kept in the document
+        final Object counters = ((RubyObjectWrapper) document).getProperty("counters");
+        if (!(counters instanceof Map)) {
+            return;
+        }
+        for (Map.Entry<?, ?> counter : ((Map<?, ?>) counters).entrySet()) {
+            final String name = String.valueOf(counter.getKey());
+            if (name.endsWith(COUNTER_SUFFIX) && !name.equals(FOOTNOTE_COUNTER)) {
+                try {
+                    result.counters.put(name, Integer.parseInt(String.valueOf(counter.getValue())));
+                } catch (NumberFormatException e) {
+                    // not a numeric counter (e.g. appendix letters), numbered by the master document
+                }
+            }
+        }
+    }
+
+    /**
+     * Converts the blocks that are not sections and creates the outline of the chapter.
+     * Blocks are converted after the whole chapter is parsed, so that references inside the chapter are resolved.
+     */
+    private void collectSections(StructuralNode node, ChapterResult result) {
+        final List<String> blocks = new ArrayList<>();
+        final List<Section> sections = new ArrayList<>();
+        for (StructuralNode block : node.getBlocks()) {
+            if (block instanceof Section) {
+                sections.add((Section) block);
+            } else {
+                blocks.add(block.convert());
+            }
+        }
+
+        if (!blocks.isEmpty()) {
+            final int placeholder = result.bodies.size();
+            result.bodies.put(placeholder, String.join("\n", blocks));
+            result.outline.add("");
+            result.outline.add("++++");
+            result.outline.add(String.format(PLACEHOLDER_FORMAT, result.index, placeholder));
+            result.outline.add("++++");
+        }
+
+        for (Section section : sections) {
+            result.outline.add("");
+            result.outline.add(sectionAttributes(section));
+            result.outline.add("=".repeat(section.getLevel() + 1) + " " + String.format(TITLE_PLACEHOLDER_FORMAT, result.index, result.titles.size()));
+            result.titles.add(section.getTitle());
+            collectSections(section, result);
+        }
+    }
+
+    private static String sectionAttributes(Section section) {
+        final StringBuilder attributes = new StringBuilder("[");
+        if (section.isSpecial() && section.getStyle() != null) {
+            attributes.append(section.getStyle());
+        }
+        if (section.getId() != null) {
+            attributes.append('#').append(section.getId());
+        }
+        for (String role : section.getRoles()) {
+            attributes.append('.').append(role);
+        }
+        return attributes.length() == 1 ? "" : attributes.append(']').toString();
+    }
+
+    private static void collectReferences(Document document, ChapterResult result) {
+        for (Map.Entry<String, Object> reference : document.getCatalog().getRefs().entrySet()) {
+            if (reference.getValue() instanceof ContentNode) {
+                final ContentNode node = (ContentNode) reference.getValue();
+                String text = node.isReftext() ? node.getReftext() : null;
+                if (text == null && node instanceof StructuralNode) {
+                    text = ((StructuralNode) node).getTitle();
+                }
+                if (text != null) {
+                    result.references.put(reference.getKey(), text);
+                }
+            }
+        }
+    }
+
+    /**
+     * Forwards messages from chapters in order, except for references resolved in other chapters.
+     */
+    private void reportLogRecords(List<ChapterResult> results, Map<String, String> references) {
+        for (ChapterResult result : results) {
+            for (LogRecord logRecord : result.logRecords) {
+                final String message = logRecord.getMessage();
+                if (logRecord.getSeverity() == Severity.INFO && message.startsWith(INVALID_REFERENCE_MESSAGE)
+                    && references.containsKey(message.substring(INVALID_REFERENCE_MESSAGE.length()))) {
+                    continue;
+                }
+                logHandler.log(logRecord);
+            }
+        }
+    }
+
+    private static String outline(BookStructure structure, List<ChapterResult> results) {
+        final List<String> lines = new ArrayList<>(structure.getLines());
+        for (int i = results.size() - 1; i >= 0; i--) {
+            final ChapterResult result = results.get(i);
+            final List<String> replacement = new ArrayList<>();
+            // outline levels are already offset
+            replacement.add("");
+            replacement.add(":leveloffset: 0");
+            replacement.addAll(result.outline);
+            replacement.add("");
+            replacement.add(":leveloffset: " + result.chapter.getDocumentLevelOffset());
+            replacement.add("");
+            final int lineIndex = result.chapter.getLineIndex();
+            lines.remove(lineIndex);
+            lines.addAll(lineIndex, replacement);
+        }
+        return String.join("\n", lines);
+    }
+
+    /**
+     * Converts the outline, returning the result.
+     */
+    private String convertOutline(File master, Options options, String outline) {
+        final Map<String, Object> outlineOptions = outlineOptions(master, options);
+        outlineOptions.put(Options.STANDALONE, options.map().getOrDefault(Options.STANDALONE, true));
+        return asciidoctor.convert(outline, copy(options, outlineOptions));
+    }
+
+    /**
+     * Converts the outline to the output file.
+     */
+    private void convertOutline(File master, Options options, String outline, File outputFile) {
+        final Map<String, Object> outlineOptions = outlineOptions(master, options);
+        outlineOptions.put(Options.TO_DIR, outputFile.getParent());
+        outlineOptions.put(Options.TO_FILE, outputFile.getAbsolutePath());
+        outlineOptions.put(Options.MKDIRS, true);
+        asciidoctor.convert(outline, copy(options, outlineOptions));
+    }
+
+    private static Map<String, Object> outlineOptions(File master, Options options) {
+        final Map<String, Object> outlineOptions = new HashMap<>();
+        outlineOptions.put(Options.ATTRIBUTES, fileAttributes(master, attributes(options)));
+        // converting from a String requires an absolute base directory
+        outlineOptions.put(Options.BASEDIR, baseDir(master, options));
+        return outlineOptions;
+    }
+
+    private static String stitch(String converted, List<ChapterResult> results, Map<String, String> references) {
+        final Matcher placeholder = PLACEHOLDER.matcher(converted);
+        final StringBuilder stitched = new StringBuilder(converted.length());
+        while (placeholder.find()) {
+            final ChapterResult result = results.get(Integer.parseInt(placeholder.group(1)));
+            final String body = resolveReferences(result.bodies.get(Integer.parseInt(placeholder.group(2))), references);
+            placeholder.appendReplacement(stitched, Matcher.quoteReplacement(body));
+        }
+        placeholder.appendTail(stitched);
+
+        final Matcher title = TITLE_PLACEHOLDER.matcher(stitched);
+        final StringBuilder titled = new StringBuilder(stitched.length());
+        while (title.find()) {
+            final ChapterResult result = results.get(Integer.parseInt(title.group(1)));
+            title.appendReplacement(titled, Matcher.quoteReplacement(result.titles.get(Integer.parseInt(title.group(2)))));
+        }
+        title.appendTail(titled);
+
+        final String footnotes = footnotes(results);
+        if (!footnotes.isEmpty()) {
+            int position = titled.indexOf("<div id=\"footer\">");
+            if (position < 0) {
+                position = titled.indexOf("</body>");
+            }
+            titled.insert(position < 0 ? titled.length() : position, footnotes);
+        }
+        return titled.toString();
+    }
+
+    private static String resolveReferences(String body, Map<String, String> references) {
+        final Matcher reference = UNRESOLVED_REFERENCE.matcher(body);
+        final StringBuilder resolved = new StringBuilder(body.length());
+        while (reference.find()) {
+            final String text = references.get(reference.group(1));
+            final String replacement = text == null
+                ? reference.group()
+                : "<a href=\"#" + reference.group(1) + "\">" + text + "</a>";
+            reference.appendReplacement(resolved, Matcher.quoteReplacement(replacement));
+        }
+        reference.appendTail(resolved);
+        return resolved.toString();
+    }
+
+    /**
+     * Renders the footnotes the same way the html5 converter does at the end of a document.
+     */
+    private static String footnotes(List<ChapterResult> results) {
+        final StringBuilder footnotes = new StringBuilder();
+        for (ChapterResult result : results) {
+            result.footnotes.forEach((index, text) -> footnotes.append("<div class=\"footnote\" id=\"_footnotedef_").append(index).append("\">\n")
+                .append("<a href=\"#_footnoteref_").append(index).append("\">").append(index).append("</a>. ").append(text).append('\n')
+                .append("</div>\n"));
+        }
+        if (footnotes.length() == 0) {
+            return "";
+        }
+        return "<div id=\"footnotes\">\n<hr>\n" + footnotes + "</div>\n";
+    }
+
+    /**
+     * Returns the attributes from the master's header, soft set so that chapters can override them as in the master.
+     */
+    private static Map<String, Object> sharedAttributes(BookStructure structure, Document header, Options options) {
+        final Map<String, Object> attributes = new HashMap<>();
+        for (String name : structure.getHeaderAttributes()) {
+            final Object value = header.getAttribute(name);
+            if (value != null) {
+                attributes.put(name, value + "@");
+            }
+        }
+        for (String name : structure.getUnsetHeaderAttributes()) {
+            attributes.put(name + "!", "");
+        }
+        final Object doctype = header.getAttribute("doctype");
+        if (doctype != null && options.map().get(Options.DOCTYPE) == null) {
+            attributes.put("doctype", doctype + "@");
+        }
+        return attributes;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Options copy(Options options, Map<String, Object> overrides) {
+        final Options copy = Options.builder().build();
+        for (Map.Entry<String, Object> option : options.map().entrySet()) {
+            copy.setOption(option.getKey(), option.getValue());
+        }
+        for (Map.Entry<String, Object> option : overrides.entrySet()) {
+            copy.setOption(option.getKey(), option.getValue());
+        }
+        copy.setOption(Options.TO_FILE, overrides.getOrDefault(Options.TO_FILE, false));
+        return copy;
+    }
+
+    private static List<ChapterResult> join(List<CompletableFuture<ChapterResult>> conversions) {
+        final List<ChapterResult> results = new ArrayList<>();
+        for (CompletableFuture<ChapterResult> conversion : conversions) {
+            try {
+                results.add(conversion.join());
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+        return results;
+    }
+
+    private static class ChapterResult {
+        final int index;
+        final BookStructure.Chapter chapter;
+        final List<LogRecord> logRecords;
+        // outline with placeholders for the contents of each section
+        final List<String> outline = new ArrayList<>();
+        final Map<Integer, String> bodies = new HashMap<>();
+        final List<String> titles = new ArrayList<>();
+        final Map<String, String> references = new HashMap<>();
+        final Map<Long, String> footnotes = new LinkedHashMap<>();
+        final Map<String, Integer> counters = new HashMap<>();
+        boolean hasDocumentHeader;
+        boolean converted;
+        long millis;
+
+        ChapterResult(int index, BookStructure.Chapter chapter, List<LogRecord> logRecords) {
+            this.index = index;
+            this.chapter = chapter;
+            this.logRecords = logRecords;
+        }
+
+        /**
+         * Continues footnote numbers from previous chapters, in the contents, titles and footnotes.
+         */
+        void renumberFootnotes(int offset) {
+            if (offset == 0 || footnotes.isEmpty()) {
+                return;
+            }
+            bodies.replaceAll((placeholder, body) -> renumberFootnotes(body, offset));
+            titles.replaceAll(title -> renumberFootnotes(title, offset));
+            final Map<Long, String> renumbered = new LinkedHashMap<>();
+            footnotes.forEach((index, text) -> renumbered.put(index + offset, text));
+            footnotes.clear();
+            footnotes.putAll(renumbered);
+        }
+
+        private static String renumberFootnotes(String html, int offset) {
+            return replaceNumbers(replaceNumbers(html, FOOTNOTE_ID, offset), FOOTNOTE_LINK_TEXT, offset);
+        }
+
+        private static String replaceNumbers(String html, Pattern pattern, int offset) {
+            final Matcher number = pattern.matcher(html);
+            final StringBuilder replaced = new StringBuilder(html.length());
+            while (number.find()) {
+                final String suffix = number.groupCount() > 2 ? number.group(3) : "";
+                number.appendReplacement(replaced, Matcher.quoteReplacement(number.group(1) + (Integer.parseInt(number.group(2)) + offset) + suffix));
+            }
+            number.appendTail(replaced);
+            return replaced.toString();
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package org.asciidoctor.maven.book;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.asciidoctor.maven.process.IncludeScanner;
+
+/**
+ * Finds the chapters of a master document: the files included at the top level
+ * of its body, that is, outside of the header, delimited blocks and conditionals.
+ * <p>
+ * Only plain includes, optionally with a {@code leveloffset}, are considered chapters.
+ * Includes selecting lines or tags, with unresolved attributes or pointing to
+ * missing files are left for Asciidoctor to process as part of the master document.
+ *
+ * @since 3.2.1
+ */
+final class BookStructure {
+
+    private static final Pattern ATTRIBUTE_ENTRY = Pattern.compile("^:(!?)(\\w[\\w-]*)(!?):.*$");
+    private static final Pattern LEVEL_OFFSET = Pattern.compile("^leveloffset=([+-]?)(\\d+)$");
+    private static final Pattern LEVEL_OFFSET_ENTRY = Pattern.compile("^:leveloffset(!?):(?:\\s+([+-]?)(\\d+))?\\s*$");
+    private static final Pattern ATTRIBUTE_REFERENCE = Pattern.compile("\\{([\\w-]+)}");
+    private static final Pattern DELIMITER = Pattern.compile("^(-{4,}|\\.{4,}|={4,}|\\*{4,}|_{4,}|\\+{4,}|/{4,}|--|[|,:!]={3,}|```.*)$");
+    private static final Pattern CONDITIONAL_START = Pattern.compile("^(?:(?:ifdef|ifndef)::[^\\[]*\\[]|ifeval::\\[.*])$");
+    private static final Pattern CONDITIONAL_END = Pattern.compile("^endif::[^\\[]*\\[]$");
+
+    private final List<String> lines;
+    private final List<String> headerAttributes;
+    private final List<String> unsetHeaderAttributes;
+    private final List<Chapter> chapters;
+
+    private BookStructure(List<String> lines, List<String> headerAttributes, List<String> unsetHeaderAttributes, List<Chapter> chapters) {
+        this.lines = lines;
+        this.headerAttributes = headerAttributes;
+        this.unsetHeaderAttributes = unsetHeaderAttributes;
+        this.chapters = chapters;
+    }
+
+    /**
+     * Scans a master document.
+     *
+     * @param lines             master document lines
+     * @param baseDir           directory includes are resolved against
+     * @param attributeResolver returns the value of an attribute defined in the header, or {@literal null}
+     * @return master document structure
+     */
+    static BookStructure parse(List<String> lines, File baseDir, Function<String, String> attributeResolver) {
+        final List<Chapter> chapters = new ArrayList<>();
+        final Deque<String> delimiters = new ArrayDeque<>();
+        int conditionals = 0;
+        int levelOffset = 0;
+
+        final int bodyStart = bodyStart(lines);
+        final List<String> headerAttributes = new ArrayList<>();
+        final List<String> unsetHeaderAttributes = new ArrayList<>();
+        for (String line : lines.subList(0, bodyStart)) {
+            final Matcher attributeEntry = ATTRIBUTE_ENTRY.matcher(line);
+            if (attributeEntry.matches()) {
+                final boolean unset = !attributeEntry.group(1).isEmpty() || !attributeEntry.group(3).isEmpty();
+                (unset ? unsetHeaderAttributes : headerAttributes).add(attributeEntry.group(2));
+            }
+        }
+
+        for (int i = bodyStart; i < lines.size(); i++) {
+            final String line = lines.get(i);
+
+            if (!delimiters.isEmpty() && line.equals(closingDelimiter(delimiters.peek()))) {
+                delimiters.pop();
+                continue;
+            }
+            if (!delimiters.isEmpty() && isVerbatim(delimiters.peek())) {
+                continue;
+            }
+            if (DELIMITER.matcher(line).matches()) {
+                delimiters.push(line);
+                continue;
+            }
+            if (CONDITIONAL_START.matcher(line).matches()) {
+                conditionals++;
+                continue;
+            }
+            if (CONDITIONAL_END.matcher(line).matches()) {
+                conditionals = Math.max(0, conditionals - 1);
+                continue;
+            }
+            if (!delimiters.isEmpty() || conditionals > 0) {
+                continue;
+            }
+
+            final Matcher levelOffsetEntry = LEVEL_OFFSET_ENTRY.matcher(line);
+            if (levelOffsetEntry.matches()) {
+                levelOffset = applyLevelOffset(levelOffset, levelOffsetEntry.group(1).isEmpty() ? levelOffsetEntry.group(2) : null,
+                    levelOffsetEntry.group(3));
+                continue;
+            }
+
+            final Chapter chapter = toChapter(i, line, levelOffset, baseDir, attributeResolver);
+            if (chapter != null) {
+                chapters.add(chapter);
+            }
+        }
+        return new BookStructure(lines, headerAttributes, unsetHeaderAttributes, chapters);
+    }
+
+    /**
+     * Returns the index of the first line after the header, chapters are never found in the header.
+     */
+    private static int bodyStart(List<String> lines) {
+        int i = 0;
+        while (i < lines.size() && (lines.get(i).startsWith("//") || lines.get(i).startsWith(":"))) {
+            i++;
+        }
+        if (i < lines.size() && lines.get(i).startsWith("= ")) {
+            while (i < lines.size() && !lines.get(i).trim().isEmpty()) {
+                i++;
+            }
+        }
+        return i;
+    }
+
+    private static Chapter toChapter(int lineIndex, String line, int levelOffset, File baseDir, Function<String, String> attributeResolver) {
+        final IncludeScanner.Include include = IncludeScanner.parse(line);
+        if (include == null) {
+            return null;
+        }
+
+        final String attributes = include.getAttributes().trim();
+        int chapterLevelOffset = levelOffset;
+        if (!attributes.isEmpty()) {
+            final Matcher levelOffsetAttribute = LEVEL_OFFSET.matcher(attributes);
+            if (!levelOffsetAttribute.matches()) {
+                return null;
+            }
+            chapterLevelOffset = applyLevelOffset(levelOffset, levelOffsetAttribute.group(1), levelOffsetAttribute.group(2));
+        }
+
+        final String target = resolveAttributes(include.getTarget(), attributeResolver);
+        if (target == null || IncludeScanner.isUri(target)) {
+            return null;
+        }
+        final File file = IncludeScanner.resolve(baseDir, target);
+        if (!file.isFile()) {
+            return null;
+        }
+        return new Chapter(lineIndex, file, chapterLevelOffset, levelOffset);
+    }
+
+    private static int applyLevelOffset(int current, String sign, String value) {
+        if (value == null) {
+            return 0;
+        }
+        final int offset = Integer.parseInt(value);
+        if (sign == null || sign.isEmpty()) {
+            return offset;
+        }
+        return sign.equals("+") ? current + offset : current - offset;
+    }
+
+    private static String resolveAttributes(String text, Function<String, String> attributeResolver) {
+        final Matcher reference = ATTRIBUTE_REFERENCE.matcher(text);
+        final StringBuilder resolved = new StringBuilder();
+        while (reference.find()) {
+            final String value = attributeResolver.apply(reference.group(1));
+            if (value == null) {
+                return null;
+            }
+            reference.appendReplacement(resolved, Matcher.quoteReplacement(value));
+        }
+        reference.appendTail(resolved);
+        return resolved.toString();
+    }
+
+    private static String closingDelimiter(String openingDelimiter) {
+        return openingDelimiter.startsWith("```") ? "```" : openingDelimiter;
+    }
+
+    private static boolean isVerbatim(String delimiter) {
+        final char type = delimiter.charAt(0);
+        return type == '-' && delimiter.length() > 2 || type == '.' || type == '+' || type == '/' || type == '`';
+    }
+
+    List<String> getLines() {
+        return lines;
+    }
+
+    /**
+     * Names of the attributes set in the header.
+     */
+    List<String> getHeaderAttributes() {
+        return headerAttributes;
+    }
+
+    /**
+     * Names of the attributes unset in the header.
+     */
+    List<String> getUnsetHeaderAttributes() {
+        return unsetHeaderAttributes;
+    }
+
+    List<Chapter> getChapters() {
+        return chapters;
+    }
+
+    /**
+     * Include of a chapter in the master document.
+     */
+    static final class Chapter {
+
+        private final int lineIndex;
+        private final File file;
+        private final int levelOffset;
+        private final int documentLevelOffset;
+
+        Chapter(int lineIndex, File file, int levelOffset, int documentLevelOffset) {
+            this.lineIndex = lineIndex;
+            this.file = file;
+            this.levelOffset = levelOffset;
+            this.documentLevelOffset = documentLevelOffset;
+        }
+
+        int getLineIndex() {
+            return lineIndex;
+        }
+
+        File getFile() {
+            return file;
+        }
+
+        /**
+         * Absolute level offset the chapter is included with.
+         */
+        int getLevelOffset() {
+            return levelOffset;
+        }
+
+        /**
+         * Level offset set in the master document where the chapter is included.
+         */
+        int getDocumentLevelOffset() {
+            return documentLevelOffset;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package org.asciidoctor.maven.fork;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class Data Sharing (AppCDS) archive of the classes loaded by conversion workers.
+ * <p>
+ * Archives are created by a worker JVM converting training documents with
+ * {@code -XX:ArchiveClassesAtExit}, and used by later workers and daemons with
+ * {@code -XX:SharedArchiveFile} to avoid loading and verifying JRuby and AsciidoctorJ
+ * classes again.
+ * Archives are only valid for the JVM and classpath that created them, so they are stored
+ * under a hash of both and ignored when any of them changes.
+ *
+ * @since 3.2.1
+ */
+public final class CdsArchive {
+
+    /**
+     * Directory where archives are stored.
+     */
+    public static final Path DIRECTORY = Path.of(System.getProperty("user.home"), ".asciidoctor-maven", "cds");
+
+    // -XX:ArchiveClassesAtExit is available since Java 13
+    private static final int MIN_JAVA_VERSION = 13;
+    private static final long EXIT_TIMEOUT_MILLIS = 120_000;
+    private static final String TRAINING_DOCUMENT = "cds-training.adoc";
+
+    private CdsArchive() {
+    }
+
+    /**
+     * Whether the current JVM can create and use archives.
+     *
+     * @return {@literal true} if archives are supported
+     */
+    public static boolean isSupported() {
+        return Runtime.version().feature() >= MIN_JAVA_VERSION;
+    }
+
+    /**
+     * Returns the archive file for a classpath in the current JVM.
+     *
+     * @param classpath worker classpath
+     * @return archive file, it may not exist
+     */
+    public static Path file(List<String> classpath) {
+        final String key = String.join("\n",
+            System.getProperty("java.home"),
+            System.getProperty("java.vm.version"),
+            String.join(File.pathSeparator, classpath));
+        return DIRECTORY.resolve(ForkConfiguration.sha256(key) + ".jsa");
+    }
+
+    /**
+     * Returns the JVM arguments to use the archive of a worker configuration.
+     * Nothing is added when there is no archive, or when the configured JVM arguments
+     * already set class data sharing options.
+     *
+     * @param configuration worker configuration
+     * @return JVM arguments, empty if the archive cannot be used
+     */
+    static List<String> jvmArgs(ForkConfiguration configuration) {
+        if (!isSupported() || setsClassDataSharing(configuration.getJvmArgs())) {
+            return List.of();
+        }
+        final Path archive = file(configuration.getClasspath());
+        if (!Files.isRegularFile(archive)) {
+            return List.of();
+        }
+        // -Xshare:auto falls back to loading classes when the archive cannot be mapped
+        return List.of("-XX:SharedArchiveFile=" + archive, "-Xshare:auto");
+    }
+
+    private static boolean setsClassDataSharing(List<String> jvmArgs) {
+        for (String jvmArg : jvmArgs) {
+            if (jvmArg.startsWith("-Xshare") || jvmArg.contains("SharedArchiveFile") || jvmArg.contains("ArchiveClassesAtExit")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Creates the archive of a worker configuration, replacing the existing one.
+     * A worker converts the training document and the sources, then exits writing the archive.
+     * Conversion failures are ignored, since they do not prevent classes from being archived.
+     *
+     * @param configuration worker configuration
+     * @param sources       additional sources to convert
+     * @param options       Asciidoctor options, must contain only serializable values
+     * @param workDirectory directory for the training document
+     * @return created archive
+     * @throws IOException if the worker cannot be started or does not write the archive
+     */
+    public static Path create(ForkConfiguration configuration, List<File> sources, Map<String, Object> options, Path workDirectory) throws IOException {
+        Files.createDirectories(DIRECTORY);
+        final Path archive = file(configuration.getClasspath());
+        final Path trainingArchive = Files.createTempFile(DIRECTORY, "training-", ".jsa");
+        // the JVM refuses to overwrite files it did not create
+        Files.delete(trainingArchive);
+
+        final List<String> jvmArgs = new ArrayList<>(configuration.getJvmArgs());
+        jvmArgs.add("-XX:ArchiveClassesAtExit=" + trainingArchive);
+        final ForkConfiguration trainingConfiguration = withJvmArgs(configuration, jvmArgs);
+
+        try {
+            final List<File> trainingSources = new ArrayList<>();
+            trainingSources.add(trainingDocument(workDirectory));
+            trainingSources.addAll(sources);
+
+            final ForkedWorker worker = ForkedWorker.start(trainingConfiguration);
+            try {
+                for (File source : trainingSources) {
+                    worker.convert(source, options);
+                }
+            } finally {
+                if (!worker.stop(EXIT_TIMEOUT_MILLIS)) {
+                    throw new IOException("Conversion worker did not exit in " + EXIT_TIMEOUT_MILLIS + "ms");
+                }
+            }
+            if (!Files.isRegularFile(trainingArchive)) {
+                throw new IOException("Conversion worker did not write the CDS archive, see its output for details");
+            }
+            Files.move(trainingArchive, archive, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return archive;
+        } finally {
+            Files.deleteIfExists(trainingArchive);
+        }
+    }
+
+    /**
+     * Measures the time to start a worker and convert the training document.
+     *
+     * @param configuration worker configuration
+     * @param useArchive    whether to use the archive, if it exists
+     * @param options       Asciidoctor options, must contain only serializable values
+     * @param workDirectory directory for the training document
+     * @return elapsed time in milliseconds
+     * @throws IOException if the worker cannot be started
+     */
+    public static long measureStartup(ForkConfiguration configuration, boolean useArchive, Map<String, Object> options, Path workDirectory) throws IOException {
+        final List<String> jvmArgs = new ArrayList<>(configuration.getJvmArgs());
+        if (!useArchive) {
+            // keeps the JDK default archive, so that only the application classes differ
+            jvmArgs.add("-Xshare:auto");
+        }
+        final File trainingDocument = trainingDocument(workDirectory);
+
+        final long start = System.nanoTime();
+        final ForkedWorker worker = ForkedWorker.start(withJvmArgs(configuration, jvmArgs));
+        try {
+            worker.convert(trainingDocument, options);
+        } finally {
+            worker.stop(EXIT_TIMEOUT_MILLIS);
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private static ForkConfiguration withJvmArgs(ForkConfiguration configuration, List<String> jvmArgs) {
+        return new ForkConfiguration(jvmArgs, configuration.getClasspath(), configuration.getGemPath(),
+            configuration.isEnableVerbose(), configuration.getRequires(), configuration.getExtensions());
+    }
+
+    private static File trainingDocument(Path workDirectory) throws IOException {
+        Files.createDirectories(workDirectory);
+        final Path document = workDirectory.resolve(TRAINING_DOCUMENT);
+        try (InputStream content = CdsArchive.class.getClassLoader().getResourceAsStream(TRAINING_DOCUMENT)) {
+            if (content == null) {
+                throw new IOException(TRAINING_DOCUMENT + " not found in classpath");
+            }
+            Files.copy(content, document, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return document.toFile();
+    }
+}
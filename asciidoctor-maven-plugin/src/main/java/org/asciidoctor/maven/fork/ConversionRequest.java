@@ -0,0 +1,55 @@
+package org.asciidoctor.maven.fork;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.asciidoctor.Options;
+
+/**
+ * Request to convert a source file in a worker.
+ *
+ * @since 3.2.1
+ */
+final class ConversionRequest implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final File source;
+    private final HashMap<String, Object> options;
+
+    ConversionRequest(File source, Map<String, Object> options) {
+        this.source = source.getAbsoluteFile();
+        this.options = new HashMap<>(options);
+        // workers may run in a different working directory
+        absolutePath(Options.TO_DIR);
+        absolutePath(Options.BASEDIR);
+        final Object templateDirs = this.options.get(Options.TEMPLATE_DIRS);
+        if (templateDirs instanceof Collection) {
+            final List<String> absoluteTemplateDirs = new ArrayList<>();
+            for (Object templateDir : (Collection<?>) templateDirs) {
+                absoluteTemplateDirs.add(new File(templateDir.toString()).getAbsolutePath());
+            }
+            this.options.put(Options.TEMPLATE_DIRS, absoluteTemplateDirs);
+        }
+    }
+
+    private void absolutePath(String option) {
+        final Object path = options.get(option);
+        if (path instanceof String) {
+            options.put(option, new File((String) path).getAbsolutePath());
+        }
+    }
+
+    File getSource() {
+        return source;
+    }
+
+    Map<String, Object> getOptions() {
+        return options;
+    }
+}
@@ -0,0 +1,37 @@
+package org.asciidoctor.maven.fork;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of a worker operation: the messages logged by Asciidoctor and
+ * the description of the error if it failed.
+ *
+ * @since 3.2.1
+ */
+public final class ConversionResult implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<ForkedLogRecord> logRecords;
+    private final String failure;
+
+    ConversionResult(List<ForkedLogRecord> logRecords, String failure) {
+        this.logRecords = new ArrayList<>(logRecords);
+        this.failure = failure;
+    }
+
+    public List<ForkedLogRecord> getLogRecords() {
+        return logRecords;
+    }
+
+    /**
+     * Error description.
+     *
+     * @return error description, {@literal null} if the operation succeeded
+     */
+    public String getFailure() {
+        return failure;
+    }
+}
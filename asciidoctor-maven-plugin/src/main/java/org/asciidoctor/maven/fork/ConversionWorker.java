@@ -0,0 +1,232 @@
+package org.asciidoctor.maven.fork;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.asciidoctor.Asciidoctor;
+import org.asciidoctor.Options;
+import org.asciidoctor.jruby.AsciidoctorJRuby;
+import org.asciidoctor.maven.extensions.AsciidoctorJExtensionRegistry;
+import org.asciidoctor.maven.extensions.ExtensionRegistry;
+
+/**
+ * Entry point of the worker JVMs started in fork and daemon modes.
+ * <p>
+ * In fork mode, connects to the Maven process on the local port passed as argument,
+ * presents the token read from the standard input, and converts files until the connection is closed.
+ * In daemon mode, listens on a local port published in a registry file and serves
+ * any number of Maven processes, until no connection is received for the idle timeout.
+ * <p>
+ * Asciidoctor is initialized with the {@link ForkConfiguration} received in the first connection,
+ * later connections must send the same configuration.
+ * Must not depend on Maven classes, since these are not available in the worker classpath.
+ *
+ * @since 3.2.1
+ */
+public class ConversionWorker {
+
+    static final String DAEMON_ARGUMENT = "--daemon";
+
+    private static final int TOKEN_TIMEOUT_MILLIS = 2_000;
+    private static final Logger LOGGER = Logger.getLogger(ConversionWorker.class.getName());
+
+    // Conversions are serialized, the same as in the Maven process
+    private final Object lock = new Object();
+    private final List<ForkedLogRecord> logRecords = new ArrayList<>();
+
+    private ForkConfiguration configuration;
+    private Asciidoctor asciidoctor;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 3 && DAEMON_ARGUMENT.equals(args[0])) {
+            new ConversionWorker().serve(Path.of(args[1]), Long.parseLong(args[2]));
+            // JRuby may leave non-daemon threads running
+            System.exit(0);
+        } else {
+            final int port = Integer.parseInt(args[0]);
+            final String token = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)).readLine();
+            try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+                WorkerProtocol.writeToken(socket.getOutputStream(), token);
+                new ConversionWorker().handle(socket, null);
+            }
+            // exit normally, so that the JVM runs its exit tasks, such as writing a CDS archive
+            System.exit(0);
+        }
+    }
+
+    private void serve(Path registryFile, long idleTimeoutMillis) throws IOException {
+        final String token = WorkerProtocol.newToken();
+        final AtomicInteger activeConnections = new AtomicInteger();
+
+        try (ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            serverSocket.setSoTimeout((int) Math.min(idleTimeoutMillis, Integer.MAX_VALUE));
+            DaemonRegistry.write(registryFile, serverSocket.getLocalPort(), token);
+
+            while (true) {
+                final Socket socket;
+                try {
+                    socket = serverSocket.accept();
+                } catch (SocketTimeoutException e) {
+                    if (activeConnections.get() == 0) {
+                        return;
+                    }
+                    continue;
+                }
+
+                activeConnections.incrementAndGet();
+                final Thread connection = new Thread(() -> {
+                    try (socket) {
+                        handle(socket, token);
+                    } catch (Exception e) {
+                        // the daemon output is written to its log file, next to the registry file
+                        LOGGER.log(Level.WARNING, "Connection failed: " + e.getMessage(), e);
+                    } finally {
+                        activeConnections.decrementAndGet();
+                    }
+                }, "asciidoctor-daemon-connection");
+                connection.setDaemon(true);
+                connection.start();
+            }
+        } finally {
+            Files.deleteIfExists(registryFile);
+        }
+    }
+
+    private void handle(Socket socket, String token) throws IOException {
+        // daemon ports are reachable by any local user, nothing is deserialized before the token is checked
+        if (token != null) {
+            socket.setSoTimeout(TOKEN_TIMEOUT_MILLIS);
+            if (!WorkerProtocol.readToken(socket.getInputStream(), token)) {
+                return;
+            }
+            socket.setSoTimeout(0);
+        }
+
+        final ObjectOutputStream output = new ObjectOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        output.flush();
+        final ObjectInputStream input = WorkerProtocol.objectInput(new BufferedInputStream(socket.getInputStream()));
+
+        final ConversionResult initialization;
+        try {
+            initialization = initialize((ForkConfiguration) input.readObject());
+        } catch (ClassNotFoundException | InvalidClassException | ClassCastException e) {
+            reply(output, invalidRequest(e));
+            return;
+        }
+        reply(output, initialization);
+        if (initialization.getFailure() != null) {
+            return;
+        }
+
+        while (true) {
+            final ConversionRequest request;
+            try {
+                request = (ConversionRequest) input.readObject();
+            } catch (EOFException e) {
+                // Maven process finished or discarded this worker
+                return;
+            } catch (ClassNotFoundException | InvalidClassException | ClassCastException e) {
+                // the stream cannot be trusted after an unexpected object, the client reports the failure
+                reply(output, invalidRequest(e));
+                return;
+            }
+            reply(output, convert(request));
+        }
+    }
+
+    private static ConversionResult invalidRequest(Exception exception) {
+        return new ConversionResult(Collections.emptyList(), "Invalid request: " + describe(exception));
+    }
+
+    private ConversionResult initialize(ForkConfiguration requested) {
+        synchronized (lock) {
+            if (asciidoctor == null) {
+                try {
+                    asciidoctor = create(requested);
+                    configuration = requested;
+                } catch (Exception e) {
+                    return new ConversionResult(Collections.emptyList(), describe(e));
+                }
+            } else if (!configuration.equals(requested)) {
+                return new ConversionResult(Collections.emptyList(), "Worker was initialized with a different configuration");
+            }
+            return new ConversionResult(Collections.emptyList(), null);
+        }
+    }
+
+    private Asciidoctor create(ForkConfiguration configuration) {
+        final String gemPath = configuration.getGemPath();
+        final Asciidoctor asciidoctor = gemPath == null
+            ? AsciidoctorJRuby.Factory.create()
+            : AsciidoctorJRuby.Factory.create(File.separatorChar == '\\' ? gemPath.replaceAll("\\\\", "/") : gemPath);
+
+        if (configuration.isEnableVerbose()) {
+            asciidoctor.requireLibrary("enable_verbose.rb");
+        }
+        asciidoctor.requireLibraries(configuration.getRequires());
+
+        final ExtensionRegistry extensionRegistry = new AsciidoctorJExtensionRegistry(asciidoctor);
+        for (ForkConfiguration.Extension extension : configuration.getExtensions()) {
+            extensionRegistry.register(extension.getClassName(), extension.getBlockName());
+        }
+
+        asciidoctor.registerLogHandler(logRecord -> logRecords.add(ForkedLogRecord.from(logRecord)));
+        // messages are reported by the Maven process
+        Logger.getLogger("asciidoctor").setUseParentHandlers(false);
+        return asciidoctor;
+    }
+
+    private ConversionResult convert(ConversionRequest request) {
+        synchronized (lock) {
+            logRecords.clear();
+            String failure = null;
+            try {
+                final Options options = Options.builder().build();
+                for (Map.Entry<String, Object> option : request.getOptions().entrySet()) {
+                    options.setOption(option.getKey(), option.getValue());
+                }
+                asciidoctor.convertFile(request.getSource(), options);
+            } catch (Exception e) {
+                failure = describe(e);
+            }
+            return new ConversionResult(logRecords, failure);
+        }
+    }
+
+    private static void reply(ObjectOutputStream output, ConversionResult result) throws IOException {
+        output.writeObject(result);
+        output.flush();
+        // avoid keeping references to sent objects
+        output.reset();
+    }
+
+    private static String describe(Exception exception) {
+        final StringWriter stackTrace = new StringWriter();
+        exception.printStackTrace(new PrintWriter(stackTrace));
+        return stackTrace.toString();
+    }
+}
@@ -0,0 +1,80 @@
+package org.asciidoctor.maven.fork;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Properties;
+
+/**
+ * Reads and writes the file where a daemon publishes how to connect to it.
+ * The file is only readable by the current user, since the token grants access to the daemon.
+ *
+ * @since 3.2.1
+ */
+final class DaemonRegistry {
+
+    private static final String PORT = "port";
+    private static final String TOKEN = "token";
+
+    private final int port;
+    private final String token;
+
+    private DaemonRegistry(int port, String token) {
+        this.port = port;
+        this.token = token;
+    }
+
+    static void write(Path registryFile, int port, String token) throws IOException {
+        final Properties properties = new Properties();
+        properties.setProperty(PORT, String.valueOf(port));
+        properties.setProperty(TOKEN, token);
+
+        final Path tempFile = Files.createTempFile(registryFile.getParent(), "daemon", ".tmp");
+        try {
+            Files.setPosixFilePermissions(tempFile, PosixFilePermissions.fromString("rw-------"));
+        } catch (UnsupportedOperationException e) {
+            // not a POSIX file system
+        }
+        try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+            properties.store(writer, null);
+        }
+        // clients must never read a partially written file
+        Files.move(tempFile, registryFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads a registry file.
+     *
+     * @param registryFile registry file
+     * @return registry contents, or {@literal null} if no daemon is registered
+     * @throws IOException if the file cannot be read
+     */
+    static DaemonRegistry read(Path registryFile) throws IOException {
+        final Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(registryFile, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        final String port = properties.getProperty(PORT);
+        final String token = properties.getProperty(TOKEN);
+        if (port == null || token == null) {
+            return null;
+        }
+        return new DaemonRegistry(Integer.parseInt(port), token);
+    }
+
+    int getPort() {
+        return port;
+    }
+
+    String getToken() {
+        return token;
+    }
+}
@@ -0,0 +1,181 @@
+package org.asciidoctor.maven.fork;
+
+import java.io.File;
+import java.io.Serializable;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Configuration of a conversion worker JVM.
+ * Workers with equal configuration are interchangeable and can be re-used.
+ *
+ * @since 3.2.1
+ */
+public final class ForkConfiguration implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> jvmArgs;
+    private final List<String> classpath;
+    private final String gemPath;
+    private final boolean enableVerbose;
+    private final List<String> requires;
+    private final List<Extension> extensions;
+
+    public ForkConfiguration(List<String> jvmArgs,
+                             List<String> classpath,
+                             String gemPath,
+                             boolean enableVerbose,
+                             List<String> requires,
+                             List<Extension> extensions) {
+        this.jvmArgs = new ArrayList<>(jvmArgs);
+        this.classpath = new ArrayList<>(classpath);
+        this.gemPath = gemPath;
+        this.enableVerbose = enableVerbose;
+        this.requires = new ArrayList<>(requires);
+        this.extensions = new ArrayList<>(extensions);
+    }
+
+    /**
+     * Returns the classpath of the plugin, to be used to start workers
+     * with the same Asciidoctor, JRuby and extensions versions.
+     *
+     * @return classpath entries
+     */
+    public static List<String> pluginClasspath() {
+        final ClassLoader classLoader = ForkConfiguration.class.getClassLoader();
+        if (classLoader instanceof URLClassLoader) {
+            final List<String> classpath = new ArrayList<>();
+            for (URL url : ((URLClassLoader) classLoader).getURLs()) {
+                try {
+                    classpath.add(Paths.get(url.toURI()).toString());
+                } catch (URISyntaxException | IllegalArgumentException e) {
+                    classpath.add(url.getPath());
+                }
+            }
+            return classpath;
+        }
+        return Arrays.asList(System.getProperty("java.class.path").split(File.pathSeparator));
+    }
+
+    /**
+     * Returns a hash of the configuration, to identify compatible daemons.
+     *
+     * @return hexadecimal SHA-256 hash
+     */
+    public String fingerprint() {
+        final String value = String.join("\n",
+            String.join(" ", jvmArgs),
+            String.join(File.pathSeparator, classpath),
+            String.valueOf(gemPath),
+            String.valueOf(enableVerbose),
+            String.join(",", requires),
+            extensions.stream()
+                .map(extension -> extension.getClassName() + ":" + extension.getBlockName())
+                .collect(Collectors.joining(",")));
+        return sha256(value);
+    }
+
+    static String sha256(String value) {
+        try {
+            final byte[] hash = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            final StringBuilder hex = new StringBuilder();
+            for (byte b : hash) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is required in all Java platforms
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public List<String> getJvmArgs() {
+        return jvmArgs;
+    }
+
+    public List<String> getClasspath() {
+        return classpath;
+    }
+
+    public String getGemPath() {
+        return gemPath;
+    }
+
+    public boolean isEnableVerbose() {
+        return enableVerbose;
+    }
+
+    public List<String> getRequires() {
+        return requires;
+    }
+
+    public List<Extension> getExtensions() {
+        return extensions;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ForkConfiguration that = (ForkConfiguration) o;
+        return enableVerbose == that.enableVerbose
+            && jvmArgs.equals(that.jvmArgs)
+            && classpath.equals(that.classpath)
+            && Objects.equals(gemPath, that.gemPath)
+            && requires.equals(that.requires)
+            && extensions.equals(that.extensions);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(jvmArgs, classpath, gemPath, enableVerbose, requires, extensions);
+    }
+
+    /**
+     * Extension to register in the worker.
+     */
+    public static final class Extension implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String className;
+        private final String blockName;
+
+        public Extension(String className, String blockName) {
+            this.className = className;
+            this.blockName = blockName;
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        public String getBlockName() {
+            return blockName;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Extension that = (Extension) o;
+            return Objects.equals(className, that.className) && Objects.equals(blockName, that.blockName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(className, blockName);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.asciidoctor.maven.fork;
+
+import java.io.Serializable;
+
+import org.asciidoctor.ast.Cursor;
+import org.asciidoctor.log.LogRecord;
+import org.asciidoctor.log.Severity;
+
+/**
+ * Serializable copy of an Asciidoctor {@link LogRecord}, to send it from a worker to Maven.
+ *
+ * @since 3.2.1
+ */
+public final class ForkedLogRecord implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Severity severity;
+    private final String message;
+    private final ForkedCursor cursor;
+    private final String sourceFileName;
+    private final String sourceMethodName;
+
+    private ForkedLogRecord(LogRecord logRecord) {
+        this.severity = logRecord.getSeverity();
+        this.message = logRecord.getMessage();
+        this.cursor = logRecord.getCursor() == null ? null : new ForkedCursor(logRecord.getCursor());
+        this.sourceFileName = logRecord.getSourceFileName();
+        this.sourceMethodName = logRecord.getSourceMethodName();
+    }
+
+    static ForkedLogRecord from(LogRecord logRecord) {
+        return new ForkedLogRecord(logRecord);
+    }
+
+    /**
+     * Re-creates the original {@link LogRecord}.
+     *
+     * @return log record
+     */
+    public LogRecord toLogRecord() {
+        return new LogRecord(severity, cursor, message, sourceFileName, sourceMethodName);
+    }
+
+    private static final class ForkedCursor implements Cursor, Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int lineNumber;
+        private final String path;
+        private final String dir;
+        private final String file;
+
+        ForkedCursor(Cursor cursor) {
+            this.lineNumber = cursor.getLineNumber();
+            this.path = cursor.getPath();
+            this.dir = cursor.getDir();
+            this.file = cursor.getFile();
+        }
+
+        @Override
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
+        @Override
+        public String getPath() {
+            return path;
+        }
+
+        @Override
+        public String getDir() {
+            return dir;
+        }
+
+        @Override
+        public String getFile() {
+            return file;
+        }
+    }
+}
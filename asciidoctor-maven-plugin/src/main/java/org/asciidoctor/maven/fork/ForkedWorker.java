@@ -0,0 +1,295 @@
+package org.asciidoctor.maven.fork;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Handle to a worker JVM running {@link ConversionWorker}, either started for
+ * the current build or as a daemon shared with other builds.
+ * Communication happens through a loopback socket, so that output from
+ * Asciidoctor or extensions does not interfere with it.
+ * Instances are not thread-safe, they are meant to be used by one thread at a time.
+ *
+ * @since 3.2.1
+ */
+public class ForkedWorker implements Closeable {
+
+    private static final int STARTUP_TIMEOUT_MILLIS = 120_000;
+    private static final int CONNECT_TIMEOUT_MILLIS = 2_000;
+    private static final long REGISTRY_POLL_MILLIS = 100;
+
+    private final ForkConfiguration configuration;
+    // null for daemons, which are not owned by the current build
+    private final Process process;
+    private final Socket socket;
+    private final ObjectOutputStream output;
+    private final ObjectInputStream input;
+
+    private boolean broken = false;
+
+    private ForkedWorker(ForkConfiguration configuration, Process process, Socket socket) throws IOException {
+        this.configuration = configuration;
+        this.process = process;
+        this.socket = socket;
+        this.output = new ObjectOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        this.output.flush();
+        this.input = WorkerProtocol.objectInput(new BufferedInputStream(socket.getInputStream()));
+    }
+
+    /**
+     * Starts a new worker JVM and initializes Asciidoctor in it.
+     * The worker receives a random token through its standard input, and must present it
+     * when connecting, before any object is exchanged.
+     *
+     * @param configuration worker configuration
+     * @return initialized worker
+     * @throws IOException if the worker cannot be started or initialized
+     */
+    static ForkedWorker start(ForkConfiguration configuration) throws IOException {
+        try (ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            final String token = WorkerProtocol.newToken();
+            final Process process = new ProcessBuilder(command(configuration, String.valueOf(serverSocket.getLocalPort())))
+                .redirectOutput(ProcessBuilder.Redirect.INHERIT)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+            // not passed as argument, since arguments are visible to other users
+            try (Writer tokenWriter = new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8)) {
+                tokenWriter.write(token + "\n");
+            } catch (IOException e) {
+                process.destroyForcibly();
+                throw e;
+            }
+
+            final ForkedWorker worker;
+            try {
+                worker = new ForkedWorker(configuration, process, acceptWorker(serverSocket, token));
+            } catch (IOException e) {
+                process.destroyForcibly();
+                throw e;
+            }
+
+            final ConversionResult result = worker.send(configuration);
+            if (result.getFailure() != null) {
+                worker.close();
+                throw new IOException("Conversion worker failed to initialize: " + result.getFailure());
+            }
+            return worker;
+        }
+    }
+
+    /**
+     * Accepts connections until one presents the token, other local processes may connect first.
+     */
+    private static Socket acceptWorker(ServerSocket serverSocket, String token) throws IOException {
+        final long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT_MILLIS;
+        while (true) {
+            final long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                throw new IOException("Conversion worker did not start in " + STARTUP_TIMEOUT_MILLIS + "ms");
+            }
+            serverSocket.setSoTimeout((int) remaining);
+            final Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (SocketTimeoutException e) {
+                throw new IOException("Conversion worker did not start in " + STARTUP_TIMEOUT_MILLIS + "ms", e);
+            }
+            try {
+                socket.setSoTimeout(CONNECT_TIMEOUT_MILLIS);
+                if (WorkerProtocol.readToken(socket.getInputStream(), token)) {
+                    socket.setSoTimeout(0);
+                    return socket;
+                }
+            } catch (IOException e) {
+                // not the worker
+            }
+            socket.close();
+        }
+    }
+
+    /**
+     * Connects to the daemon for the configuration, starting it if none is running.
+     * Daemons are identified by {@link ForkConfiguration#fingerprint()} and keep running
+     * after the build, until they do not receive connections for the idle timeout.
+     *
+     * @param configuration     worker configuration
+     * @param daemonsDirectory  directory where daemons publish their connection details and logs
+     * @param idleTimeoutMillis time after which a new daemon stops if it is not used
+     * @return worker connected to the daemon, closing it does not stop the daemon
+     * @throws IOException if the daemon cannot be started or is not compatible
+     */
+    public static ForkedWorker connectDaemon(ForkConfiguration configuration, Path daemonsDirectory, long idleTimeoutMillis) throws IOException {
+        Files.createDirectories(daemonsDirectory);
+        final String fingerprint = configuration.fingerprint();
+        final Path registryFile = daemonsDirectory.resolve(fingerprint + ".properties");
+
+        final ForkedWorker running = connectDaemon(configuration, registryFile);
+        if (running != null) {
+            return running;
+        }
+
+        final List<String> command = command(configuration,
+            ConversionWorker.DAEMON_ARGUMENT, registryFile.toString(), String.valueOf(idleTimeoutMillis));
+        final File logFile = daemonsDirectory.resolve(fingerprint + ".log").toFile();
+        new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(ProcessBuilder.Redirect.appendTo(logFile))
+            .start();
+
+        final long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            final ForkedWorker started = connectDaemon(configuration, registryFile);
+            if (started != null) {
+                return started;
+            }
+            try {
+                Thread.sleep(REGISTRY_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for conversion daemon", e);
+            }
+        }
+        throw new IOException("Conversion daemon did not start in " + STARTUP_TIMEOUT_MILLIS + "ms, see " + logFile);
+    }
+
+    private static ForkedWorker connectDaemon(ForkConfiguration configuration, Path registryFile) throws IOException {
+        final DaemonRegistry registry = DaemonRegistry.read(registryFile);
+        if (registry == null) {
+            return null;
+        }
+
+        final Socket socket = new Socket();
+        try {
+            socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), registry.getPort()), CONNECT_TIMEOUT_MILLIS);
+        } catch (IOException e) {
+            // stale registry from a daemon that did not stop cleanly
+            socket.close();
+            Files.deleteIfExists(registryFile);
+            return null;
+        }
+
+        final ForkedWorker worker;
+        try {
+            WorkerProtocol.writeToken(socket.getOutputStream(), registry.getToken());
+            worker = new ForkedWorker(configuration, null, socket);
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+        try {
+            final ConversionResult result = worker.send(configuration);
+            if (result.getFailure() != null) {
+                throw new IOException("Conversion daemon is not compatible: " + result.getFailure());
+            }
+            return worker;
+        } catch (IOException e) {
+            worker.close();
+            throw e;
+        }
+    }
+
+    private static List<String> command(ForkConfiguration configuration, String... arguments) {
+        final List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(configuration.getJvmArgs());
+        command.addAll(CdsArchive.jvmArgs(configuration));
+        command.add("-cp");
+        command.add(String.join(File.pathSeparator, configuration.getClasspath()));
+        command.add(ConversionWorker.class.getName());
+        command.addAll(Arrays.asList(arguments));
+        return command;
+    }
+
+    /**
+     * Converts a file in the worker.
+     *
+     * @param source  AsciiDoc source file
+     * @param options Asciidoctor options, must contain only serializable values
+     * @return messages logged during conversion and error if any
+     * @throws IOException if communication with the worker fails, the worker cannot be used anymore
+     */
+    public ConversionResult convert(File source, Map<String, Object> options) throws IOException {
+        return send(new ConversionRequest(source, options));
+    }
+
+    private ConversionResult send(Object request) throws IOException {
+        try {
+            output.writeObject(request);
+            output.flush();
+            output.reset();
+            return (ConversionResult) input.readObject();
+        } catch (IOException | ClassNotFoundException | RuntimeException e) {
+            broken = true;
+            throw e instanceof IOException ? (IOException) e : new IOException(e.getMessage(), e);
+        }
+    }
+
+    ForkConfiguration getConfiguration() {
+        return configuration;
+    }
+
+    boolean isUsable() {
+        return !broken && (process == null || process.isAlive());
+    }
+
+    /**
+     * Closes the connection and waits for the worker JVM to exit by itself.
+     *
+     * @param timeoutMillis maximum time to wait
+     * @return {@literal true} if the worker exited, otherwise it is destroyed
+     */
+    boolean stop(long timeoutMillis) {
+        broken = true;
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // worker exits when the connection is lost
+        }
+        if (process == null) {
+            return true;
+        }
+        try {
+            if (process.waitFor(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        process.destroyForcibly();
+        return false;
+    }
+
+    @Override
+    public void close() {
+        broken = true;
+        try {
+            // forked workers exit when the connection is closed, daemons wait for other connections
+            socket.close();
+        } catch (IOException e) {
+            // ignore, process is destroyed anyway
+        }
+        if (process != null) {
+            process.destroy();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package org.asciidoctor.maven.fork;
+
+import java.io.IOException;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * Keeps worker JVMs alive to be re-used by all executions sharing the plugin
+ * class loader, that is, all modules of a reactor build.
+ * <p>
+ * A new worker is started only when no idle one with the same {@link ForkConfiguration}
+ * is available, so parallel builds get one worker per concurrent execution.
+ * Workers are stopped when the Maven JVM exits.
+ *
+ * @since 3.2.1
+ */
+public final class ForkedWorkerPool {
+
+    private static final ForkedWorkerPool INSTANCE = new ForkedWorkerPool();
+
+    private final Map<ForkConfiguration, Deque<ForkedWorker>> idleWorkers = new ConcurrentHashMap<>();
+    private final Set<ForkedWorker> workers = ConcurrentHashMap.newKeySet();
+
+    private ForkedWorkerPool() {
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "asciidoctor-workers-shutdown"));
+    }
+
+    public static ForkedWorkerPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns an idle worker for the configuration, or starts a new one.
+     *
+     * @param configuration worker configuration
+     * @return worker for exclusive use until released
+     * @throws IOException if a new worker cannot be started
+     */
+    public ForkedWorker acquire(ForkConfiguration configuration) throws IOException {
+        final Deque<ForkedWorker> idle = idleWorkers(configuration);
+        ForkedWorker worker;
+        while ((worker = idle.pollFirst()) != null) {
+            if (worker.isUsable()) {
+                return worker;
+            }
+            discard(worker);
+        }
+
+        final ForkedWorker newWorker = ForkedWorker.start(configuration);
+        workers.add(newWorker);
+        return newWorker;
+    }
+
+    /**
+     * Returns a worker to the pool. Workers that cannot be used anymore are stopped.
+     *
+     * @param worker worker to release
+     */
+    public void release(ForkedWorker worker) {
+        if (worker.isUsable()) {
+            idleWorkers(worker.getConfiguration()).offerFirst(worker);
+        } else {
+            discard(worker);
+        }
+    }
+
+    private void discard(ForkedWorker worker) {
+        workers.remove(worker);
+        worker.close();
+    }
+
+    private Deque<ForkedWorker> idleWorkers(ForkConfiguration configuration) {
+        return idleWorkers.computeIfAbsent(configuration, key -> new ConcurrentLinkedDeque<>());
+    }
+
+    private void shutdown() {
+        workers.forEach(ForkedWorker::close);
+        workers.clear();
+        idleWorkers.clear();
+    }
+}
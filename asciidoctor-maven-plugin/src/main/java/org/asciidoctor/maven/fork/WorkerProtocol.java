@@ -0,0 +1,102 @@
+package org.asciidoctor.maven.fork;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Authentication and deserialization rules shared by the Maven process and the worker JVMs.
+ * <p>
+ * Loopback ports are reachable by any local user, so the side accepting a connection requires
+ * a random token before creating an {@link ObjectInputStream}. The token is sent as a plain string,
+ * not as a serialized object. Objects read afterwards are limited to the protocol classes and the
+ * JDK types used in Asciidoctor options.
+ *
+ * @since 3.2.1
+ */
+final class WorkerProtocol {
+
+    private static final int TOKEN_BYTES = 32;
+
+    // Object is needed for the arrays in the serialized form of immutable collections
+    private static final ObjectInputFilter FILTER = ObjectInputFilter.Config.createFilter(
+        "maxdepth=20;maxrefs=100000;maxarray=100000;"
+            + ConversionRequest.class.getName() + ";"
+            + ConversionResult.class.getName() + ";"
+            + ForkConfiguration.class.getName() + ";"
+            + ForkConfiguration.Extension.class.getName() + ";"
+            + ForkedLogRecord.class.getName() + ";"
+            + ForkedLogRecord.class.getName() + "$*;"
+            + "org.asciidoctor.log.Severity;"
+            + "java.io.File;"
+            + "java.lang.Object;java.lang.String;java.lang.Boolean;java.lang.Number;java.lang.Integer;java.lang.Long;"
+            + "java.lang.Short;java.lang.Byte;java.lang.Double;java.lang.Float;java.lang.Enum;"
+            + "java.util.*;"
+            + "!*");
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private WorkerProtocol() {
+    }
+
+    /**
+     * Creates a random token.
+     *
+     * @return URL-safe token
+     */
+    static String newToken() {
+        final byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Sends the token, before any object.
+     *
+     * @param output connection output stream
+     * @param token  token
+     * @throws IOException if the token cannot be sent
+     */
+    static void writeToken(OutputStream output, String token) throws IOException {
+        final DataOutputStream dataOutput = new DataOutputStream(output);
+        dataOutput.writeUTF(token);
+        dataOutput.flush();
+    }
+
+    /**
+     * Reads the token sent by the other side, without deserializing anything.
+     * Nothing beyond the token is read from the stream.
+     *
+     * @param input    connection input stream
+     * @param expected expected token
+     * @return {@literal true} if the presented token is the expected one
+     * @throws IOException if the token cannot be read
+     */
+    static boolean readToken(InputStream input, String expected) throws IOException {
+        final String presented = new DataInputStream(input).readUTF();
+        return MessageDigest.isEqual(
+            presented.getBytes(StandardCharsets.UTF_8),
+            expected.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Creates an {@link ObjectInputStream} that only accepts the protocol classes.
+     *
+     * @param input authenticated connection input stream
+     * @return filtered object input stream
+     * @throws IOException if the stream header cannot be read
+     */
+    static ObjectInputStream objectInput(InputStream input) throws IOException {
+        final ObjectInputStream objectInput = new ObjectInputStream(input);
+        objectInput.setObjectInputFilter(FILTER);
+        return objectInput;
+    }
+}
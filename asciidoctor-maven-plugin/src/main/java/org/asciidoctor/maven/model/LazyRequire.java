@@ -0,0 +1,42 @@
+package org.asciidoctor.maven.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds the configuration of a library required only when a document uses it.
+ *
+ * @since 3.2.1
+ */
+public class LazyRequire {
+
+    /**
+     * Library to require, as in {@code requires}
+     */
+    private String library;
+
+    /**
+     * Block, macro or attribute names that require the library when found in a document
+     */
+    private List<String> triggers;
+
+    public String getLibrary() {
+        return library;
+    }
+
+    public void setLibrary(String library) {
+        this.library = library;
+    }
+
+    public List<String> getTriggers() {
+        if (this.triggers == null) {
+            this.triggers = new ArrayList<>();
+        }
+
+        return this.triggers;
+    }
+
+    public void setTriggers(List<String> triggers) {
+        this.triggers = triggers;
+    }
+}
@@ -0,0 +1,173 @@
+package org.asciidoctor.maven.process;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.io.FilenameUtils;
+import org.asciidoctor.Attributes;
+import org.asciidoctor.Options;
+import org.asciidoctor.maven.AsciidoctorMojo;
+
+/**
+ * Immutable list of the conversions of an execution, with the options of each one.
+ * <p>
+ * Base and target directories of all sources are computed before converting, resolving the
+ * canonical paths of the source and output directories once.
+ * Destinations written by several conversions are detected in the same pass.
+ *
+ * @since 3.2.1
+ */
+public final class ConversionPlan {
+
+    private final List<Conversion> conversions;
+    private final List<String> duplicatedDestinations;
+
+    private ConversionPlan(List<Conversion> conversions, List<String> duplicatedDestinations) {
+        this.conversions = Collections.unmodifiableList(conversions);
+        this.duplicatedDestinations = Collections.unmodifiableList(duplicatedDestinations);
+    }
+
+    /**
+     * Plans the conversion of the sources to each backend, in the same order.
+     *
+     * @param sources         sources to convert
+     * @param sourceDirectory source directory (sources may be in sub-directories)
+     * @param backends        backends to convert each source to
+     * @param options         options shared by all conversions
+     * @param configuration   AsciidoctorMojo containing conversion configuration
+     * @return conversion plan
+     * @throws IOException if the canonical path of a directory cannot be resolved
+     */
+    public static ConversionPlan create(List<File> sources, File sourceDirectory, List<String> backends,
+                                        Options options, AsciidoctorMojo configuration) throws IOException {
+        final Map<String, Object> sharedOptions = new HashMap<>(options.map());
+        final File outputDirectory = configuration.getOutputDirectory();
+        final File outputFile = configuration.getOutputFile();
+        final String canonicalSourceDirectory = configuration.isPreserveDirectories() ? sourceDirectory.getCanonicalPath() : null;
+        final String canonicalOutputDirectory = configuration.isPreserveDirectories() ? outputDirectory.getCanonicalPath() : null;
+        final Map<File, String> targetDirectories = new HashMap<>();
+
+        final List<Conversion> conversions = new ArrayList<>(sources.size() * backends.size());
+        // destinations are approximated without extension, so they are only unique per backend
+        final Set<List<Object>> uniquePaths = new HashSet<>();
+        final List<String> duplicatedDestinations = new ArrayList<>();
+        for (File source : sources) {
+            final Map<String, Object> sourceOptions = new HashMap<>(sharedOptions);
+            sourceOptions.put(Options.BASEDIR, baseDir(source, sourceDirectory, configuration).getPath());
+
+            final File parent = source.getParentFile();
+            String toDir = targetDirectories.get(parent);
+            if (toDir == null) {
+                // when preserveDirectories == false, parent and sourceDirectory are the same
+                toDir = configuration.isPreserveDirectories()
+                    ? new File(canonicalOutputDirectory + parent.getCanonicalPath().substring(canonicalSourceDirectory.length())).getPath()
+                    : outputDirectory.getPath();
+                targetDirectories.put(parent, toDir);
+            }
+            sourceOptions.put(Options.TO_DIR, toDir);
+
+            final File destination;
+            if (outputFile != null) {
+                // allow overriding the output file name
+                sourceOptions.put(Options.TO_FILE, outputFile.getPath());
+                destination = outputFile.isAbsolute() ? outputFile : new File(toDir, outputFile.getPath());
+            } else {
+                destination = new File(toDir, source.getName());
+            }
+
+            for (String backend : backends) {
+                if (!uniquePaths.add(List.of(destination, outputFile != null ? "" : backend))) {
+                    duplicatedDestinations.add(outputFile != null
+                        ? destination.getAbsolutePath()
+                        : destination.getParentFile().getAbsolutePath() + File.separator + FilenameUtils.getBaseName(destination.getName()) + ".*");
+                }
+                final Map<String, Object> conversionOptions = new HashMap<>(sourceOptions);
+                conversionOptions.put(Options.BACKEND, backend);
+                conversions.add(new Conversion(source, backend, conversionOptions));
+            }
+        }
+        return new ConversionPlan(conversions, duplicatedDestinations);
+    }
+
+    private static File baseDir(File source, File sourceDirectory, AsciidoctorMojo configuration) {
+        if (configuration.getBaseDir() != null) {
+            return configuration.getBaseDir();
+        }
+        return configuration.isRelativeBaseDir() ? source.getParentFile() : sourceDirectory;
+    }
+
+    /**
+     * Returns the conversions, grouped by source.
+     *
+     * @return conversions in conversion order
+     */
+    public List<Conversion> getConversions() {
+        return conversions;
+    }
+
+    /**
+     * Returns the destinations overwritten by a later conversion, once per overwriting conversion.
+     * Destinations of conversions without explicit output file are reported without extension.
+     *
+     * @return duplicated destinations paths
+     */
+    public List<String> getDuplicatedDestinations() {
+        return duplicatedDestinations;
+    }
+
+    /**
+     * Conversion of a source to a backend.
+     */
+    public static final class Conversion {
+
+        private final File source;
+        private final String backend;
+        private final Map<String, Object> options;
+
+        private Conversion(File source, String backend, Map<String, Object> options) {
+            this.source = source;
+            this.backend = backend;
+            this.options = Collections.unmodifiableMap(options);
+        }
+
+        public File getSource() {
+            return source;
+        }
+
+        public String getBackend() {
+            return backend;
+        }
+
+        /**
+         * Returns a new copy of the options, that the caller can modify.
+         *
+         * @return Asciidoctor options for this conversion
+         */
+        public Options getOptions() {
+            final Options copy = Options.builder().build();
+            options.forEach((name, value) -> copy.setOption(name, Options.ATTRIBUTES.equals(name) ? copyAttributes(value) : value));
+            return copy;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Object copyAttributes(Object value) {
+            if (MarshalledAttributes.isMarshalled(value)) {
+                // frozen, can be shared
+                return value;
+            }
+            if (value instanceof Attributes) {
+                final Attributes attributes = Attributes.builder().build();
+                attributes.setAttributes(new HashMap<>(((Attributes) value).map()));
+                return attributes;
+            }
+            return value instanceof Map ? new HashMap<>((Map<String, Object>) value) : value;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package org.asciidoctor.maven.process;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Conversion durations of source documents from previous builds.
+ * Used to start the slowest conversions first when converting in parallel, so that
+ * a long conversion does not start last and keep the build running after the others finish.
+ * <p>
+ * Documents without recorded duration are estimated from their size, using the
+ * average duration per byte of the recorded documents.
+ * <p>
+ * Documents are identified by their path relative to the source directory, with {@code /} separators,
+ * so that a timings file can be committed or shared between machines with different workspace paths.
+ *
+ * @since 3.2.1
+ */
+public class ConversionTimings {
+
+    // used when there are no recorded durations to compare sizes with, only relative values matter
+    private static final double DEFAULT_MILLIS_PER_BYTE = 0.001;
+
+    private final File file;
+    private final File sourceDirectory;
+    private final Map<String, Long> durations = new TreeMap<>();
+    // computed on first estimation, reset when a new duration is recorded
+    private Double millisPerByte;
+
+    private ConversionTimings(File file, File sourceDirectory) {
+        this.file = file;
+        this.sourceDirectory = sourceDirectory;
+    }
+
+    /**
+     * Loads the durations recorded in a file.
+     * Missing or unreadable files are ignored, since durations are only used as estimates.
+     * Entries with absolute paths, written by previous versions, are ignored too.
+     *
+     * @param file            file where durations are stored
+     * @param sourceDirectory directory paths are relative to, may be {@literal null} when timings are only merged
+     * @return conversion timings
+     */
+    public static ConversionTimings load(File file, File sourceDirectory) {
+        final ConversionTimings timings = new ConversionTimings(file, sourceDirectory);
+        if (file != null && file.isFile()) {
+            final Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            } catch (IOException | IllegalArgumentException e) {
+                return timings;
+            }
+            for (String source : properties.stringPropertyNames()) {
+                if (new File(source).isAbsolute()) {
+                    continue;
+                }
+                try {
+                    timings.durations.put(source, Long.parseLong(properties.getProperty(source)));
+                } catch (NumberFormatException e) {
+                    // ignore invalid entries
+                }
+            }
+        }
+        return timings;
+    }
+
+    /**
+     * Records the duration of a conversion, replacing the previous one.
+     *
+     * @param source source document
+     * @param millis conversion duration in milliseconds
+     */
+    public void record(File source, long millis) {
+        durations.put(key(source), millis);
+        millisPerByte = null;
+    }
+
+    /**
+     * Adds the durations recorded in other timings, replacing the existing ones.
+     *
+     * @param other timings to add
+     */
+    public void merge(ConversionTimings other) {
+        durations.putAll(other.durations);
+        millisPerByte = null;
+    }
+
+    /**
+     * Returns the duration of the last conversion of a document or an estimation based on its size.
+     *
+     * @param source source document
+     * @return estimated duration in milliseconds
+     */
+    public long estimate(File source) {
+        final Long duration = durations.get(key(source));
+        if (duration != null) {
+            return duration;
+        }
+        if (millisPerByte == null) {
+            millisPerByte = computeMillisPerByte();
+        }
+        return Math.round(source.length() * millisPerByte);
+    }
+
+    /**
+     * Returns the estimated duration to convert a set of documents.
+     *
+     * @param sources source documents
+     * @return estimated duration in milliseconds
+     */
+    public long estimate(Collection<File> sources) {
+        long total = 0;
+        for (File source : sources) {
+            total += estimate(source);
+        }
+        return total;
+    }
+
+    /**
+     * Sorts elements by their estimated duration, the longest first.
+     * Elements with the same estimation keep their order.
+     *
+     * @param elements  elements to sort
+     * @param estimator returns the estimated duration of an element
+     * @param <T>       type of the elements
+     * @return new sorted list
+     */
+    public static <T> List<T> longestFirst(Collection<T> elements, Function<T, Long> estimator) {
+        final List<T> sorted = new ArrayList<>(elements);
+        sorted.sort(Comparator.comparing(estimator).reversed());
+        return sorted;
+    }
+
+    /**
+     * Stores the durations in the file they were loaded from.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public void save() throws IOException {
+        if (file == null) {
+            return;
+        }
+        final Properties properties = new Properties();
+        durations.forEach((source, millis) -> properties.setProperty(source, String.valueOf(millis)));
+        Files.createDirectories(file.getAbsoluteFile().getParentFile().toPath());
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            properties.store(writer, "Conversion durations in milliseconds");
+        }
+    }
+
+    private double computeMillisPerByte() {
+        long totalMillis = 0;
+        long totalBytes = 0;
+        for (Map.Entry<String, Long> duration : durations.entrySet()) {
+            final File source = new File(sourceDirectory, duration.getKey());
+            if (source.isFile()) {
+                totalMillis += duration.getValue();
+                totalBytes += source.length();
+            }
+        }
+        return totalBytes > 0 ? (double) totalMillis / totalBytes : DEFAULT_MILLIS_PER_BYTE;
+    }
+
+    private String key(File source) {
+        return SourceSharder.relativePath(sourceDirectory, source);
+    }
+}
@@ -5,7 +5,13 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
 
 import org.apache.commons.io.FileUtils;
 import org.asciidoctor.maven.AsciidoctorMojo;
@@ -23,6 +29,9 @@ import static org.asciidoctor.maven.commons.StringUtils.isNotBlank;
  * - AsciiDoc documents: based on file extension.
  * - Asciidoctor Docinfo files.
  * - Internal files and folders: those not starting with underscore '_'.
+ * <p>
+ * Files are copied concurrently in I/O threads, see {@link IoExecutors}. The number of copies in progress
+ * is bounded, so that virtual threads do not open more files than the system allows.
  *
  * @since 3.0.0
  */
@@ -45,6 +54,9 @@ public class CopyResourcesProcessor implements ResourcesProcessor {
         "*-docinfo-footer.xml"
     };
 
+    private static final int PLATFORM_COPY_THREADS = 4;
+    static final int MAX_PENDING_COPIES = 64;
+
     private static String[] DEFAULT_ASCIIDOC_EXTENSIONS = {"**/*.adoc", "**/*.ad", "**/*.asc", "**/*.asciidoc"};
 
     // Files and directories beginning with underscore are ignored
@@ -124,6 +136,22 @@ public class CopyResourcesProcessor implements ResourcesProcessor {
      */
     private void copyResources(List<Resource> resources, File outputDirectory, AsciidoctorMojo configuration) {
 
+        // by target file, so that when several resources have the same target the last one wins, as copied in order
+        final Map<File, CompletableFuture<Void>> copies = new HashMap<>();
+        final ExecutorService executor = IoExecutors.newExecutor("asciidoctor-resources", PLATFORM_COPY_THREADS);
+        final Semaphore pendingCopies = new Semaphore(MAX_PENDING_COPIES);
+        try {
+            copyResources(resources, outputDirectory, configuration, executor, pendingCopies, copies);
+            CompletableFuture.allOf(copies.values().toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void copyResources(List<Resource> resources, File outputDirectory, AsciidoctorMojo configuration,
+                               ExecutorService executor, Semaphore pendingCopies, Map<File, CompletableFuture<Void>> copies) {
         resources.stream()
             .map(resource -> {
                 final File candidate = new File(resource.getDirectory());
@@ -152,7 +180,16 @@ public class CopyResourcesProcessor implements ResourcesProcessor {
 
                 for (String includedFile : directoryScanner.getIncludedFiles()) {
                     File source = new File(directoryScanner.getBasedir(), includedFile);
-                    copyFileToDirectory(source, resource, outputDirectory);
+                    File target = new File(targetDirectory(source, resource, outputDirectory), source.getName()).toPath().toAbsolutePath().normalize().toFile();
+                    // released when the copy ends or fails, a copy waiting for a previous one to the same target holds its permit
+                    pendingCopies.acquireUninterruptibly();
+                    Runnable copy = () -> copyFileToDirectory(source, resource, outputDirectory);
+                    CompletableFuture<Void> previous = copies.get(target);
+                    CompletableFuture<Void> current = previous == null
+                        ? CompletableFuture.runAsync(copy, executor)
+                        : previous.thenRunAsync(copy, executor);
+                    current.whenComplete((result, failure) -> pendingCopies.release());
+                    copies.put(target, current);
                 }
             });
     }
@@ -160,27 +197,28 @@ public class CopyResourcesProcessor implements ResourcesProcessor {
 
     private void copyFileToDirectory(File source, Resource resource, File outputDirectory) {
         try {
-            final File target = resource.getTargetPath() == null
-                ? outputDirectory
-                : composeTargetPath(resource, outputDirectory);
-
-            Path sourceDirectoryPath = new File(resource.getDirectory()).toPath();
-            Path sourcePath = source.toPath();
-            Path relativize = sourceDirectoryPath.relativize(sourcePath);
-
-            if (relativize.getParent() == null) {
-                FileUtils.copyFileToDirectory(source, target);
-            } else {
-                Path realTarget = target.toPath().resolve(relativize.getParent());
-                File realTargetFile = realTarget.toFile();
-                FileUtils.forceMkdir(realTargetFile);
-                FileUtils.copyFileToDirectory(source, realTargetFile);
-            }
+            final File target = targetDirectory(source, resource, outputDirectory);
+            FileUtils.forceMkdir(target);
+            FileUtils.copyFileToDirectory(source, target);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
+    private static File targetDirectory(File source, Resource resource, File outputDirectory) {
+        final File target = resource.getTargetPath() == null
+            ? outputDirectory
+            : composeTargetPath(resource, outputDirectory);
+
+        Path sourceDirectoryPath = new File(resource.getDirectory()).toPath();
+        Path sourcePath = source.toPath();
+        Path relativize = sourceDirectoryPath.relativize(sourcePath);
+
+        return relativize.getParent() == null
+            ? target
+            : target.toPath().resolve(relativize.getParent()).toFile();
+    }
+
     private static File composeTargetPath(Resource resource, File outputDirectory) {
         final File targetFile = new File(resource.getTargetPath());
         return targetFile.isAbsolute()
@@ -0,0 +1,129 @@
+package org.asciidoctor.maven.process;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds include directives in AsciiDoc sources without converting them.
+ * <p>
+ * Sources are not parsed, so includes in comments, verbatim blocks or excluded by conditionals
+ * are found as well. Targets with attribute references cannot be resolved without converting,
+ * callers either ignore them or resolve the attributes they know.
+ *
+ * @since 3.2.1
+ */
+public final class IncludeScanner {
+
+    // same target rules as Asciidoctor: no brackets, and no leading or trailing blanks
+    private static final Pattern INCLUDE = Pattern.compile("^include::([^\\s\\[](?:[^\\[]*[^\\s\\[])?)\\[(.*)]$", Pattern.MULTILINE);
+
+    private IncludeScanner() {
+    }
+
+    /**
+     * Parses a line containing an include directive.
+     *
+     * @param line source line
+     * @return the include, or {@literal null} if the line is not an include directive
+     */
+    public static Include parse(String line) {
+        final Matcher include = INCLUDE.matcher(line);
+        return include.matches() ? new Include(include.group(1), include.group(2)) : null;
+    }
+
+    /**
+     * Returns the local files included by a document, in order of appearance.
+     * Includes of URIs or with attribute references in the target are ignored.
+     *
+     * @param file document
+     * @return included files, which may not exist
+     */
+    public static List<File> localIncludes(File file) {
+        final String content;
+        try {
+            content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            // Asciidoctor reports unreadable files
+            return List.of();
+        }
+        return localIncludes(file, content);
+    }
+
+    /**
+     * Returns the local files included by a document already read, in order of appearance.
+     * Includes of URIs or with attribute references in the target are ignored.
+     *
+     * @param file    document, includes are resolved against its directory
+     * @param content document content
+     * @return included files, which may not exist
+     */
+    public static List<File> localIncludes(File file, CharSequence content) {
+        final Set<File> includes = new LinkedHashSet<>();
+        final Matcher include = INCLUDE.matcher(content);
+        while (include.find()) {
+            final String target = include.group(1);
+            if (!target.contains("{") && !isUri(target)) {
+                includes.add(resolve(file.getAbsoluteFile().getParentFile(), target));
+            }
+        }
+        return new ArrayList<>(includes);
+    }
+
+    /**
+     * Resolves an include target against a directory, unless absolute.
+     *
+     * @param baseDir directory relative targets are resolved against
+     * @param target  include target without attribute references
+     * @return normalized file
+     */
+    public static File resolve(File baseDir, String target) {
+        final File file = new File(target);
+        return (file.isAbsolute() ? file : new File(baseDir, target)).toPath().normalize().toFile();
+    }
+
+    /**
+     * Whether an include target is a URI instead of a local file.
+     *
+     * @param target include target
+     * @return {@literal true} if the target is a URI
+     */
+    public static boolean isUri(String target) {
+        return target.contains("://");
+    }
+
+    /**
+     * Include directive found in a source.
+     */
+    public static final class Include {
+
+        private final String target;
+        private final String attributes;
+
+        private Include(String target, String attributes) {
+            this.target = target;
+            this.attributes = attributes;
+        }
+
+        /**
+         * Target as written, attribute references are not resolved.
+         */
+        public String getTarget() {
+            return target;
+        }
+
+        /**
+         * Text between the brackets, e.g. {@code leveloffset=+1}.
+         */
+        public String getAttributes() {
+            return attributes;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.asciidoctor.maven.process;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the threads of I/O-bound tasks: reading sources, writing outputs, copying resources
+ * and watching files.
+ * <p>
+ * This version uses daemon platform threads. The plugin is a multi-release JAR, and on Java 21 and
+ * later a version starting a virtual thread per task is used instead (see {@code src/main/java21}).
+ *
+ * @since 3.2.1
+ */
+public final class IoExecutors {
+
+    private IoExecutors() {
+    }
+
+    /**
+     * Whether tasks run in virtual threads.
+     *
+     * @return {@literal false}, virtual threads require Java 21
+     */
+    public static boolean isVirtual() {
+        return false;
+    }
+
+    /**
+     * Creates an executor for I/O-bound tasks.
+     * Callers bound the number of tasks they submit, the pool size is only used with platform threads.
+     *
+     * @param name     thread name prefix
+     * @param poolSize number of platform threads
+     * @return executor, to be shut down by the caller
+     */
+    public static ExecutorService newExecutor(String name, int poolSize) {
+        return Executors.newFixedThreadPool(poolSize, threadFactory(name));
+    }
+
+    /**
+     * Creates a factory of threads for I/O-bound tasks.
+     *
+     * @param name thread name prefix
+     * @return daemon thread factory
+     */
+    public static ThreadFactory threadFactory(String name) {
+        final AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, name + "-" + count.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,126 @@
+package org.asciidoctor.maven.process;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.apache.maven.plugin.logging.Log;
+import org.asciidoctor.Asciidoctor;
+import org.asciidoctor.maven.model.LazyRequire;
+
+/**
+ * Requires libraries the first time a document uses one of their triggers, instead of
+ * requiring all of them when Asciidoctor is created.
+ * <p>
+ * Documents and the files they include are scanned for trigger names used as block style
+ * (<code>[plantuml]</code>), block or inline macro (<code>plantuml::</code>, <code>stem:[]</code>),
+ * attribute entry (<code>:stem:</code>) or attribute reference.
+ * Includes whose target contains attribute references cannot be resolved and are not scanned.
+ *
+ * @since 3.2.1
+ */
+public class LazyRequires {
+
+    private final Map<String, Pattern> triggers = new LinkedHashMap<>();
+    private final Set<String> required = new HashSet<>();
+    private final Log log;
+
+    /**
+     * Constructor.
+     *
+     * @param lazyRequires libraries and their triggers
+     * @param log          the mojo's {@link Log} reference
+     */
+    public LazyRequires(List<LazyRequire> lazyRequires, Log log) {
+        for (LazyRequire lazyRequire : lazyRequires) {
+            final String triggerNames = lazyRequire.getTriggers().stream()
+                .map(String::trim)
+                .filter(trigger -> !trigger.isEmpty())
+                .map(Pattern::quote)
+                .collect(Collectors.joining("|"));
+            // without triggers, the library is required with the first document
+            triggers.put(lazyRequire.getLibrary(), triggerNames.isEmpty()
+                ? null
+                : Pattern.compile("(?<![\\w-])(?:" + triggerNames + ")(?=[\\],:}%#])"));
+        }
+        this.log = log;
+    }
+
+    /**
+     * Whether there are libraries to require lazily.
+     *
+     * @return {@literal true} if no library is configured
+     */
+    public boolean isEmpty() {
+        return triggers.isEmpty();
+    }
+
+    /**
+     * Requires the libraries used by a document that are not required yet.
+     *
+     * @param asciidoctor Asciidoctor instance converting the document
+     * @param source      document
+     */
+    public synchronized void require(Asciidoctor asciidoctor, File source) {
+        if (required.size() == triggers.size()) {
+            return;
+        }
+        final List<String> libraries = new ArrayList<>();
+        for (String library : librariesFor(source)) {
+            if (required.add(library)) {
+                libraries.add(library);
+            }
+        }
+        if (!libraries.isEmpty()) {
+            log.debug("Requiring " + libraries + " for " + source.getName());
+            asciidoctor.requireLibraries(libraries);
+        }
+    }
+
+    /**
+     * Returns the libraries triggered by a document, not yet required.
+     *
+     * @param source document
+     * @return libraries in configuration order
+     */
+    Set<String> librariesFor(File source) {
+        final Set<String> libraries = new LinkedHashSet<>();
+        scan(source.getAbsoluteFile(), libraries, new HashSet<>());
+        return libraries;
+    }
+
+    private void scan(File file, Set<String> libraries, Set<File> visited) {
+        if (!visited.add(file) || !file.isFile()) {
+            return;
+        }
+        final String content;
+        try {
+            content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            // Asciidoctor reports unreadable files
+            return;
+        }
+        for (Map.Entry<String, Pattern> trigger : triggers.entrySet()) {
+            if (!required.contains(trigger.getKey()) && !libraries.contains(trigger.getKey())
+                && (trigger.getValue() == null || trigger.getValue().matcher(content).find())) {
+                libraries.add(trigger.getKey());
+            }
+        }
+        if (libraries.size() + required.size() == triggers.size()) {
+            return;
+        }
+        for (File include : IncludeScanner.localIncludes(file, content)) {
+            scan(include, libraries, visited);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package org.asciidoctor.maven.process;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.asciidoctor.Asciidoctor;
+
+/**
+ * Attributes converted once to a Ruby hash, so that they can be passed to all conversions
+ * without AsciidoctorJ converting them again for each document.
+ * <p>
+ * The hash is frozen, Asciidoctor copies the attributes before modifying them.
+ * Attributes of a single document are added to a copy with {@link #with(Map, Map)}.
+ * <p>
+ * Converting the attributes relies on AsciidoctorJ internal classes. When they are not available,
+ * or fail, attributes are kept as plain maps and converted for each document as usual.
+ *
+ * @since 3.2.1
+ */
+public final class MarshalledAttributes {
+
+    private static final boolean AVAILABLE = isAvailable();
+
+    private MarshalledAttributes() {
+    }
+
+    /**
+     * Converts the attributes to a frozen Ruby hash in the instance's runtime.
+     *
+     * @param asciidoctor Asciidoctor instance the attributes are used with
+     * @param attributes  attributes, as set in the options
+     * @return Ruby hash backed attributes, or {@code attributes} if they cannot be converted
+     */
+    public static Map<String, Object> of(Asciidoctor asciidoctor, Map<String, Object> attributes) {
+        if (!AVAILABLE || isMarshalled(attributes)) {
+            return attributes;
+        }
+        try {
+            return RubyHashAttributes.of(asciidoctor, attributes);
+        } catch (RuntimeException | LinkageError e) {
+            return attributes;
+        }
+    }
+
+    /**
+     * Returns whether the attributes were converted with {@link #of(Asciidoctor, Map)}.
+     *
+     * @param attributes attributes
+     * @return {@literal true} if the attributes are backed by a Ruby hash and cannot be modified
+     */
+    public static boolean isMarshalled(Object attributes) {
+        return AVAILABLE && attributes instanceof RubyHashAttributes;
+    }
+
+    /**
+     * Returns a modifiable copy with additional attributes.
+     * When the attributes were converted, only the additional attributes are converted.
+     *
+     * @param attributes           attributes, converted or not
+     * @param additionalAttributes attributes to add or replace
+     * @return new attributes
+     */
+    public static Map<String, Object> with(Map<String, Object> attributes, Map<String, Object> additionalAttributes) {
+        if (isMarshalled(attributes)) {
+            return ((RubyHashAttributes) attributes).with(additionalAttributes);
+        }
+        final Map<String, Object> merged = new HashMap<>(attributes);
+        merged.putAll(additionalAttributes);
+        return merged;
+    }
+
+    private static boolean isAvailable() {
+        try {
+            Class.forName("org.asciidoctor.jruby.internal.RubyHashMapDecorator", false, MarshalledAttributes.class.getClassLoader());
+            Class.forName("org.asciidoctor.jruby.internal.RubyHashUtil", false, MarshalledAttributes.class.getClassLoader());
+            Class.forName("org.asciidoctor.jruby.internal.JRubyRuntimeContext", false, MarshalledAttributes.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package org.asciidoctor.maven.process;
+
+import java.io.File;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits concurrent conversions in the same JVM by the available heap.
+ * <p>
+ * Before starting, each conversion requests a permit with its estimated memory footprint.
+ * Permits are granted while the used heap plus the footprint stays below a limit and the JVM is not
+ * spending too much time in garbage collection. Otherwise, the conversion waits until others finish
+ * or memory is freed. One conversion is always admitted, so that large documents are not blocked forever.
+ *
+ * @since 3.2.1
+ */
+public class MemoryAdmissionController {
+
+    // approximate ratio between the size of a source and the memory used to convert it (AST, strings in JRuby and output)
+    private static final int FOOTPRINT_PER_SOURCE_BYTE = 40;
+    private static final int MAX_INCLUDE_DEPTH = 8;
+
+    // fraction of time spent in garbage collection over which no more conversions are started
+    private static final double GC_LOAD_LIMIT = 0.25;
+    private static final long GC_SAMPLE_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long WAIT_MILLIS = 200;
+
+    private final MemoryMXBean memory;
+    private final List<GarbageCollectorMXBean> collectors;
+    private final double heapUsageLimit;
+
+    private int running;
+    private long reserved;
+    private long lastGcSampleNanos;
+    private long lastGcMillis;
+    private double gcLoad;
+
+    /**
+     * Constructor.
+     *
+     * @param heapUsageLimit percentage of the maximum heap conversions can use, from 1 to 100
+     */
+    public MemoryAdmissionController(int heapUsageLimit) {
+        this(ManagementFactory.getMemoryMXBean(), ManagementFactory.getGarbageCollectorMXBeans(), heapUsageLimit);
+    }
+
+    MemoryAdmissionController(MemoryMXBean memory, List<GarbageCollectorMXBean> collectors, int heapUsageLimit) {
+        this.memory = memory;
+        this.collectors = collectors;
+        this.heapUsageLimit = Math.max(1, Math.min(100, heapUsageLimit)) / 100.0;
+        this.lastGcSampleNanos = System.nanoTime();
+        this.lastGcMillis = totalGcMillis();
+    }
+
+    /**
+     * Waits until a conversion with the given footprint can start.
+     *
+     * @param footprint estimated memory footprint in bytes
+     * @return permit to close when the conversion finishes
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public synchronized Permit acquire(long footprint) throws InterruptedException {
+        while (running > 0 && !canAdmit(footprint)) {
+            // memory is freed by the GC without notice, so check again periodically
+            wait(WAIT_MILLIS);
+        }
+        running++;
+        reserved += footprint;
+        return new Permit(footprint);
+    }
+
+    private synchronized void release(long footprint) {
+        running--;
+        reserved -= footprint;
+        notifyAll();
+    }
+
+    private boolean canAdmit(long footprint) {
+        final MemoryUsage heap = memory.getHeapMemoryUsage();
+        final long maxHeap = heap.getMax() > 0 ? heap.getMax() : heap.getCommitted();
+        // used heap may not yet reflect conversions that just started
+        final long used = Math.max(heap.getUsed(), reserved);
+        return used + footprint <= maxHeap * heapUsageLimit && gcLoad() < GC_LOAD_LIMIT;
+    }
+
+    /**
+     * Returns the fraction of time spent in garbage collection since the last sample.
+     */
+    private double gcLoad() {
+        final long now = System.nanoTime();
+        final long elapsedNanos = now - lastGcSampleNanos;
+        if (elapsedNanos >= GC_SAMPLE_NANOS) {
+            final long gcMillis = totalGcMillis();
+            gcLoad = (double) TimeUnit.MILLISECONDS.toNanos(gcMillis - lastGcMillis) / elapsedNanos;
+            lastGcMillis = gcMillis;
+            lastGcSampleNanos = now;
+        }
+        return gcLoad;
+    }
+
+    private long totalGcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            total += Math.max(0, collector.getCollectionTime());
+        }
+        return total;
+    }
+
+    /**
+     * Estimates the memory needed to convert a document from its size and the size of the files it includes.
+     *
+     * @param source source document
+     * @return estimated footprint in bytes
+     */
+    public static long estimateFootprint(File source) {
+        long totalBytes = 0;
+        for (File file : withIncludes(source)) {
+            totalBytes += file.length();
+        }
+        return totalBytes * FOOTPRINT_PER_SOURCE_BYTE;
+    }
+
+    /**
+     * Returns a document and the local files it includes, recursively.
+     *
+     * @param source source document
+     * @return existing files, starting with the source
+     */
+    static List<File> withIncludes(File source) {
+        final Set<File> visited = new LinkedHashSet<>();
+        final Deque<File> pending = new ArrayDeque<>();
+        final Deque<Integer> depths = new ArrayDeque<>();
+        pending.push(source.getAbsoluteFile());
+        depths.push(0);
+        while (!pending.isEmpty()) {
+            final File file = pending.pop();
+            final int depth = depths.pop();
+            if (!file.isFile() || !visited.add(file)) {
+                continue;
+            }
+            if (depth < MAX_INCLUDE_DEPTH) {
+                for (File include : IncludeScanner.localIncludes(file)) {
+                    pending.push(include);
+                    depths.push(depth + 1);
+                }
+            }
+        }
+        return List.copyOf(visited);
+    }
+
+    /**
+     * Admission to run a conversion, releases its reserved memory when closed.
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final long footprint;
+        private boolean released;
+
+        private Permit(long footprint) {
+            this.footprint = footprint;
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                release(footprint);
+            }
+        }
+    }
+}
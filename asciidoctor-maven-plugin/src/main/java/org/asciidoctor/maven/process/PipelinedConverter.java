@@ -0,0 +1,324 @@
+package org.asciidoctor.maven.process;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.asciidoctor.Asciidoctor;
+import org.asciidoctor.Options;
+import org.asciidoctor.ast.Document;
+
+import static org.asciidoctor.maven.process.SourceFileOptions.attributes;
+import static org.asciidoctor.maven.process.SourceFileOptions.baseDir;
+import static org.asciidoctor.maven.process.SourceFileOptions.fileAttributes;
+import static org.asciidoctor.maven.process.SourceFileOptions.outputFile;
+
+/**
+ * Converts sources in three stages, so that the converting thread does not wait on disk.
+ * <ol>
+ *     <li>A few upcoming sources are read into memory in I/O threads, and the files they include are read
+ *     one after another to load them in the filesystem cache.</li>
+ *     <li>Sources are converted from memory in the calling thread.</li>
+ *     <li>Outputs are written in I/O threads. The number of pending outputs is bounded, so that
+ *     conversion waits when writing is slower. Outputs identical to the existing files are not written,
+ *     so that their modification time is kept. Outputs to the same file are written in conversion order.</li>
+ * </ol>
+ * I/O threads are virtual on Java 21 and later, see {@link IoExecutors}.
+ * Only backends whose output is text are converted this way. Documents converted to other backends, or
+ * that link stylesheets that Asciidoctor copies to the output directory, are converted with
+ * {@link Asciidoctor#convertFile(File, Options)}.
+ *
+ * @since 3.2.1
+ */
+public class PipelinedConverter implements AutoCloseable {
+
+    private static final int READ_AHEAD = 4;
+    private static final int PENDING_WRITES = 8;
+    private static final int PLATFORM_IO_THREADS = 4;
+    private static final int COMPARE_BUFFER_SIZE = 64 * 1024;
+    private static final Set<String> TEXT_BACKENDS = Set.of("html", "html5", "xhtml", "xhtml5", "docbook", "docbook5");
+
+    private final Asciidoctor asciidoctor;
+    private final List<File> sources;
+    private final ExecutorService reader;
+    private final ExecutorService writer;
+    private final Semaphore pendingWrites = new Semaphore(PENDING_WRITES);
+    private final AtomicReference<IOException> writeFailure = new AtomicReference<>();
+    private final AtomicInteger changedOutputs = new AtomicInteger();
+    private final AtomicInteger unchangedOutputs = new AtomicInteger();
+    private final Map<File, CompletableFuture<String>> reads = new HashMap<>();
+    private final Map<File, CompletableFuture<Void>> writes = new HashMap<>();
+    private final Deque<File> readOrder = new ArrayDeque<>();
+    private final Set<File> createdDirectories = new HashSet<>();
+
+    private int nextRead;
+    private File lastSource;
+    private String lastContent;
+
+    /**
+     * Constructor.
+     *
+     * @param asciidoctor Asciidoctor instance
+     * @param sources     sources in the order they will be converted
+     */
+    public PipelinedConverter(Asciidoctor asciidoctor, List<File> sources) {
+        this.asciidoctor = asciidoctor;
+        this.sources = sources;
+        this.reader = IoExecutors.newExecutor("asciidoctor-reader", PLATFORM_IO_THREADS);
+        this.writer = IoExecutors.newExecutor("asciidoctor-writer", PLATFORM_IO_THREADS);
+        readAhead();
+    }
+
+    /**
+     * Converts a source, the output may be written after returning.
+     *
+     * @param source  source file
+     * @param options Asciidoctor options, as for {@link Asciidoctor#convertFile(File, Options)}
+     * @throws IOException if the source cannot be read or a previous output could not be written
+     */
+    public void convert(File source, Options options) throws IOException {
+        checkWriteFailure();
+        if (!isPipelined(options)) {
+            asciidoctor.convertFile(source, options);
+            return;
+        }
+
+        final String content = read(source);
+        final Options loadOptions = loadOptions(source, options);
+        final Document document = asciidoctor.load(content, loadOptions);
+        if (document.hasAttribute("linkcss")) {
+            asciidoctor.convertFile(source, options);
+            return;
+        }
+
+        final File outputFile = outputFile(source, options, document).getAbsoluteFile();
+        createDirectory(outputFile.getParentFile());
+        document.setAttribute("outfile", outputFile.getPath(), true);
+        document.setAttribute("outdir", outputFile.getParent(), true);
+        write(outputFile, document.convert());
+    }
+
+    private boolean isPipelined(Options options) {
+        final Map<String, Object> map = options.map();
+        final Object backend = map.get(Options.BACKEND);
+        final Object toFile = map.get(Options.TO_FILE);
+        return (backend == null || TEXT_BACKENDS.contains(backend))
+            && (toFile == null || toFile instanceof String)
+            && map.get(Options.TO_DIR) != null
+            && !attributes(options).containsKey("linkcss");
+    }
+
+    /**
+     * Returns the options Asciidoctor uses to load a file when converting it to a target directory.
+     */
+    private static Options loadOptions(File source, Options options) {
+        final Options loadOptions = Options.builder().build();
+        for (Map.Entry<String, Object> option : options.map().entrySet()) {
+            if (!Options.MKDIRS.equals(option.getKey())) {
+                loadOptions.setOption(option.getKey(), option.getValue());
+            }
+        }
+        final File toDir = new File((String) options.map().get(Options.TO_DIR));
+        final Object toFile = options.map().get(Options.TO_FILE);
+        if (toFile instanceof String) {
+            final File file = new File((String) toFile);
+            loadOptions.setOption(Options.TO_DIR, (file.isAbsolute() ? file : new File(toDir, (String) toFile)).getAbsoluteFile().getParent());
+        } else {
+            loadOptions.setOption(Options.TO_DIR, toDir.getAbsolutePath());
+        }
+        loadOptions.setOption(Options.ATTRIBUTES, fileAttributes(source, attributes(options)));
+        // converting from a String requires an absolute base directory
+        loadOptions.setOption(Options.BASEDIR, baseDir(source, options));
+        return loadOptions;
+    }
+
+    private String read(File source) throws IOException {
+        // sources converted to several backends are read once
+        if (source.equals(lastSource)) {
+            return lastContent;
+        }
+        CompletableFuture<String> content = reads.remove(source);
+        if (content != null) {
+            readOrder.remove(source);
+        }
+        readAhead();
+        try {
+            lastContent = content != null ? content.join() : readSource(source);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw e;
+        }
+        lastSource = source;
+        return lastContent;
+    }
+
+    private void readAhead() {
+        while (readOrder.size() < READ_AHEAD && nextRead < sources.size()) {
+            final File source = sources.get(nextRead++);
+            if (!reads.containsKey(source) && !source.equals(lastSource)) {
+                reads.put(source, CompletableFuture.supplyAsync(() -> {
+                    try {
+                        final String content = readSource(source);
+                        warmIncludes(source);
+                        return content;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, reader));
+                readOrder.add(source);
+            }
+        }
+    }
+
+    private static String readSource(File source) throws IOException {
+        // Asciidoctor reads sources as UTF-8 and does not fail on malformed input
+        return new String(Files.readAllBytes(source.toPath()), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads included files, so that Asciidoctor reads them from the filesystem cache.
+     */
+    private static void warmIncludes(File source) {
+        final List<File> files = MemoryAdmissionController.withIncludes(source);
+        for (File include : files.subList(1, files.size())) {
+            try {
+                Files.readAllBytes(include.toPath());
+            } catch (IOException e) {
+                // Asciidoctor reports unreadable includes when converting
+            }
+        }
+    }
+
+    private void createDirectory(File directory) throws IOException {
+        if (createdDirectories.add(directory)) {
+            Files.createDirectories(directory.toPath());
+        }
+    }
+
+    private void write(File outputFile, String output) throws IOException {
+        try {
+            pendingWrites.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting to write " + outputFile, e);
+        }
+        final Runnable task = () -> {
+            try {
+                final byte[] bytes = output.getBytes(StandardCharsets.UTF_8);
+                // unchanged outputs keep their modification time, for incremental processing of the output directory
+                if (hasContent(outputFile, bytes)) {
+                    unchangedOutputs.incrementAndGet();
+                } else {
+                    Files.write(outputFile.toPath(), bytes);
+                    changedOutputs.incrementAndGet();
+                }
+            } catch (IOException e) {
+                writeFailure.compareAndSet(null, e);
+            } finally {
+                pendingWrites.release();
+            }
+        };
+        // a later output to the same file, e.g. with a fixed toFile, must be written last
+        final CompletableFuture<Void> previous = writes.get(outputFile);
+        writes.put(outputFile, previous == null || previous.isDone()
+            ? CompletableFuture.runAsync(task, writer)
+            : previous.exceptionally(e -> null).thenRunAsync(task, writer));
+    }
+
+    /**
+     * Compares a file with the output, checking the size first and then the contents.
+     */
+    static boolean hasContent(File file, byte[] bytes) throws IOException {
+        if (!file.isFile() || file.length() != bytes.length) {
+            return false;
+        }
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(file.toPath()))) {
+            final byte[] buffer = new byte[COMPARE_BUFFER_SIZE];
+            int offset = 0;
+            int read;
+            while ((read = input.read(buffer)) > 0) {
+                if (offset + read > bytes.length
+                    || !Arrays.equals(buffer, 0, read, bytes, offset, offset + read)) {
+                    return false;
+                }
+                offset += read;
+            }
+            return offset == bytes.length;
+        }
+    }
+
+    /**
+     * Returns the number of outputs written because their contents changed.
+     * Only accurate after {@link #close()}.
+     *
+     * @return number of written outputs
+     */
+    public int getChangedOutputs() {
+        return changedOutputs.get();
+    }
+
+    /**
+     * Returns the number of outputs not written because their contents did not change.
+     * Only accurate after {@link #close()}.
+     *
+     * @return number of unchanged outputs
+     */
+    public int getUnchangedOutputs() {
+        return unchangedOutputs.get();
+    }
+
+    private void checkWriteFailure() throws IOException {
+        final IOException failure = writeFailure.get();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Waits until all outputs are written.
+     *
+     * @throws IOException if an output could not be written
+     */
+    @Override
+    public void close() throws IOException {
+        reader.shutdownNow();
+        try {
+            // chained writes are submitted when the previous one completes
+            CompletableFuture.allOf(writes.values().toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            // write failures are reported below
+        }
+        writer.shutdown();
+        try {
+            while (!writer.awaitTermination(1, TimeUnit.MINUTES)) {
+                // keep waiting, outputs must be complete when conversion finishes
+            }
+        } catch (InterruptedException e) {
+            writer.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing outputs", e);
+        }
+        checkWriteFailure();
+    }
+}
@@ -0,0 +1,39 @@
+package org.asciidoctor.maven.process;
+
+import java.util.Map;
+
+import org.asciidoctor.Asciidoctor;
+import org.asciidoctor.jruby.internal.JRubyRuntimeContext;
+import org.asciidoctor.jruby.internal.RubyHashMapDecorator;
+import org.asciidoctor.jruby.internal.RubyHashUtil;
+import org.jruby.RubyHash;
+
+/**
+ * Attributes backed by a frozen Ruby hash.
+ * <p>
+ * Depends on AsciidoctorJ internal classes, only accessed through {@link MarshalledAttributes}
+ * which falls back to plain maps when they are not available.
+ *
+ * @since 3.2.1
+ */
+final class RubyHashAttributes extends RubyHashMapDecorator {
+
+    private final RubyHash rubyHash;
+
+    private RubyHashAttributes(RubyHash rubyHash) {
+        super(rubyHash, String.class);
+        this.rubyHash = rubyHash;
+    }
+
+    static RubyHashAttributes of(Asciidoctor asciidoctor, Map<String, Object> attributes) {
+        final RubyHash rubyHash = RubyHashUtil.convertMapToRubyHashWithStrings(JRubyRuntimeContext.get(asciidoctor), attributes);
+        rubyHash.setFrozen(true);
+        return new RubyHashAttributes(rubyHash);
+    }
+
+    Map<String, Object> with(Map<String, Object> additionalAttributes) {
+        final RubyHashMapDecorator attributes = new RubyHashMapDecorator((RubyHash) rubyHash.dup(), String.class);
+        attributes.putAll(additionalAttributes);
+        return attributes;
+    }
+}
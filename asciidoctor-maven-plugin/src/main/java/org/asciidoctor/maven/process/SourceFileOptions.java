@@ -0,0 +1,137 @@
+package org.asciidoctor.maven.process;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.asciidoctor.Attributes;
+import org.asciidoctor.Options;
+import org.asciidoctor.ast.Document;
+
+/**
+ * Helpers to convert the contents of a source file as Asciidoctor converts the file itself.
+ * <p>
+ * When converting a file, Asciidoctor sets the attributes describing the file, resolves includes
+ * from its directory and writes the output next to it or in the target directory.
+ * When converting a String, these need to be set explicitly.
+ *
+ * @since 3.2.1
+ */
+public final class SourceFileOptions {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+    private static final DateTimeFormatter OFFSET_FORMAT = DateTimeFormatter.ofPattern("xx");
+
+    private SourceFileOptions() {
+    }
+
+    /**
+     * Returns the attributes set in the options.
+     *
+     * @param options Asciidoctor options
+     * @return attributes, empty if none is set
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> attributes(Options options) {
+        final Object attributes = options.map().get(Options.ATTRIBUTES);
+        if (attributes instanceof Attributes) {
+            return ((Attributes) attributes).map();
+        }
+        return attributes == null ? Map.of() : (Map<String, Object>) attributes;
+    }
+
+    /**
+     * Returns the attributes with the ones Asciidoctor sets when converting the source file:
+     * docfile, docdir, docname, docfilesuffix and, unless set, the document date and time
+     * from the file modification time.
+     *
+     * @param source     source file
+     * @param attributes attributes set in the options
+     * @return new attributes map
+     */
+    public static Map<String, Object> fileAttributes(File source, Map<String, Object> attributes) {
+        final Map<String, Object> fileAttributes = new HashMap<>();
+        final File file = source.getAbsoluteFile();
+        final String name = file.getName();
+        final int extension = name.lastIndexOf('.');
+        fileAttributes.put("docfile", file.getPath());
+        fileAttributes.put("docdir", file.getParent());
+        fileAttributes.put("docname", extension > 0 ? name.substring(0, extension) : name);
+        fileAttributes.put("docfilesuffix", extension > 0 ? name.substring(extension) : "");
+
+        // Asciidoctor uses SOURCE_DATE_EPOCH instead of the modification time when set
+        if (System.getenv("SOURCE_DATE_EPOCH") == null) {
+            final ZonedDateTime modified = ZonedDateTime.ofInstant(Instant.ofEpochSecond(lastModifiedSeconds(file)), ZoneId.systemDefault());
+            final Object docdate = attributes.containsKey("docdate") ? attributes.get("docdate") : modified.format(DATE_FORMAT);
+            if (!attributes.containsKey("docdate")) {
+                fileAttributes.put("docdate", docdate);
+                if (!attributes.containsKey("docyear")) {
+                    fileAttributes.put("docyear", String.valueOf(modified.getYear()));
+                }
+            }
+            final String offset = modified.getOffset().getTotalSeconds() == 0 ? "UTC" : modified.format(OFFSET_FORMAT);
+            final Object doctime = attributes.containsKey("doctime") ? attributes.get("doctime") : modified.format(TIME_FORMAT) + " " + offset;
+            if (!attributes.containsKey("doctime")) {
+                fileAttributes.put("doctime", doctime);
+            }
+            if (!attributes.containsKey("docdatetime")) {
+                fileAttributes.put("docdatetime", docdate + " " + doctime);
+            }
+        }
+
+        // only the file attributes are converted when the others already are
+        return MarshalledAttributes.with(attributes, fileAttributes);
+    }
+
+    private static long lastModifiedSeconds(File file) {
+        try {
+            return Files.getLastModifiedTime(file.toPath()).toInstant().getEpochSecond();
+        } catch (IOException e) {
+            return Instant.now().getEpochSecond();
+        }
+    }
+
+    /**
+     * Returns the absolute base directory to resolve includes, which defaults to the source's directory.
+     *
+     * @param source  source file
+     * @param options Asciidoctor options
+     * @return absolute base directory
+     */
+    public static String baseDir(File source, Options options) {
+        final Object baseDir = options.map().get(Options.BASEDIR);
+        return baseDir == null
+            ? source.getAbsoluteFile().getParent()
+            : new File(String.valueOf(baseDir)).getAbsolutePath();
+    }
+
+    /**
+     * Returns the file Asciidoctor writes the output to.
+     *
+     * @param source   source file
+     * @param options  Asciidoctor options
+     * @param document document loaded from the source, to get the output file suffix
+     * @return output file
+     */
+    public static File outputFile(File source, Options options, Document document) {
+        final Object toDir = options.map().get(Options.TO_DIR);
+        final File outputDirectory = toDir != null ? new File((String) toDir) : source.getAbsoluteFile().getParentFile();
+        final Object toFile = options.map().get(Options.TO_FILE);
+        if (toFile instanceof String) {
+            final File file = new File((String) toFile);
+            return file.isAbsolute() ? file : new File(outputDirectory, (String) toFile);
+        }
+        final String name = source.getName().contains(".")
+            ? source.getName().substring(0, source.getName().lastIndexOf('.'))
+            : source.getName();
+        final Object suffix = document.getAttribute("outfilesuffix", ".html");
+        return new File(outputDirectory, name + suffix);
+    }
+}
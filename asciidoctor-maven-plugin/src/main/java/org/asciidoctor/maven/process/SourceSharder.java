@@ -0,0 +1,109 @@
+package org.asciidoctor.maven.process;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Splits source documents in shards, so that they can be converted in different machines.
+ * <p>
+ * Partitions are deterministic: all machines using the same sources and configuration
+ * select disjoint subsets that together contain all documents.
+ * Documents are identified by their path relative to the source directory, so that
+ * partitions do not depend on where the project is located.
+ *
+ * @since 3.2.1
+ */
+public class SourceSharder {
+
+    /**
+     * Assigns documents by the hash of their path. Stable when documents are added or removed.
+     */
+    public static final String HASH_STRATEGY = "hash";
+
+    /**
+     * Assigns documents so that all shards have a similar estimated duration.
+     * Requires that all machines use the same conversion timings to be deterministic.
+     */
+    public static final String TIMINGS_STRATEGY = "timings";
+
+    private final File sourceDirectory;
+    private final int shardCount;
+
+    /**
+     * Constructor.
+     *
+     * @param sourceDirectory directory paths are relative to
+     * @param shardCount      total number of shards
+     */
+    public SourceSharder(File sourceDirectory, int shardCount) {
+        this.sourceDirectory = sourceDirectory;
+        this.shardCount = shardCount;
+    }
+
+    /**
+     * Returns the documents of a shard by the hash of their paths.
+     *
+     * @param sources    all source documents
+     * @param shardIndex shard to return, from 0 to shardCount - 1
+     * @return documents in the shard, in their original order
+     */
+    public List<File> byHash(List<File> sources, int shardIndex) {
+        final List<File> shard = new ArrayList<>();
+        for (File source : sources) {
+            final CRC32 crc = new CRC32();
+            crc.update(relativePath(sourceDirectory, source).getBytes(StandardCharsets.UTF_8));
+            if (crc.getValue() % shardCount == shardIndex) {
+                shard.add(source);
+            }
+        }
+        return shard;
+    }
+
+    /**
+     * Returns the documents of a shard balancing the estimated durations of all shards.
+     * Documents are assigned from the longest to the shortest to the shard with less estimated time.
+     *
+     * @param sources    all source documents
+     * @param shardIndex shard to return, from 0 to shardCount - 1
+     * @param timings    durations of previous conversions
+     * @return documents in the shard, in their original order
+     */
+    public List<File> byTimings(List<File> sources, int shardIndex, ConversionTimings timings) {
+        // sort by path first, so that documents with the same estimation are always assigned in the same order
+        final List<File> sortedSources = new ArrayList<>(sources);
+        sortedSources.sort(Comparator.comparing(source -> relativePath(sourceDirectory, source)));
+
+        final long[] shardMillis = new long[shardCount];
+        final List<File> assigned = new ArrayList<>();
+        for (File source : ConversionTimings.longestFirst(sortedSources, timings::estimate)) {
+            int lightestShard = 0;
+            for (int i = 1; i < shardCount; i++) {
+                if (shardMillis[i] < shardMillis[lightestShard]) {
+                    lightestShard = i;
+                }
+            }
+            shardMillis[lightestShard] += timings.estimate(source);
+            if (lightestShard == shardIndex) {
+                assigned.add(source);
+            }
+        }
+
+        final List<File> shard = new ArrayList<>(sources);
+        shard.retainAll(assigned);
+        return shard;
+    }
+
+    /**
+     * Returns the path of a document relative to the source directory, with {@code /} separators.
+     */
+    static String relativePath(File sourceDirectory, File source) {
+        return sourceDirectory.getAbsoluteFile().toPath().normalize()
+            .relativize(source.getAbsoluteFile().toPath().normalize())
+            .toString()
+            .replace(File.separatorChar, '/');
+    }
+}
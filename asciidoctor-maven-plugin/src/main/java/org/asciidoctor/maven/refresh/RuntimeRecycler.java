@@ -0,0 +1,205 @@
+package org.asciidoctor.maven.refresh;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.apache.maven.plugin.logging.Log;
+import org.asciidoctor.Asciidoctor;
+
+/**
+ * Keeps an Asciidoctor instance for long sessions, replacing it to bound the memory retained by the JRuby runtime.
+ * <p>
+ * The instance is replaced after converting a number of documents, when the heap used after garbage
+ * collection has grown over a threshold since the instance started, or after being idle for some time.
+ * The replacement is created and warmed up in a background thread while the current instance keeps
+ * converting, and it is swapped in between conversions.
+ *
+ * @since 3.2.1
+ */
+public class RuntimeRecycler implements AutoCloseable {
+
+    private final Callable<Asciidoctor> factory;
+    private final int maxDocuments;
+    private final long maxHeapGrowth;
+    private final long idleTimeoutMillis;
+    private final LongSupplier heapUsage;
+    private final Log log;
+    private final ScheduledExecutorService scheduler;
+
+    private Asciidoctor current;
+    private CompletableFuture<Asciidoctor> replacement;
+    private int leases;
+    private int documents;
+    private long heapBaseline = -1;
+    private long lastUse;
+    private boolean closed;
+
+    /**
+     * Constructor.
+     *
+     * @param factory           creates and warms up new instances
+     * @param maxDocuments      documents converted before replacing the instance, 0 to disable
+     * @param maxHeapGrowth     bytes the heap used after garbage collection can grow before replacing the instance, 0 to disable
+     * @param idleTimeoutMillis milliseconds without conversions before replacing the instance, 0 to disable
+     * @param log               Maven log
+     */
+    public RuntimeRecycler(Callable<Asciidoctor> factory, int maxDocuments, long maxHeapGrowth, long idleTimeoutMillis, Log log) {
+        this(factory, maxDocuments, maxHeapGrowth, idleTimeoutMillis, RuntimeRecycler::heapUsageAfterGc, log);
+    }
+
+    RuntimeRecycler(Callable<Asciidoctor> factory, int maxDocuments, long maxHeapGrowth, long idleTimeoutMillis, LongSupplier heapUsage, Log log) {
+        this.factory = factory;
+        this.maxDocuments = maxDocuments;
+        this.maxHeapGrowth = maxHeapGrowth;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.heapUsage = heapUsage;
+        this.log = log;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "asciidoctor-runtime-recycler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (idleTimeoutMillis > 0) {
+            final long period = Math.min(idleTimeoutMillis, TimeUnit.MINUTES.toMillis(1));
+            scheduler.scheduleWithFixedDelay(this::checkIdle, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Returns the instance to convert with, swapping in the replacement if it is ready.
+     * The instance must be returned with {@link #release(int)} after converting.
+     *
+     * @return Asciidoctor instance
+     * @throws Exception if the first instance cannot be created
+     */
+    public synchronized Asciidoctor acquire() throws Exception {
+        if (closed) {
+            throw new IllegalStateException("Runtime recycler is closed");
+        }
+        if (current == null) {
+            current = factory.call();
+            resetCounters();
+        } else if (leases == 0 && replacement != null && replacement.isDone()) {
+            swap();
+        }
+        leases++;
+        return current;
+    }
+
+    /**
+     * Records the conversions done with the instance and starts warming up a replacement if needed.
+     *
+     * @param convertedDocuments documents converted since {@link #acquire()}
+     */
+    public synchronized void release(int convertedDocuments) {
+        leases = Math.max(0, leases - 1);
+        lastUse = System.currentTimeMillis();
+        documents += convertedDocuments;
+
+        final long heap = heapUsage.getAsLong();
+        if (heapBaseline < 0) {
+            // measured after the first conversions, once the runtime is fully loaded
+            heapBaseline = heap;
+        }
+        if (maxDocuments > 0 && documents >= maxDocuments) {
+            prepareReplacement("converted " + documents + " documents");
+        } else if (maxHeapGrowth > 0 && heapBaseline >= 0 && heap - heapBaseline >= maxHeapGrowth) {
+            prepareReplacement("heap grew " + ((heap - heapBaseline) / (1024 * 1024)) + "MB");
+        }
+    }
+
+    private synchronized void checkIdle() {
+        if (closed || leases > 0 || current == null || documents == 0) {
+            return;
+        }
+        if (System.currentTimeMillis() - lastUse < idleTimeoutMillis) {
+            return;
+        }
+        if (replacement == null) {
+            prepareReplacement("idle");
+        } else if (replacement.isDone()) {
+            swap();
+        }
+    }
+
+    private void prepareReplacement(String reason) {
+        if (replacement != null) {
+            return;
+        }
+        log.info("Preparing a new Asciidoctor runtime: " + reason);
+        replacement = CompletableFuture.supplyAsync(() -> {
+            try {
+                return factory.call();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }, scheduler);
+        // swap as soon as ready if idle, to release memory without waiting for the next conversion
+        replacement.whenComplete((asciidoctor, throwable) -> checkIdle());
+    }
+
+    private void swap() {
+        final Asciidoctor replaced = current;
+        try {
+            current = replacement.get();
+        } catch (ExecutionException e) {
+            log.warn("Could not create a new Asciidoctor runtime, keeping the current one: " + e.getCause().getMessage());
+            replacement = null;
+            resetCounters();
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        replacement = null;
+        resetCounters();
+        replaced.shutdown();
+        log.info("Replaced Asciidoctor runtime");
+    }
+
+    private void resetCounters() {
+        documents = 0;
+        heapBaseline = -1;
+        lastUse = System.currentTimeMillis();
+    }
+
+    /**
+     * Shuts down the current instance and the replacement.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        scheduler.shutdownNow();
+        if (current != null) {
+            current.shutdown();
+            current = null;
+        }
+        if (replacement != null) {
+            replacement.thenAccept(Asciidoctor::shutdown);
+            replacement = null;
+        }
+    }
+
+    /**
+     * Returns the heap used after the last garbage collection, which excludes garbage not yet collected.
+     */
+    private static long heapUsageAfterGc() {
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            final MemoryUsage usage = pool.getType() == MemoryType.HEAP ? pool.getCollectionUsage() : null;
+            if (usage != null) {
+                used += usage.getUsed();
+            }
+        }
+        return used;
+    }
+}
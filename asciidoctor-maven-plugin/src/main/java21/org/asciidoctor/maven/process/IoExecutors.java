@@ -0,0 +1,51 @@
+package org.asciidoctor.maven.process;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates the threads of I/O-bound tasks: reading sources, writing outputs, copying resources
+ * and watching files.
+ * <p>
+ * Java 21 version of the multi-release JAR: each task runs in a new virtual thread, so that tasks
+ * blocked on disk do not hold a platform thread.
+ *
+ * @since 3.2.1
+ */
+public final class IoExecutors {
+
+    private IoExecutors() {
+    }
+
+    /**
+     * Whether tasks run in virtual threads.
+     *
+     * @return {@literal true}
+     */
+    public static boolean isVirtual() {
+        return true;
+    }
+
+    /**
+     * Creates an executor for I/O-bound tasks.
+     * Callers bound the number of tasks they submit, the pool size is only used with platform threads.
+     *
+     * @param name     thread name prefix
+     * @param poolSize ignored, a virtual thread is started per task
+     * @return executor, to be shut down by the caller
+     */
+    public static ExecutorService newExecutor(String name, int poolSize) {
+        return Executors.newThreadPerTaskExecutor(threadFactory(name));
+    }
+
+    /**
+     * Creates a factory of threads for I/O-bound tasks.
+     *
+     * @param name thread name prefix
+     * @return virtual thread factory
+     */
+    public static ThreadFactory threadFactory(String name) {
+        return Thread.ofVirtual().name(name + "-", 0).factory();
+    }
+}
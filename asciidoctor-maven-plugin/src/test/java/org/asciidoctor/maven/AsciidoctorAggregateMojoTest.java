@@ -0,0 +1,212 @@
+package org.asciidoctor.maven;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.SneakyThrows;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
+import org.apache.maven.plugin.MavenPluginManager;
+import org.apache.maven.plugin.Mojo;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.descriptor.MojoDescriptor;
+import org.apache.maven.plugin.descriptor.Parameter;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.apache.maven.project.MavenProject;
+import org.asciidoctor.maven.log.FailIf;
+import org.asciidoctor.maven.log.LogHandler;
+import org.asciidoctor.maven.process.ConversionTimings;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.junit.jupiter.api.Test;
+
+import static org.asciidoctor.log.Severity.WARN;
+import static org.asciidoctor.maven.io.TestFilesHelper.newOutputTestDirectory;
+import static org.asciidoctor.maven.test.TestUtils.mockAsciidoctorMojo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.codehaus.plexus.util.ReflectionUtils.getValueIncludingSuperclasses;
+import static org.codehaus.plexus.util.ReflectionUtils.setVariableValueInObject;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+class AsciidoctorAggregateMojoTest {
+
+    private static final String DEFAULT_SOURCE_DIRECTORY = "target/test-classes/src/asciidoctor";
+
+    private final List<AsciidoctorMojo> moduleMojos = new ArrayList<>();
+    private final List<String> executionOrder = new ArrayList<>();
+    private File moduleConversionTimingsFile;
+
+    @Test
+    void should_convert_all_reactor_modules_with_a_shared_asciidoctor_instance() throws Exception {
+        // given
+        final File outputDirA = newOutputTestDirectory("aggregate-a");
+        final File outputDirB = newOutputTestDirectory("aggregate-b");
+        final AsciidoctorAggregateMojo mojo = mockAggregateMojo(
+            project("module-a", execution("docs", "sample.asciidoc", outputDirA)),
+            project("module-b", execution("docs", "main-document.adoc", outputDirB)),
+            project("module-without-docs"));
+
+        // when
+        mojo.execute();
+
+        // then
+        assertThat(new File(outputDirA, "sample.html")).isNotEmpty();
+        assertThat(new File(outputDirB, "main-document.html")).isNotEmpty();
+        assertThat(moduleMojos).hasSize(2);
+        assertThat(getValueIncludingSuperclasses("sharedAsciidoctor", moduleMojos.get(0)))
+            .isNotNull()
+            .isSameAs(getValueIncludingSuperclasses("sharedAsciidoctor", moduleMojos.get(1)));
+    }
+
+    @Test
+    void should_report_failures_of_modules_and_convert_the_others() throws Exception {
+        // given
+        final File outputDirA = newOutputTestDirectory("aggregate-failure-a");
+        final File outputDirB = newOutputTestDirectory("aggregate-failure-b");
+        final AsciidoctorAggregateMojo mojo = mockAggregateMojo(
+            project("module-a", execution("docs", "errors/document-with-missing-include.adoc", outputDirA)),
+            project("module-b", execution("docs", "errors/valid.adoc", outputDirB)));
+
+        // when
+        final Throwable throwable = catchThrowable(mojo::execute);
+
+        // then: messages from one module are not reported in the others
+        assertThat(throwable)
+            .isInstanceOf(MojoExecutionException.class)
+            .hasMessageContaining("module-a (docs): Found 4 issue(s) of severity WARN or higher during conversion")
+            .hasMessageNotContaining("module-b");
+        assertThat(new File(outputDirB, "valid.html")).isNotEmpty();
+    }
+
+    @Test
+    void should_start_the_longest_conversions_first() throws Exception {
+        // given
+        final File outputDirA = newOutputTestDirectory("aggregate-order-a");
+        final File outputDirB = newOutputTestDirectory("aggregate-order-b");
+        final File timingsFile = new File(newOutputTestDirectory("aggregate-order"), "conversion-timings.properties");
+        final ConversionTimings timings = ConversionTimings.load(timingsFile, new File(DEFAULT_SOURCE_DIRECTORY));
+        timings.record(new File(DEFAULT_SOURCE_DIRECTORY, "sample.asciidoc"), 10);
+        timings.record(new File(DEFAULT_SOURCE_DIRECTORY, "main-document.adoc"), 1000);
+        timings.save();
+        final AsciidoctorAggregateMojo mojo = mockAggregateMojo(
+            project("module-a", execution("docs", "sample.asciidoc", outputDirA)),
+            project("module-b", execution("docs", "main-document.adoc", outputDirB)));
+        moduleConversionTimingsFile = timingsFile;
+        mojo.threads = 1;
+
+        // when
+        mojo.execute();
+
+        // then
+        assertThat(executionOrder).containsExactly("main-document.adoc", "sample.asciidoc");
+    }
+
+    @Test
+    void should_skip_when_no_module_declares_executions() throws Exception {
+        // given
+        final AsciidoctorAggregateMojo mojo = mockAggregateMojo(project("module-without-docs"));
+
+        // when
+        mojo.execute();
+
+        // then
+        assertThat(moduleMojos).isEmpty();
+    }
+
+    @SneakyThrows
+    private AsciidoctorAggregateMojo mockAggregateMojo(MavenProject... projects) {
+        final PluginDescriptor pluginDescriptor = new PluginDescriptor();
+        pluginDescriptor.setGroupId("org.asciidoctor");
+        pluginDescriptor.setArtifactId("asciidoctor-maven-plugin");
+        final MojoDescriptor processAsciidoc = mojoDescriptor(pluginDescriptor, "process-asciidoc");
+        for (String parameter : List.of("sourceDocumentName", "outputDirectory")) {
+            final Parameter descriptorParameter = new Parameter();
+            descriptorParameter.setName(parameter);
+            processAsciidoc.addParameter(descriptorParameter);
+        }
+        final MojoDescriptor aggregate = mojoDescriptor(pluginDescriptor, "process-asciidoc-aggregate");
+
+        final MavenSession session = mock(MavenSession.class);
+        when(session.getProjects()).thenReturn(List.of(projects));
+        when(session.clone()).thenReturn(session);
+
+        final MavenPluginManager pluginManager = mock(MavenPluginManager.class);
+        when(pluginManager.getConfiguredMojo(eq(Mojo.class), any(), any())).thenAnswer(invocation -> {
+            final Xpp3Dom configuration = invocation.getArgument(2, MojoExecution.class).getConfiguration();
+            final LogHandler logHandler = new LogHandler();
+            final FailIf failIf = new FailIf();
+            failIf.setSeverity(WARN);
+            logHandler.setFailIf(failIf);
+
+            final AsciidoctorMojo moduleMojo = spy(mockAsciidoctorMojo(logHandler));
+            moduleMojo.backend = "html5";
+            moduleMojo.sourceDirectory = new File(DEFAULT_SOURCE_DIRECTORY);
+            moduleMojo.sourceDocumentName = configuration.getChild("sourceDocumentName").getValue();
+            moduleMojo.outputDirectory = new File(configuration.getChild("outputDirectory").getValue());
+            moduleMojo.conversionTimingsFile = moduleConversionTimingsFile;
+            doAnswer(execution -> {
+                executionOrder.add(moduleMojo.sourceDocumentName);
+                return execution.callRealMethod();
+            }).when(moduleMojo).execute();
+            moduleMojos.add(moduleMojo);
+            return moduleMojo;
+        });
+
+        final AsciidoctorAggregateMojo mojo = new AsciidoctorAggregateMojo(pluginManager);
+        mojo.setLog(new SystemStreamLog());
+        mojo.threads = 2;
+        mojo.heapUsageLimit = 80;
+        setVariableValueInObject(mojo, "session", session);
+        setVariableValueInObject(mojo, "mojoExecution", new MojoExecution(aggregate));
+        return mojo;
+    }
+
+    @SneakyThrows
+    private static MojoDescriptor mojoDescriptor(PluginDescriptor pluginDescriptor, String goal) {
+        final MojoDescriptor mojoDescriptor = new MojoDescriptor();
+        mojoDescriptor.setGoal(goal);
+        mojoDescriptor.setPluginDescriptor(pluginDescriptor);
+        pluginDescriptor.addMojo(mojoDescriptor);
+        return mojoDescriptor;
+    }
+
+    private static MavenProject project(String artifactId, PluginExecution... executions) {
+        final MavenProject project = new MavenProject();
+        project.setArtifactId(artifactId);
+        if (executions.length > 0) {
+            final Plugin plugin = new Plugin();
+            plugin.setGroupId("org.asciidoctor");
+            plugin.setArtifactId("asciidoctor-maven-plugin");
+            plugin.setExecutions(List.of(executions));
+            project.getBuild().addPlugin(plugin);
+        }
+        return project;
+    }
+
+    private static PluginExecution execution(String id, String sourceDocumentName, File outputDirectory) {
+        final Xpp3Dom configuration = new Xpp3Dom("configuration");
+        configuration.addChild(child("sourceDocumentName", sourceDocumentName));
+        configuration.addChild(child("outputDirectory", outputDirectory.getPath()));
+
+        final PluginExecution execution = new PluginExecution();
+        execution.setId(id);
+        execution.addGoal("process-asciidoc");
+        execution.setConfiguration(configuration);
+        return execution;
+    }
+
+    private static Xpp3Dom child(String name, String value) {
+        final Xpp3Dom child = new Xpp3Dom(name);
+        child.setValue(value);
+        return child;
+    }
+}
@@ -0,0 +1,121 @@
+package org.asciidoctor.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.asciidoctor.maven.process.ConversionTimings;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class AsciidoctorMergeMojoTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void should_merge_shard_outputs() throws Exception {
+        // given
+        final File shard0 = new File(tempDir, "shard-0");
+        final File shard1 = new File(tempDir, "shard-1");
+        writeFile(shard0, "index.html", "index");
+        writeFile(shard0, "images/logo.png", "logo");
+        writeFile(shard1, "guides/guide.html", "guide");
+        writeFile(shard1, "images/logo.png", "logo");
+        final File outputDir = new File(tempDir, "generated-docs");
+
+        // when
+        final AsciidoctorMergeMojo mojo = mergeMojo(outputDir, shard0, shard1);
+        mojo.execute();
+
+        // then
+        assertThat(new File(outputDir, "index.html")).hasContent("index");
+        assertThat(new File(outputDir, "guides/guide.html")).hasContent("guide");
+        assertThat(new File(outputDir, "images/logo.png")).hasContent("logo");
+    }
+
+    @Test
+    void should_keep_file_from_first_shard_when_contents_differ() throws Exception {
+        // given
+        final File shard0 = new File(tempDir, "shard-0");
+        final File shard1 = new File(tempDir, "shard-1");
+        writeFile(shard0, "styles.css", "first");
+        writeFile(shard1, "styles.css", "second");
+        final File outputDir = new File(tempDir, "generated-docs");
+
+        // when
+        final AsciidoctorMergeMojo mojo = mergeMojo(outputDir, shard0, shard1);
+        mojo.execute();
+
+        // then
+        assertThat(new File(outputDir, "styles.css")).hasContent("first");
+    }
+
+    @Test
+    void should_merge_conversion_timings() throws Exception {
+        // given
+        final File shard0 = new File(tempDir, "shard-0");
+        writeFile(shard0, "index.html", "index");
+        final File timings0 = new File(tempDir, "timings-0.properties");
+        final File timings1 = new File(tempDir, "timings-1.properties");
+        final File source0 = writeFile(tempDir, "index.adoc", "= Index");
+        final File source1 = writeFile(tempDir, "guide.adoc", "= Guide");
+        saveTimings(timings0, source0, 100);
+        saveTimings(timings1, source1, 200);
+
+        // when
+        final AsciidoctorMergeMojo mojo = mergeMojo(new File(tempDir, "generated-docs"), shard0);
+        mojo.shardConversionTimingsFiles = List.of(timings0, timings1);
+        mojo.conversionTimingsFile = new File(tempDir, "merged/conversion-timings.properties");
+        mojo.execute();
+
+        // then
+        final ConversionTimings merged = ConversionTimings.load(mojo.conversionTimingsFile, tempDir);
+        assertThat(merged.estimate(source0)).isEqualTo(100);
+        assertThat(merged.estimate(source1)).isEqualTo(200);
+        assertThat(mojo.conversionTimingsFile).content()
+            .contains("index.adoc=100", "guide.adoc=200")
+            .doesNotContain(tempDir.getName());
+    }
+
+    @Test
+    void should_fail_when_shard_directory_does_not_exist() {
+        // given
+        final AsciidoctorMergeMojo mojo = mergeMojo(new File(tempDir, "generated-docs"), new File(tempDir, "missing"));
+
+        // when
+        final Throwable throwable = catchThrowable(mojo::execute);
+
+        // then
+        assertThat(throwable)
+            .isInstanceOf(MojoExecutionException.class)
+            .hasMessageContaining("Shard directory not found");
+    }
+
+    private static AsciidoctorMergeMojo mergeMojo(File outputDirectory, File... shardDirectories) {
+        final AsciidoctorMergeMojo mojo = new AsciidoctorMergeMojo();
+        mojo.setLog(new SystemStreamLog());
+        mojo.outputDirectory = outputDirectory;
+        mojo.shardDirectories = List.of(shardDirectories);
+        return mojo;
+    }
+
+    private static void saveTimings(File timingsFile, File source, long millis) throws IOException {
+        final ConversionTimings timings = ConversionTimings.load(timingsFile, source.getParentFile());
+        timings.record(source, millis);
+        timings.save();
+    }
+
+    private static File writeFile(File directory, String path, String content) throws IOException {
+        final File file = new File(directory, path);
+        file.getParentFile().mkdirs();
+        Files.writeString(file.toPath(), content);
+        return file;
+    }
+}
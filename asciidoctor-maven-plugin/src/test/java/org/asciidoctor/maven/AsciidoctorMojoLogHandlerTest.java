@@ -229,6 +229,31 @@ class AsciidoctorMojoLogHandlerTest {
             .hasMessageContaining("Found 4 issue(s) of severity WARN or higher during conversion");
     }
 
+    @Test
+    void should_fail_when_logHandler_failIf_is_WARNING_in_forked_worker() {
+        // setup
+        String sourceDocument = "errors/document-with-missing-include.adoc";
+        File srcDir = new File(DEFAULT_SOURCE_DIRECTORY);
+        File outputDir = newOutputTestDirectory("logHandler");
+        final LogHandler logHandler = new LogHandler();
+        logHandler.setFailIf(failIf(WARN));
+
+        // when
+        AsciidoctorMojo mojo = mockAsciidoctorMojo(logHandler);
+        mojo.backend = "html";
+        mojo.sourceDirectory = srcDir;
+        mojo.sourceDocumentName = sourceDocument;
+        mojo.outputDirectory = outputDir;
+        mojo.standalone = true;
+        mojo.fork = true;
+        Throwable throwable = catchThrowable(mojo::execute);
+
+        // then: issues reported by the worker are processed as in-process ones
+        assertThat(throwable)
+            .isInstanceOf(MojoExecutionException.class)
+            .hasMessageContaining("Found 4 issue(s) of severity WARN or higher during conversion");
+    }
+
     @Test
     void should_fail_when_logHandler_failIf_is_ERROR() {
         // setup
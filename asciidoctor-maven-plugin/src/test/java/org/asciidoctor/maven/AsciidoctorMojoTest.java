@@ -12,12 +12,14 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 import lombok.SneakyThrows;
 import org.apache.commons.io.FileUtils;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.logging.Log;
 import org.asciidoctor.maven.extensions.ExtensionConfiguration;
 import org.asciidoctor.maven.io.ConsoleHolder;
 import org.asciidoctor.maven.test.processors.RequireCheckerTreeprocessor;
@@ -32,6 +34,11 @@ import static org.asciidoctor.maven.test.TestUtils.ResourceBuilder;
 import static org.asciidoctor.maven.test.TestUtils.ResourceBuilder.excludeAll;
 import static org.asciidoctor.maven.test.TestUtils.assertEqualsStructure;
 import static org.asciidoctor.maven.test.TestUtils.mockAsciidoctorMojo;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 
 
 class AsciidoctorMojoTest {
@@ -130,6 +137,341 @@ class AsciidoctorMojoTest {
                 .contains("<article xmlns=\"http://docbook.org/ns/docbook\" xmlns:xl=\"http://www.w3.org/1999/xlink\" version=\"5.0\" xml:lang=\"en\">");
     }
 
+    @Test
+    void should_convert_to_multiple_backends() throws MojoFailureException, MojoExecutionException {
+        // given
+        File srcDir = new File(DEFAULT_SOURCE_DIRECTORY);
+        File outputDir = newOutputTestDirectory();
+
+        // when
+        AsciidoctorMojo mojo = mockAsciidoctorMojo();
+        mojo.backend = "html5";
+        mojo.backends = List.of("html5", "docbook");
+        mojo.sourceDirectory = srcDir;
+        mojo.outputDirectory = outputDir;
+        mojo.sourceDocumentName = "sample.asciidoc";
+        mojo.resources = excludeAll();
+        mojo.execute();
+
+        // then
+        assertThat(outputDir, "sample.html")
+                .isNotEmpty()
+                .contains("<body class=\"article\">");
+        assertThat(outputDir, "sample.xml")
+                .isNotEmpty()
+                .contains("<article xmlns=\"http://docbook.org/ns/docbook\"");
+    }
+
+    @Test
+    void should_convert_each_source_in_one_shard() throws MojoFailureException, MojoExecutionException {
+        // given
+        File srcDir = new File(DEFAULT_SOURCE_DIRECTORY, "relative-path-treatment");
+        File outputDir = newOutputTestDirectory("shards");
+
+        // when
+        for (int shardIndex = 0; shardIndex < 3; shardIndex++) {
+            AsciidoctorMojo mojo = mockAsciidoctorMojo();
+            mojo.backend = "html5";
+            mojo.sourceDirectory = srcDir;
+            mojo.outputDirectory = new File(outputDir, "shard-" + shardIndex);
+            mojo.preserveDirectories = true;
+            mojo.shardIndex = shardIndex;
+            mojo.shardCount = 3;
+            mojo.resources = excludeAll();
+            mojo.execute();
+        }
+
+        // then
+        List<String> convertedFiles = FileUtils.listFiles(outputDir, new String[]{"html"}, true).stream()
+                .map(file -> outputDir.toPath().relativize(file.toPath()))
+                // path inside the shard directory
+                .map(path -> path.subpath(1, path.getNameCount()).toString())
+                .collect(Collectors.toList());
+        Assertions.assertThat(convertedFiles)
+                .doesNotHaveDuplicates()
+                .hasSize(6);
+    }
+
+    @Test
+    void should_fail_when_shard_index_is_not_valid() {
+        // given
+        File srcDir = new File(DEFAULT_SOURCE_DIRECTORY, "relative-path-treatment");
+        File outputDir = newOutputTestDirectory();
+
+        // when
+        AsciidoctorMojo mojo = mockAsciidoctorMojo();
+        mojo.backend = "html5";
+        mojo.sourceDirectory = srcDir;
+        mojo.outputDirectory = outputDir;
+        mojo.shardIndex = 3;
+        mojo.shardCount = 3;
+        Throwable throwable = Assertions.catchThrowable(mojo::execute);
+
+        // then
+        Assertions.assertThat(throwable)
+                .isInstanceOf(MojoExecutionException.class)
+                .hasMessageContaining("Invalid shardIndex 3");
+    }
+
+    @Test
+    void should_pass_runtime_profile_to_worker_jvms_before_jvm_args() throws MojoExecutionException {
+        // given
+        AsciidoctorMojo mojo = mockAsciidoctorMojo();
+        mojo.runtimeProfile = RuntimeProfile.STARTUP;
+        mojo.runtimeOptions = Map.of("jruby.jit.logging", "true");
+        mojo.jvmArgs = List.of("-Djruby.compile.mode=JIT");
+
+        // when
+        final List<String> jvmArgs = mojo.getForkConfiguration().getJvmArgs();
+
+        // then
+        Assertions.assertThat(jvmArgs).containsExactly(
+                "-Djruby.compile.mode=OFF",
+                "-Djruby.compile.invokedynamic=false",
+                "-Djruby.jit.threshold=-1",
+                "-Djruby.jit.logging=true",
+                "-Djruby.compile.mode=JIT");
+    }
+
+    @Test
+    void should_warn_that_runtime_profile_does_not_apply_to_the_maven_jvm() throws MojoExecutionException {
+        // given
+        final Log log = mock(Log.class);
+        AsciidoctorMojo mojo = mockAsciidoctorMojo();
+        mojo.setLog(log);
+        mojo.runtimeProfile = RuntimeProfile.THROUGHPUT;
+
+        // when
+        mojo.createAsciidoctor().shutdown();
+
+        // then
+        verify(log).warn(contains("only apply to fork and daemon workers"));
+    }
+
+    @Test
+    void should_record_conversion_timings() throws MojoFailureException, MojoExecutionException {
+        // given
+        File srcDir = new File(DEFAULT_SOURCE_DIRECTORY);
+        File outputDir = newOutputTestDirectory();
+        File timingsFile = new File(outputDir, "timings/conversion-timings.properties");
+
+        // when
+        AsciidoctorMojo mojo = mockAsciidoctorMojo();
+        mojo.backend = "html5";
+        mojo.sourceDirectory = srcDir;
+        mojo.outputDirectory = outputDir;
+        mojo.sourceDocumentName = "sample.asciidoc";
+        mojo.conversionTimingsFile = timingsFile;
+        mojo.resources = excludeAll();
+        mojo.execute();
+
+        // then
+        assertThat(outputDir, "timings/conversion-timings.properties")
+                .contains("sample.asciidoc=");
+    }
+
+    @Test
+    void should_record_chapters_conversion_timings_in_book_mode() throws MojoFailureException, MojoExecutionException {
+        // given
+        File srcDir = new File(DEFAULT_SOURCE_DIRECTORY);
+        File outputDir = newOutputTestDirectory();
+        File timingsFile = new File(outputDir, "timings/conversion-timings.properties");
+
+        // when
+        AsciidoctorMojo mojo = mockAsciidoctorMojo();
+        mojo.backend = "html5";
+        mojo.bookMode = true;
+        mojo.relativeBaseDir = true;
+        mojo.sourceDirectory = srcDir;
+        mojo.outputDirectory = outputDir;
+        mojo.sourceDocumentName = "book-mode-references/master.adoc";
+        mojo.conversionTimingsFile = timingsFile;
+        mojo.resources = excludeAll();
+        mojo.execute();
+
+        // then
+        assertThat(outputDir, "timings/conversion-timings.properties")
+                .contains("book-mode-references/master.adoc=")
+                .contains("book-mode-references/chapters/_first.adoc=")
+                .contains("book-mode-references/chapters/_second.adoc=")
+                .contains("book-mode-references/chapters/_third.adoc=");
+    }
+
+    @Test
+    void should_initialize_asciidoctor_while_copying_resources() throws MojoExecutionException {
+        // given
+        File srcDir = new File(DEFAULT_SOURCE_DIRECTORY);
+        File outputDir = newOutputTestDirectory();
+        List<String> initThreads = new CopyOnWriteArrayList<>();
+        List<String> copyThreads = new CopyOnWriteArrayList<>();
+
+        // when
+        AsciidoctorMojo mojo = spy(mockAsciidoctorMojo());
+        mojo.backend = "html5";
+        mojo.sourceDirectory = srcDir;
+        mojo.outputDirectory = outputDir;
+        mojo.sourceDocumentName = "sample.asciidoc";
+        doAnswer(invocation -> {
+            initThreads.add(Thread.currentThread().getName());
+            return invocation.callRealMethod();
+        }).when(mojo).getAsciidoctor();
+        mojo.processAllSources((sourceDirectory, outputDirectory, configuration) -> copyThreads.add(Thread.currentThread().getName()));
+
+        // then
+        Assertions.assertThat(initThreads).containsExactly("asciidoctor-init");
+        Assertions.assertThat(copyThreads).containsExactly(Thread.currentThread().getName());
+        assertThat(outputDir, "sample.html")
+                .contains("<body class=\"article\">");
+    }
+
+    @Test
+    void should_not_initialize_asciidoctor_when_there_are_no_sources() throws MojoExecutionException {
+        // given
+        File srcDir = new File(DEFAULT_SOURCE_DIRECTORY, "templates");
+        File outputDir = newOutputTestDirectory();
+        List<String> initThreads = new CopyOnWriteArrayList<>();
+
+        // when
+        AsciidoctorMojo mojo = spy(mockAsciidoctorMojo());
+        mojo.backend = "html5";
+        mojo.sourceDirectory = srcDir;
+        mojo.outputDirectory = outputDir;
+        doAnswer(invocation -> {
+            initThreads.add(Thread.currentThread().getName());
+            return invocation.callRealMethod();
+        }).when(mojo).getAsciidoctor();
+        mojo.processAllSources((sourceDirectory, outputDirectory, configuration) -> {
+        });
+
+        // then
+        Assertions.assertThat(initThreads).isEmpty();
+    }
+
+    @Test
+    void should_convert_chapters_in_parallel_in_book_mode()throws MojoFailureException, MojoExecutionException, IOException {
+        // given
+        File srcDir = new File(DEFAULT_SOURCE_DIRECTORY);
+        File outputDir = newOutputTestDirectory("book-mode");
+        File singleOutputDir = newOutputTestDirectory("book-mode-single");
+
+        // when
+        AsciidoctorMojo mojo = mockAsciidoctorMojo();
+        mojo.backend = "html5";
+        mojo.bookMode = true;
+        mojo.bookModeThreads = 2;
+        mojo.relativeBaseDir = true;
+        mojo.sourceDirectory = srcDir;
+        mojo.outputDirectory = outputDir;
+        mojo.sourceDocumentName = "book-mode/master.adoc";
+        mojo.resources = excludeAll();
+        mojo.execute();
+
+        AsciidoctorMojo singleMojo = mockAsciidoctorMojo();
+        singleMojo.backend = "html5";
+        singleMojo.relativeBaseDir = true;
+        singleMojo.sourceDirectory = srcDir;
+        singleMojo.outputDirectory = singleOutputDir;
+        singleMojo.sourceDocumentName = "book-mode/master.adoc";
+        singleMojo.resources = excludeAll();
+        singleMojo.execute();
+
+        // then
+        assertThat(outputDir, "master.html")
+                .isNotEmpty()
+                .contains("<h1>Book Mode Sample</h1>")
+                .contains("<a href=\"#_requirements\">1.1. Requirements</a>")
+                .contains("<h2 id=\"usage\">2. Usage</h2>")
+                .contains("<h3 id=\"configuration\">2.1. Configuration</h3>")
+                .contains("See <a href=\"#configuration\">Configuration</a> for the available options.")
+                .contains("Figure 2. Usage overview")
+                .contains("<a href=\"#_footnoteref_2\">2</a>. Usage notes.")
+                .doesNotContain("asciidoctor-maven-plugin:chapter");
+        Assertions.assertThat(withoutLastUpdated(new File(outputDir, "master.html")))
+                .isEqualTo(withoutLastUpdated(new File(singleOutputDir, "master.html")));
+    }
+
+    @Test
+    void should_keep_references_footnotes_and_numbers_across_chapters_in_book_mode() throws MojoFailureException, MojoExecutionException, IOException {
+        // given
+        File srcDir = new File(DEFAULT_SOURCE_DIRECTORY);
+        File outputDir = newOutputTestDirectory("book-mode-references");
+        File singleOutputDir = newOutputTestDirectory("book-mode-references-single");
+
+        // when
+        convertBook(srcDir, outputDir, "html5", true);
+        convertBook(srcDir, singleOutputDir, "html5", false);
+
+        // then
+        assertThat(outputDir, "master.html")
+                .contains("Forward reference to <a href=\"#third-details\">Third Details</a> and to <a href=\"#_second_chapter\">the second chapter</a>.")
+                .contains("Back reference to <a href=\"#first-anchor\">First anchor</a> and <a href=\"#inline-anchor\">the inline anchor</a>.")
+                .contains("See <a href=\"#_second_subsection\">Second Subsection</a>.")
+                .contains("<h5 id=\"_deep_section\">2.1.1.1. Deep Section</h5>")
+                .contains("<h3 id=\"_second_section_with_raw_and_passthrough_markup\">2.1. Second Section with <u>raw</u> and <em>passthrough</em> markup</h3>")
+                .contains("Table 2. Second table")
+                .contains("Example 2. Another example")
+                .contains("<a href=\"#_footnoteref_4\">4</a>. Fourth note.")
+                .doesNotContain("asciidoctor-maven-plugin:chapter");
+        Assertions.assertThat(withoutLastUpdated(new File(outputDir, "master.html")))
+                .isEqualTo(withoutLastUpdated(new File(singleOutputDir, "master.html")));
+    }
+
+    @Test
+    void should_convert_as_single_document_in_book_mode_when_backend_is_not_html5() throws MojoFailureException, MojoExecutionException, IOException {
+        // given
+        File srcDir = new File(DEFAULT_SOURCE_DIRECTORY);
+        File outputDir = newOutputTestDirectory("book-mode-xhtml");
+        File singleOutputDir = newOutputTestDirectory("book-mode-xhtml-single");
+
+        // when
+        convertBook(srcDir, outputDir, "xhtml5", true);
+        convertBook(srcDir, singleOutputDir, "xhtml5", false);
+
+        // then
+        Assertions.assertThat(withoutLastUpdated(new File(outputDir, "master.html")))
+                .isEqualTo(withoutLastUpdated(new File(singleOutputDir, "master.html")));
+    }
+
+    @Test
+    void should_convert_as_single_document_in_book_mode_when_xrefstyle_is_set() throws MojoFailureException, MojoExecutionException, IOException {
+        // given
+        File srcDir = new File(DEFAULT_SOURCE_DIRECTORY);
+        File outputDir = newOutputTestDirectory("book-mode-xrefstyle");
+
+        // when
+        AsciidoctorMojo mojo = mockAsciidoctorMojo();
+        mojo.bookMode = true;
+        mojo.attributes = Map.of("xrefstyle", "short");
+        mojo.relativeBaseDir = true;
+        mojo.sourceDirectory = srcDir;
+        mojo.outputDirectory = outputDir;
+        mojo.sourceDocumentName = "book-mode-references/master.adoc";
+        mojo.resources = excludeAll();
+        mojo.execute();
+
+        // then
+        assertThat(outputDir, "master.html")
+                .contains("Forward reference to <a href=\"#third-details\">Section 3.1</a>")
+                .contains("See <a href=\"#_second_subsection\">Section 2.1.1</a>.");
+    }
+
+    private void convertBook(File srcDir, File outputDir, String backend, boolean bookMode) throws MojoFailureException, MojoExecutionException {
+        AsciidoctorMojo mojo = mockAsciidoctorMojo();
+        mojo.backend = backend;
+        mojo.bookMode = bookMode;
+        mojo.bookModeThreads = 2;
+        mojo.relativeBaseDir = true;
+        mojo.sourceDirectory = srcDir;
+        mojo.outputDirectory = outputDir;
+        mojo.sourceDocumentName = "book-mode-references/master.adoc";
+        mojo.resources = excludeAll();
+        mojo.execute();
+    }
+
+    private static String withoutLastUpdated(File file) throws IOException {
+        return Files.readString(file.toPath()).replaceAll("Last updated .*", "");
+    }
+
     @Test
     void should_convert_to_html5_with_defaults() throws MojoFailureException, MojoExecutionException {
         // given
@@ -183,6 +525,32 @@ class AsciidoctorMojoTest {
                 .doesNotContain("<link rel=\"stylesheet\" href=\"./asciidoctor.css\">");
     }
 
+    @Test
+    void should_convert_to_html_in_forked_worker() throws MojoFailureException, MojoExecutionException {
+        // given
+        File srcDir = new File(DEFAULT_SOURCE_DIRECTORY);
+        File outputDir = newOutputTestDirectory();
+
+        // when
+        AsciidoctorMojo mojo = mockAsciidoctorMojo();
+        mojo.backend = "html";
+        mojo.sourceDirectory = srcDir;
+        mojo.sourceDocumentName = "sample.asciidoc";
+        mojo.resources = excludeAll();
+        mojo.outputDirectory = outputDir;
+        mojo.attributes = Map.of("toc", "");
+        mojo.fork = true;
+        mojo.jvmArgs = List.of("-Xmx512m");
+
+        mojo.execute();
+
+        // then
+        assertThat(outputDir, "sample.html")
+                .isNotEmpty()
+                .contains("<body class=\"article\">")
+                .contains("id=\"toc\"");
+    }
+
     @Test
     void should_convert_to_html_with_a_custom_slim_template() throws MojoFailureException, MojoExecutionException {
         // given
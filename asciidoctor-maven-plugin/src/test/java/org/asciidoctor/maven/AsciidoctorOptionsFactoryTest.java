@@ -0,0 +1,44 @@
+package org.asciidoctor.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.asciidoctor.Options;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.asciidoctor.maven.test.TestUtils.mockAsciidoctorMojo;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsciidoctorOptionsFactoryTest {
+
+    @TempDir
+    File sourceDir;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void should_project_maven_properties_referenced_in_configured_attributes() throws IOException {
+        // given
+        Files.writeString(new File(sourceDir, "index.adoc").toPath(), "Revision {revnumber}, released on {revdate}.\n");
+        final AsciidoctorMojo mojo = mockAsciidoctorMojo(Map.of(
+            "project.version", "1.2.3",
+            "release.date", "today",
+            "project.name", "not referenced"));
+        mojo.attributesProjection = true;
+        mojo.attributes = Map.of("revnumber", "{project-version}");
+        mojo.attributesChain = "revdate={release-date}";
+
+        // when
+        final Options options = new AsciidoctorOptionsFactory().create(mojo, mojo.project, sourceDir, new SystemStreamLog()).build();
+
+        // then
+        final Map<String, Object> attributes = (Map<String, Object>) options.map().get(Options.ATTRIBUTES);
+        assertThat(attributes)
+            .containsEntry("project-version", "1.2.3")
+            .containsEntry("release-date", "today")
+            .doesNotContainKey("project-name");
+    }
+}
@@ -13,6 +13,7 @@ import lombok.SneakyThrows;
 import org.apache.commons.io.FileUtils;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
+import org.asciidoctor.Asciidoctor;
 import org.asciidoctor.maven.io.ConsoleHolder;
 import org.asciidoctor.maven.model.Resource;
 import org.asciidoctor.maven.test.TestUtils.ResourceBuilder;
@@ -755,6 +756,29 @@ class AsciidoctorRefreshMojoTest {
         awaitTermination(mojoThread);
     }
 
+    @Test
+    void should_reuse_asciidoctor_instance_until_configuration_changes() throws MojoExecutionException {
+        // given
+        final AsciidoctorRefreshMojo mojo = newFakeRefreshMojo();
+
+        // when
+        final Asciidoctor initial = mojo.getAsciidoctor();
+
+        // then
+        assertThat(mojo.getAsciidoctor()).isSameAs(initial);
+
+        // and when
+        mojo.setEnableVerbose(true);
+
+        // then
+        final Asciidoctor reinitialized = mojo.getAsciidoctor();
+        assertThat(reinitialized).isNotSameAs(initial);
+        assertThat(mojo.getAsciidoctor()).isSameAs(reinitialized);
+
+        // cleanup
+        mojo.shutdownAsciidoctor();
+    }
+
     private Thread runMojoAsynchronously(Consumer<AsciidoctorRefreshMojo> mojoConfigurator) {
         final AsciidoctorRefreshMojo mojo = newFakeRefreshMojo();
         mojoConfigurator.accept(mojo);
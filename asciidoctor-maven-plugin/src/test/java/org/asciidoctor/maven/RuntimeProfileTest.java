@@ -0,0 +1,68 @@
+package org.asciidoctor.maven;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RuntimeProfileTest {
+
+    @Test
+    void should_not_set_options_without_profile() throws MojoExecutionException {
+        assertThat(RuntimeProfile.options(null, Map.of())).isEmpty();
+    }
+
+    @Test
+    void should_disable_jit_for_startup() throws MojoExecutionException {
+        final Map<String, String> options = RuntimeProfile.options(RuntimeProfile.STARTUP, Map.of());
+
+        assertThat(options)
+            .containsEntry("jruby.compile.mode", "OFF")
+            .containsEntry("jruby.compile.invokedynamic", "false");
+    }
+
+    @Test
+    void should_enable_jit_and_invokedynamic_for_throughput() throws MojoExecutionException {
+        final Map<String, String> options = RuntimeProfile.options(RuntimeProfile.THROUGHPUT, Map.of());
+
+        assertThat(options)
+            .containsEntry("jruby.compile.mode", "JIT")
+            .containsEntry("jruby.compile.invokedynamic", "true");
+    }
+
+    @Test
+    void should_override_profile_with_runtime_options() throws MojoExecutionException {
+        // given
+        final Map<String, String> runtimeOptions = new HashMap<>();
+        runtimeOptions.put("jruby.jit.threshold", "100");
+        runtimeOptions.put("jruby.jit.logging", null);
+
+        // when
+        final Map<String, String> options = RuntimeProfile.options(RuntimeProfile.THROUGHPUT, runtimeOptions);
+
+        // then
+        assertThat(options)
+            .containsEntry("jruby.jit.threshold", "100")
+            .containsEntry("jruby.jit.logging", "true");
+    }
+
+    @Test
+    void should_only_use_runtime_options_for_custom() throws MojoExecutionException {
+        final Map<String, String> options = RuntimeProfile.options(RuntimeProfile.CUSTOM, Map.of("jruby.compile.mode", "JIT"));
+
+        assertThat(options).containsExactly(Map.entry("jruby.compile.mode", "JIT"));
+        assertThat(RuntimeProfile.jvmArgs(options)).isEqualTo(List.of("-Djruby.compile.mode=JIT"));
+    }
+
+    @Test
+    void should_fail_with_invalid_profile() {
+        assertThatThrownBy(() -> RuntimeProfile.options("fast", Map.of()))
+            .isInstanceOf(MojoExecutionException.class)
+            .hasMessageContaining("Invalid runtimeProfile 'fast'");
+    }
+}
@@ -0,0 +1,107 @@
+package org.asciidoctor.maven.book;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class BookStructureTest {
+
+    @TempDir
+    File baseDir;
+
+    @BeforeEach
+    void setup() throws IOException {
+        for (String chapter : List.of("chapter-1.adoc", "chapter-2.adoc", "chapter-3.adoc")) {
+            Files.writeString(new File(baseDir, chapter).toPath(), "== " + chapter);
+        }
+    }
+
+    @Test
+    void should_find_chapters_included_in_the_body() {
+        // given
+        final List<String> lines = List.of(
+            "= Title",
+            ":toc:",
+            ":!sectanchors:",
+            "",
+            "include::chapter-1.adoc[]",
+            "",
+            "include::{chapters}/chapter-2.adoc[]");
+
+        // when
+        final BookStructure structure = BookStructure.parse(lines, baseDir, attributes(Map.of("chapters", ".")));
+
+        // then
+        assertThat(structure.getHeaderAttributes()).containsExactly("toc");
+        assertThat(structure.getUnsetHeaderAttributes()).containsExactly("sectanchors");
+        assertThat(structure.getChapters())
+            .extracting(BookStructure.Chapter::getLineIndex, chapter -> chapter.getFile().getName())
+            .containsExactly(
+                tuple(4, "chapter-1.adoc"),
+                tuple(6, "chapter-2.adoc"));
+    }
+
+    @Test
+    void should_apply_level_offsets() {
+        // given
+        final List<String> lines = List.of(
+            "= Title",
+            "",
+            "include::chapter-1.adoc[leveloffset=+1]",
+            ":leveloffset: 1",
+            "include::chapter-2.adoc[]",
+            "include::chapter-3.adoc[leveloffset=+1]");
+
+        // when
+        final BookStructure structure = BookStructure.parse(lines, baseDir, attributes(Map.of()));
+
+        // then
+        assertThat(structure.getChapters())
+            .extracting(BookStructure.Chapter::getLevelOffset)
+            .containsExactly(1, 1, 2);
+        assertThat(structure.getChapters())
+            .extracting(BookStructure.Chapter::getDocumentLevelOffset)
+            .containsExactly(0, 1, 1);
+    }
+
+    @Test
+    void should_not_find_chapters_in_blocks_conditionals_or_partial_includes() {
+        // given
+        final List<String> lines = List.of(
+            "= Title",
+            "",
+            "----",
+            "include::chapter-1.adoc[]",
+            "----",
+            "ifdef::backend-pdf[]",
+            "include::chapter-1.adoc[]",
+            "endif::[]",
+            "include::chapter-2.adoc[tag=intro]",
+            "include::{missing}/chapter-2.adoc[]",
+            "include::missing.adoc[]",
+            "include::https://example.org/chapter.adoc[]",
+            "include::chapter-3.adoc[]");
+
+        // when
+        final BookStructure structure = BookStructure.parse(lines, baseDir, attributes(Map.of()));
+
+        // then
+        assertThat(structure.getChapters())
+            .extracting(chapter -> chapter.getFile().getName())
+            .containsExactly("chapter-3.adoc");
+    }
+
+    private static Function<String, String> attributes(Map<String, String> attributes) {
+        return attributes::get;
+    }
+}
@@ -0,0 +1,41 @@
+package org.asciidoctor.maven.fork;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CdsArchiveTest {
+
+    @Test
+    void should_store_archives_by_classpath() {
+        final Path first = CdsArchive.file(List.of("a.jar", "b.jar"));
+        final Path second = CdsArchive.file(List.of("a.jar", "c.jar"));
+
+        assertThat(first).isNotEqualTo(second);
+        assertThat(first.getParent()).isEqualTo(CdsArchive.DIRECTORY);
+        assertThat(first.getFileName().toString()).endsWith(".jsa");
+    }
+
+    @Test
+    void should_not_use_archive_when_it_does_not_exist() {
+        final ForkConfiguration configuration = configuration(List.of(), List.of("not-archived-" + System.nanoTime() + ".jar"));
+
+        assertThat(CdsArchive.jvmArgs(configuration)).isEmpty();
+    }
+
+    @Test
+    void should_not_use_archive_when_jvm_args_set_class_data_sharing() {
+        for (String jvmArg : List.of("-Xshare:off", "-XX:SharedArchiveFile=app.jsa", "-XX:ArchiveClassesAtExit=app.jsa")) {
+            final ForkConfiguration configuration = configuration(List.of(jvmArg), ForkConfiguration.pluginClasspath());
+
+            assertThat(CdsArchive.jvmArgs(configuration)).isEmpty();
+        }
+    }
+
+    private static ForkConfiguration configuration(List<String> jvmArgs, List<String> classpath) {
+        return new ForkConfiguration(jvmArgs, classpath, null, false, List.of(), List.of());
+    }
+}
@@ -0,0 +1,157 @@
+package org.asciidoctor.maven.fork;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.asciidoctor.Options;
+import org.asciidoctor.SafeMode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ForkedWorkerTest {
+
+    private static final long IDLE_TIMEOUT_MILLIS = 10_000;
+
+    @TempDir
+    private Path daemonsDirectory;
+
+    @TempDir
+    private Path outputDirectory;
+
+    @Test
+    void should_start_forked_worker_and_convert() throws IOException {
+        // given
+        final ForkConfiguration configuration = new ForkConfiguration(List.of(), ForkConfiguration.pluginClasspath(),
+            null, false, List.of(), List.of());
+        final File source = outputDirectory.resolve("document.adoc").toFile();
+        Files.writeString(source.toPath(), "= Document Title\n\nConverted in a forked worker.", UTF_8);
+        final Map<String, Object> options = Options.builder()
+            .safe(SafeMode.UNSAFE)
+            .toDir(outputDirectory.toFile())
+            .build()
+            .map();
+
+        // when
+        try (ForkedWorker worker = ForkedWorker.start(configuration)) {
+            final ConversionResult result = worker.convert(source, options);
+
+            // then
+            assertThat(result.getFailure()).isNull();
+            assertThat(outputDirectory.resolve("document.html"))
+                .content(UTF_8)
+                .contains("Converted in a forked worker.");
+        }
+    }
+
+    @Test
+    void should_start_daemon_and_reuse_it_from_new_connections() throws IOException {
+        // given
+        final ForkConfiguration configuration = new ForkConfiguration(List.of(), ForkConfiguration.pluginClasspath(),
+            null, false, List.of(), List.of());
+        final File source = outputDirectory.resolve("document.adoc").toFile();
+        Files.writeString(source.toPath(), "= Document Title\n\nConverted in a daemon.", UTF_8);
+        final Map<String, Object> options = Options.builder()
+            .safe(SafeMode.UNSAFE)
+            .toDir(outputDirectory.toFile())
+            .build()
+            .map();
+
+        // when
+        final Path registryFile = daemonsDirectory.resolve(configuration.fingerprint() + ".properties");
+        final int port;
+        try (ForkedWorker worker = ForkedWorker.connectDaemon(configuration, daemonsDirectory, IDLE_TIMEOUT_MILLIS)) {
+            final ConversionResult result = worker.convert(source, options);
+
+            // then
+            assertThat(result.getFailure()).isNull();
+            assertThat(outputDirectory.resolve("document.html"))
+                .content(UTF_8)
+                .contains("Converted in a daemon.");
+            port = DaemonRegistry.read(registryFile).getPort();
+        }
+
+        // and when: the daemon survives the connection
+        try (ForkedWorker worker = ForkedWorker.connectDaemon(configuration, daemonsDirectory, IDLE_TIMEOUT_MILLIS)) {
+            final ConversionResult result = worker.convert(source, options);
+
+            // then
+            assertThat(result.getFailure()).isNull();
+            assertThat(DaemonRegistry.read(registryFile).getPort()).isEqualTo(port);
+        }
+    }
+
+    @Test
+    void should_close_daemon_connections_with_wrong_token() throws IOException {
+        // given
+        final ForkConfiguration configuration = new ForkConfiguration(List.of(), ForkConfiguration.pluginClasspath(),
+            null, false, List.of(), List.of());
+        final Path registryFile = daemonsDirectory.resolve(configuration.fingerprint() + ".properties");
+        ForkedWorker.connectDaemon(configuration, daemonsDirectory, IDLE_TIMEOUT_MILLIS).close();
+        final int port = DaemonRegistry.read(registryFile).getPort();
+
+        // when
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            socket.setSoTimeout(10_000);
+            WorkerProtocol.writeToken(socket.getOutputStream(), WorkerProtocol.newToken());
+
+            // then: the daemon does not even send the object stream header
+            assertThat(socket.getInputStream().read()).isEqualTo(-1);
+        }
+
+        // and: the daemon still serves clients with the token
+        try (ForkedWorker worker = ForkedWorker.connectDaemon(configuration, daemonsDirectory, IDLE_TIMEOUT_MILLIS)) {
+            assertThat(worker.isUsable()).isTrue();
+        }
+    }
+
+    @Test
+    void should_report_rejected_objects_to_the_client() throws Exception {
+        // given
+        final ForkConfiguration configuration = new ForkConfiguration(List.of(), ForkConfiguration.pluginClasspath(),
+            null, false, List.of(), List.of());
+        final Path registryFile = daemonsDirectory.resolve(configuration.fingerprint() + ".properties");
+        ForkedWorker.connectDaemon(configuration, daemonsDirectory, IDLE_TIMEOUT_MILLIS).close();
+        final DaemonRegistry registry = DaemonRegistry.read(registryFile);
+
+        // when
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), registry.getPort())) {
+            socket.setSoTimeout(10_000);
+            WorkerProtocol.writeToken(socket.getOutputStream(), registry.getToken());
+            final ObjectOutputStream output = new ObjectOutputStream(socket.getOutputStream());
+            output.writeObject(new StringBuilder("not a configuration"));
+            output.flush();
+
+            // then
+            final ConversionResult result = (ConversionResult) WorkerProtocol.objectInput(socket.getInputStream()).readObject();
+            assertThat(result.getFailure()).startsWith("Invalid request: ");
+        }
+    }
+
+    @Test
+    void should_send_absolute_paths_to_workers() {
+        // given
+        final Map<String, Object> options = Options.builder()
+            .toDir(new File("target/docs"))
+            .baseDir(new File("src/docs"))
+            .build()
+            .map();
+
+        // when
+        final ConversionRequest request = new ConversionRequest(new File("src/docs/index.adoc"), options);
+
+        // then
+        assertThat(request.getSource()).isAbsolute();
+        assertThat(new File((String) request.getOptions().get(Options.TO_DIR))).isAbsolute();
+        assertThat(new File((String) request.getOptions().get(Options.BASEDIR))).isAbsolute();
+    }
+}
@@ -0,0 +1,71 @@
+package org.asciidoctor.maven.fork;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class WorkerProtocolTest {
+
+    @Test
+    void should_create_different_tokens() {
+        assertThat(WorkerProtocol.newToken())
+            .hasSizeGreaterThanOrEqualTo(43)
+            .isNotEqualTo(WorkerProtocol.newToken());
+    }
+
+    @Test
+    void should_accept_only_expected_token() throws IOException {
+        final String token = WorkerProtocol.newToken();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        WorkerProtocol.writeToken(output, token);
+
+        assertThat(WorkerProtocol.readToken(new ByteArrayInputStream(output.toByteArray()), token)).isTrue();
+        assertThat(WorkerProtocol.readToken(new ByteArrayInputStream(output.toByteArray()), WorkerProtocol.newToken())).isFalse();
+    }
+
+    @Test
+    void should_read_protocol_objects() throws Exception {
+        final ConversionRequest request = new ConversionRequest(new File("index.adoc"),
+            Map.of("attributes", Map.of("toc", true, "sectnumlevels", 2L), "template_dirs", List.of("templates")));
+
+        try (ObjectInputStream input = WorkerProtocol.objectInput(serialize(request))) {
+            final ConversionRequest read = (ConversionRequest) input.readObject();
+
+            assertThat(read.getSource()).isEqualTo(request.getSource());
+            assertThat(read.getOptions()).isEqualTo(request.getOptions());
+        }
+    }
+
+    @Test
+    void should_reject_other_classes() throws IOException {
+        try (ObjectInputStream input = WorkerProtocol.objectInput(serialize(Map.of("key", new NotAllowed())))) {
+            final Throwable throwable = catchThrowable(input::readObject);
+
+            assertThat(throwable).isInstanceOf(InvalidClassException.class);
+        }
+    }
+
+    private static ByteArrayInputStream serialize(Object object) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(object);
+        }
+        return new ByteArrayInputStream(bytes.toByteArray());
+    }
+
+    static class NotAllowed implements Serializable {
+        private static final long serialVersionUID = 1L;
+    }
+}
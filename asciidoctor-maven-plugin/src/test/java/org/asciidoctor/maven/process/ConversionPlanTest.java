@@ -0,0 +1,138 @@
+package org.asciidoctor.maven.process;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import org.asciidoctor.Attributes;
+import org.asciidoctor.Options;
+import org.asciidoctor.maven.AsciidoctorMojo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConversionPlanTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void should_plan_each_source_for_each_backend() throws IOException {
+        // given
+        final File sourceDirectory = new File(tempDir, "src");
+        final List<File> sources = List.of(new File(sourceDirectory, "a.adoc"), new File(sourceDirectory, "b.adoc"));
+        final AsciidoctorMojo configuration = configuration();
+
+        // when
+        final ConversionPlan plan = ConversionPlan.create(sources, sourceDirectory, List.of("html5", "docbook"), options(), configuration);
+
+        // then
+        assertThat(plan.getConversions())
+            .extracting(c -> c.getSource().getName() + ":" + c.getBackend())
+            .containsExactly("a.adoc:html5", "a.adoc:docbook", "b.adoc:html5", "b.adoc:docbook");
+        assertThat(plan.getDuplicatedDestinations()).isEmpty();
+        final Map<String, Object> options = plan.getConversions().get(1).getOptions().map();
+        assertThat(options)
+            .containsEntry(Options.BACKEND, "docbook")
+            .containsEntry(Options.BASEDIR, sourceDirectory.getPath())
+            .containsEntry(Options.TO_DIR, configuration.getOutputDirectory().getPath())
+            .doesNotContainKey(Options.TO_FILE);
+    }
+
+    @Test
+    void should_preserve_directories() throws IOException {
+        // given
+        final File sourceDirectory = new File(tempDir, "src");
+        final File source = new File(sourceDirectory, "sub/dir/a.adoc");
+        final AsciidoctorMojo configuration = configuration();
+        configuration.setPreserveDirectories(true);
+        configuration.setRelativeBaseDir(true);
+
+        // when
+        final ConversionPlan plan = ConversionPlan.create(List.of(source), sourceDirectory, List.of("html5"), options(), configuration);
+
+        // then
+        final Map<String, Object> options = plan.getConversions().get(0).getOptions().map();
+        assertThat(options)
+            .containsEntry(Options.BASEDIR, source.getParentFile().getPath())
+            .containsEntry(Options.TO_DIR, new File(configuration.getOutputDirectory().getCanonicalPath(), "sub/dir").getPath());
+    }
+
+    @Test
+    void should_detect_duplicated_destinations_before_converting() throws IOException {
+        // given
+        final File sourceDirectory = new File(tempDir, "src");
+        final List<File> sources = List.of(
+            new File(sourceDirectory, "a.adoc"),
+            new File(sourceDirectory, "sub/a.adoc"),
+            new File(sourceDirectory, "b.adoc"));
+        final AsciidoctorMojo configuration = configuration();
+
+        // when
+        final ConversionPlan plan = ConversionPlan.create(sources, sourceDirectory, List.of("html5"), options(), configuration);
+
+        // then
+        assertThat(plan.getConversions()).hasSize(3);
+        assertThat(plan.getDuplicatedDestinations())
+            .containsExactly(configuration.getOutputDirectory().getAbsolutePath() + File.separator + "a.*");
+    }
+
+    @Test
+    void should_detect_duplicated_output_file() throws IOException {
+        // given
+        final File sourceDirectory = new File(tempDir, "src");
+        final List<File> sources = List.of(new File(sourceDirectory, "a.adoc"), new File(sourceDirectory, "b.adoc"));
+        final AsciidoctorMojo configuration = configuration();
+        configuration.setOutputFile("out.html");
+
+        // when
+        final ConversionPlan plan = ConversionPlan.create(sources, sourceDirectory, List.of("html5", "xhtml5"), options(), configuration);
+
+        // then
+        final File outputFile = new File(configuration.getOutputDirectory(), "out.html");
+        assertThat(plan.getDuplicatedDestinations())
+            .hasSize(3)
+            .containsOnly(outputFile.getAbsolutePath());
+        assertThat(plan.getConversions().get(0).getOptions().map()).containsEntry(Options.TO_FILE, "out.html");
+    }
+
+    @Test
+    void should_return_independent_options() throws IOException {
+        // given
+        final File sourceDirectory = new File(tempDir, "src");
+        final ConversionPlan plan = ConversionPlan.create(List.of(new File(sourceDirectory, "a.adoc")), sourceDirectory,
+            List.of("html5"), options(), configuration());
+        final ConversionPlan.Conversion conversion = plan.getConversions().get(0);
+
+        // when
+        final Options modified = conversion.getOptions();
+        modified.setOption(Options.BACKEND, "pdf");
+        attributes(modified).put("toc", "left");
+
+        // then
+        final Options options = conversion.getOptions();
+        assertThat(options.map()).containsEntry(Options.BACKEND, "html5");
+        assertThat(attributes(options))
+            .containsEntry("icons", "font")
+            .doesNotContainKey("toc");
+    }
+
+    private AsciidoctorMojo configuration() {
+        final AsciidoctorMojo configuration = new AsciidoctorMojo(null, null, null, null);
+        configuration.setOutputDirectory(new File(tempDir, "output"));
+        return configuration;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> attributes(Options options) {
+        return (Map<String, Object>) options.map().get(Options.ATTRIBUTES);
+    }
+
+    private static Options options() {
+        return Options.builder()
+            .attributes(Attributes.builder().attribute("icons", "font").build())
+            .build();
+    }
+}
@@ -0,0 +1,118 @@
+package org.asciidoctor.maven.process;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConversionTimingsTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void should_return_recorded_durations_after_saving() throws IOException {
+        // given
+        final File timingsFile = new File(tempDir, "timings/conversion-timings.properties");
+        final File source = newSource("document.adoc", 100);
+        final ConversionTimings timings = ConversionTimings.load(timingsFile, tempDir);
+
+        // when
+        timings.record(source, 1234);
+        timings.save();
+
+        // then
+        assertThat(ConversionTimings.load(timingsFile, tempDir).estimate(source)).isEqualTo(1234);
+    }
+
+    @Test
+    void should_estimate_new_documents_from_their_size() throws IOException {
+        // given
+        final File known = newSource("known.adoc", 1000);
+        final File small = newSource("small.adoc", 500);
+        final File large = newSource("large.adoc", 4000);
+        final ConversionTimings timings = ConversionTimings.load(new File(tempDir, "missing.properties"), tempDir);
+
+        // when
+        timings.record(known, 200);
+
+        // then
+        assertThat(timings.estimate(small)).isEqualTo(100);
+        assertThat(timings.estimate(large)).isEqualTo(800);
+        assertThat(timings.estimate(List.of(known, small, large))).isEqualTo(1100);
+    }
+
+    @Test
+    void should_ignore_invalid_timings_files() throws IOException {
+        // given
+        final File timingsFile = new File(tempDir, "conversion-timings.properties");
+        final File source = newSource("document.adoc", 1000);
+        Files.writeString(timingsFile.toPath(), "document.adoc=not-a-number\n");
+
+        // when
+        final ConversionTimings timings = ConversionTimings.load(timingsFile, tempDir);
+
+        // then
+        assertThat(timings.estimate(source)).isEqualTo(1);
+    }
+
+    @Test
+    void should_use_timings_saved_in_another_workspace() throws IOException {
+        // given
+        final File timingsFile = new File(tempDir, "conversion-timings.properties");
+        final File workspace = new File(tempDir, "workspace");
+        final File otherWorkspace = new File(tempDir, "other-workspace");
+        final ConversionTimings timings = ConversionTimings.load(timingsFile, workspace);
+        timings.record(newSource("workspace/chapters/intro.adoc", 100), 300);
+        timings.save();
+
+        // when
+        final File otherSource = newSource("other-workspace/chapters/intro.adoc", 100);
+        final File otherNewSource = newSource("other-workspace/chapters/new.adoc", 200);
+        final ConversionTimings otherTimings = ConversionTimings.load(timingsFile, otherWorkspace);
+
+        // then
+        assertThat(timingsFile).content().contains("chapters/intro.adoc=300");
+        assertThat(otherTimings.estimate(otherSource)).isEqualTo(300);
+        assertThat(otherTimings.estimate(otherNewSource)).isEqualTo(600);
+    }
+
+    @Test
+    void should_ignore_absolute_paths() throws IOException {
+        // given
+        final File timingsFile = new File(tempDir, "conversion-timings.properties");
+        final File source = newSource("document.adoc", 1000);
+        Files.writeString(timingsFile.toPath(), source.getAbsolutePath().replace("\\", "\\\\") + "=5000\n");
+
+        // when
+        final ConversionTimings timings = ConversionTimings.load(timingsFile, tempDir);
+
+        // then
+        assertThat(timings.estimate(source)).isEqualTo(1);
+    }
+
+    @Test
+    void should_sort_longest_first_keeping_order_of_equal_estimations() {
+        // given
+        final Map<String, Long> estimations = Map.of("a", 10L, "b", 300L, "c", 10L, "d", 50L);
+
+        // when
+        final List<String> sorted = ConversionTimings.longestFirst(List.of("a", "b", "c", "d"), estimations::get);
+
+        // then
+        assertThat(sorted).containsExactly("b", "d", "a", "c");
+    }
+
+    private File newSource(String name, int size) throws IOException {
+        final File source = new File(tempDir, name);
+        source.getParentFile().mkdirs();
+        Files.writeString(source.toPath(), "=".repeat(size));
+        return source;
+    }
+}
@@ -2,6 +2,7 @@ package org.asciidoctor.maven.process;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
@@ -12,11 +13,13 @@ import org.asciidoctor.maven.model.Resource;
 import org.asciidoctor.maven.test.TestUtils.ResourceBuilder;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.api.io.TempDir;
 
 import static org.asciidoctor.maven.io.TestFilesHelper.createFileWithContent;
 import static org.asciidoctor.maven.process.CopyResourcesProcessor.IGNORED_FILE_NAMES;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class CopyResourcesProcessorTest {
 
@@ -117,6 +120,31 @@ public class CopyResourcesProcessorTest {
                 .containsExactlyInAnyOrder("image.jpg", "image.gif");
     }
 
+    @Test
+    void should_copy_more_resources_than_pending_copies() {
+        final int count = CopyResourcesProcessor.MAX_PENDING_COPIES * 3;
+        for (int i = 0; i < count; i++)
+            createFileWithContent(sourceDir, "image-" + i + ".jpg");
+
+        resourceProcessor.process(sourceDir, outputDir, createMojo());
+
+        assertThat(outputDir.list())
+                .hasSize(count);
+    }
+
+    @Test
+    @Timeout(60)
+    void should_fail_when_more_copies_than_pending_copies_fail() throws IOException {
+        for (int i = 0; i < CopyResourcesProcessor.MAX_PENDING_COPIES * 2; i++)
+            createFileWithContent(new File(sourceDir, "sub"), "image-" + i + ".jpg");
+        // target directory cannot be created
+        FileUtils.writeStringToFile(new File(outputDir, "sub"), "", StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> resourceProcessor.process(sourceDir, outputDir, createMojo()))
+                .isInstanceOf(RuntimeException.class)
+                .hasCauseInstanceOf(IOException.class);
+    }
+
     @Test
     void should_not_copy_empty_directories() throws IOException {
         FileUtils.forceMkdir(new File(sourceDir, "sub_1"));
@@ -0,0 +1,53 @@
+package org.asciidoctor.maven.process;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IncludeScannerTest {
+
+    @TempDir
+    File sourceDirectory;
+
+    @Test
+    void should_find_local_includes_in_order() throws IOException {
+        // given
+        final File source = new File(sourceDirectory, "index.adoc");
+        Files.writeString(source.toPath(), "= Title\n\n"
+            + "include::chapters/second.adoc[leveloffset=+1]\r\n"
+            + "include::_first.adoc[]\n"
+            + "include::chapters/../_first.adoc[]\n"
+            + "include::{includedir}/third.adoc[]\n"
+            + "include::https://example.org/remote.adoc[]\n"
+            + "include::not-closed.adoc[\n"
+            + "Text with include::inline.adoc[] is not an include.\n");
+
+        // when
+        final var includes = IncludeScanner.localIncludes(source);
+
+        // then
+        assertThat(includes).containsExactly(
+            new File(sourceDirectory, "chapters/second.adoc"),
+            new File(sourceDirectory, "_first.adoc"));
+    }
+
+    @Test
+    void should_parse_include_lines() {
+        final IncludeScanner.Include include = IncludeScanner.parse("include::{chapters}/first.adoc[leveloffset=+1]");
+
+        assertThat(include.getTarget()).isEqualTo("{chapters}/first.adoc");
+        assertThat(include.getAttributes()).isEqualTo("leveloffset=+1");
+        assertThat(IncludeScanner.parse("include:: first.adoc[]")).isNull();
+        assertThat(IncludeScanner.parse("// include::first.adoc[]")).isNull();
+    }
+
+    @Test
+    void should_not_find_includes_when_file_does_not_exist() {
+        assertThat(IncludeScanner.localIncludes(new File(sourceDirectory, "missing.adoc"))).isEmpty();
+    }
+}
@@ -0,0 +1,33 @@
+package org.asciidoctor.maven.process;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IoExecutorsTest {
+
+    @Test
+    void should_run_tasks_in_named_daemon_threads() {
+        final ExecutorService executor = IoExecutors.newExecutor("asciidoctor-test", 2);
+        try {
+            final Thread thread = CompletableFuture.supplyAsync(Thread::currentThread, executor).join();
+
+            assertThat(thread.getName()).startsWith("asciidoctor-test-");
+            assertThat(thread.isDaemon()).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void should_create_named_daemon_threads() {
+        final Thread thread = IoExecutors.threadFactory("asciidoctor-watcher").newThread(() -> {
+        });
+
+        assertThat(thread.getName()).isEqualTo("asciidoctor-watcher-0");
+        assertThat(thread.isDaemon()).isTrue();
+    }
+}
@@ -0,0 +1,77 @@
+package org.asciidoctor.maven.process;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.asciidoctor.maven.model.LazyRequire;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LazyRequiresTest {
+
+    @TempDir
+    File sourceDirectory;
+
+    private final LazyRequires lazyRequires = new LazyRequires(List.of(
+        lazyRequire("asciidoctor-diagram", "plantuml", "ditaa"),
+        lazyRequire("asciidoctor-mathematical", "stem", "latexmath")
+    ), new SystemStreamLog());
+
+    @Test
+    void should_not_find_libraries_when_triggers_are_not_used() throws IOException {
+        final File source = write("plain.adoc", "= Title\n\nUsing plantuml in prose does not count.\n");
+
+        assertThat(lazyRequires.librariesFor(source)).isEmpty();
+    }
+
+    @Test
+    void should_find_libraries_from_blocks_macros_and_attributes() throws IOException {
+        assertThat(lazyRequires.librariesFor(write("block.adoc", "[plantuml,diagram,svg]\n----\na -> b\n----\n")))
+            .containsExactly("asciidoctor-diagram");
+        assertThat(lazyRequires.librariesFor(write("macro.adoc", "ditaa::diagram.txt[]\n")))
+            .containsExactly("asciidoctor-diagram");
+        assertThat(lazyRequires.librariesFor(write("inline.adoc", "Formula latexmath:[x^2].\n")))
+            .containsExactly("asciidoctor-mathematical");
+        assertThat(lazyRequires.librariesFor(write("attribute.adoc", "= Title\n:stem:\n")))
+            .containsExactly("asciidoctor-mathematical");
+    }
+
+    @Test
+    void should_find_libraries_in_included_files() throws IOException {
+        // given
+        new File(sourceDirectory, "chapters").mkdirs();
+        write("chapters/_diagrams.adoc", "include::../index.adoc[]\n\n[ditaa]\n....\n+--+\n....\n");
+        final File source = write("index.adoc", "= Title\n\ninclude::chapters/_diagrams.adoc[]\ninclude::{missing}/_other.adoc[]\n");
+
+        // when
+        final List<String> libraries = List.copyOf(lazyRequires.librariesFor(source));
+
+        // then
+        assertThat(libraries).containsExactly("asciidoctor-diagram");
+    }
+
+    @Test
+    void should_find_libraries_without_triggers_for_any_document() throws IOException {
+        final LazyRequires lazyRequires = new LazyRequires(List.of(lazyRequire("asciidoctor-kroki")), new SystemStreamLog());
+
+        assertThat(lazyRequires.librariesFor(write("any.adoc", "= Title\n"))).containsExactly("asciidoctor-kroki");
+    }
+
+    private File write(String name, String content) throws IOException {
+        final File file = new File(sourceDirectory, name);
+        Files.writeString(file.toPath(), content);
+        return file;
+    }
+
+    private static LazyRequire lazyRequire(String library, String... triggers) {
+        final LazyRequire lazyRequire = new LazyRequire();
+        lazyRequire.setLibrary(library);
+        lazyRequire.setTriggers(List.of(triggers));
+        return lazyRequire;
+    }
+}
@@ -0,0 +1,106 @@
+package org.asciidoctor.maven.process;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+
+import org.asciidoctor.Asciidoctor;
+import org.asciidoctor.Options;
+import org.asciidoctor.SafeMode;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class MarshalledAttributesTest {
+
+    private static Asciidoctor asciidoctor;
+
+    @TempDir
+    File tempDir;
+
+    @BeforeAll
+    static void setup() {
+        asciidoctor = Asciidoctor.Factory.create();
+    }
+
+    @AfterAll
+    static void teardown() {
+        asciidoctor.shutdown();
+    }
+
+    @Test
+    void should_convert_several_documents_with_the_same_attributes() throws IOException {
+        // given
+        final Map<String, Object> attributes = MarshalledAttributes.of(asciidoctor, Map.of("project-name", "my-project", "toc", ""));
+        final File first = source("first.adoc");
+        final File second = source("second.adoc");
+
+        // when
+        asciidoctor.convertFile(first, options(attributes));
+        asciidoctor.convertFile(second, options(attributes));
+
+        // then
+        for (String output : new String[]{"first.html", "second.html"}) {
+            assertThat(Files.readString(new File(tempDir, output).toPath()))
+                .contains("Project my-project")
+                .contains("id=\"toc\"");
+        }
+        assertThat(MarshalledAttributes.isMarshalled(attributes)).isTrue();
+        assertThat(attributes)
+            .hasSize(2)
+            .containsEntry("project-name", "my-project");
+    }
+
+    @Test
+    void should_add_attributes_to_a_copy() {
+        // given
+        final Map<String, Object> attributes = MarshalledAttributes.of(asciidoctor, Map.of("project-name", "my-project"));
+
+        // when
+        final Map<String, Object> copy = MarshalledAttributes.with(attributes, Map.of("docname", "sample"));
+
+        // then
+        assertThat(copy)
+            .containsEntry("project-name", "my-project")
+            .containsEntry("docname", "sample");
+        assertThat(attributes).doesNotContainKey("docname");
+    }
+
+    @Test
+    void should_keep_plain_attributes_when_they_cannot_be_converted() {
+        // given
+        final Map<String, Object> plainAttributes = Map.of("project-name", "my-project");
+
+        // when
+        final Map<String, Object> attributes = MarshalledAttributes.of(mock(Asciidoctor.class), plainAttributes);
+        final Map<String, Object> copy = MarshalledAttributes.with(attributes, Map.of("docname", "sample"));
+
+        // then
+        assertThat(attributes).isSameAs(plainAttributes);
+        assertThat(MarshalledAttributes.isMarshalled(attributes)).isFalse();
+        assertThat(copy)
+            .containsEntry("project-name", "my-project")
+            .containsEntry("docname", "sample");
+    }
+
+    private File source(String name) throws IOException {
+        final File source = new File(tempDir, name);
+        Files.writeString(source.toPath(), "= Title\n\n== Section\n\nProject {project-name}\n");
+        return source;
+    }
+
+    private Options options(Map<String, Object> attributes) {
+        final Options options = Options.builder()
+            .safe(SafeMode.UNSAFE)
+            .standalone(true)
+            .toDir(tempDir)
+            .build();
+        options.setOption(Options.ATTRIBUTES, attributes);
+        return options;
+    }
+}
@@ -0,0 +1,104 @@
+package org.asciidoctor.maven.process;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MemoryAdmissionControllerTest {
+
+    private static final long MAX_HEAP = 1000;
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void should_admit_conversions_while_there_is_heap_available() throws Exception {
+        // given
+        final MemoryAdmissionController controller = controller(heapUsage(100));
+
+        // when
+        final MemoryAdmissionController.Permit first = controller.acquire(200);
+        final MemoryAdmissionController.Permit second = controller.acquire(200);
+
+        // then
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull();
+        first.close();
+        second.close();
+    }
+
+    @Test
+    void should_wait_for_running_conversions_when_heap_is_not_available() throws Exception {
+        // given
+        final MemoryAdmissionController controller = controller(heapUsage(100));
+        final MemoryAdmissionController.Permit first = controller.acquire(600);
+
+        // when
+        final CompletableFuture<MemoryAdmissionController.Permit> second = CompletableFuture.supplyAsync(() -> acquire(controller, 600));
+
+        // then
+        assertThat(catchThrowable(() -> second.get(500, TimeUnit.MILLISECONDS))).isInstanceOf(TimeoutException.class);
+        first.close();
+        assertThat(second.get(5, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    @Test
+    void should_always_admit_one_conversion() throws Exception {
+        // given
+        final MemoryAdmissionController controller = controller(heapUsage(900));
+
+        // when
+        final MemoryAdmissionController.Permit permit = controller.acquire(5000);
+
+        // then
+        assertThat(permit).isNotNull();
+    }
+
+    @Test
+    void should_estimate_footprint_including_included_files() throws IOException {
+        // given
+        final File chapter = new File(tempDir, "chapters/chapter.adoc");
+        chapter.getParentFile().mkdirs();
+        Files.writeString(chapter.toPath(), "=".repeat(100));
+        final File master = new File(tempDir, "master.adoc");
+        Files.writeString(master.toPath(), "include::chapters/chapter.adoc[]\ninclude::chapters/chapter.adoc[]\ninclude::{missing}.adoc[]\n");
+
+        // when
+        final long footprint = MemoryAdmissionController.estimateFootprint(master);
+
+        // then
+        assertThat(footprint).isEqualTo(MemoryAdmissionController.estimateFootprint(chapter) + master.length() * 40);
+    }
+
+    private static MemoryAdmissionController.Permit acquire(MemoryAdmissionController controller, long footprint) {
+        try {
+            return controller.acquire(footprint);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MemoryAdmissionController controller(MemoryUsage heapUsage) {
+        final MemoryMXBean memory = mock(MemoryMXBean.class);
+        when(memory.getHeapMemoryUsage()).thenReturn(heapUsage);
+        return new MemoryAdmissionController(memory, List.of(), 80);
+    }
+
+    private static MemoryUsage heapUsage(long used) {
+        return new MemoryUsage(0, used, MAX_HEAP, MAX_HEAP);
+    }
+}
@@ -0,0 +1,134 @@
+package org.asciidoctor.maven.process;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import org.asciidoctor.Asciidoctor;
+import org.asciidoctor.Attributes;
+import org.asciidoctor.Options;
+import org.asciidoctor.SafeMode;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PipelinedConverterTest {
+
+    private static Asciidoctor asciidoctor;
+
+    @TempDir
+    File tempDir;
+
+    @BeforeAll
+    static void setup() {
+        asciidoctor = Asciidoctor.Factory.create();
+    }
+
+    @AfterAll
+    static void teardown() {
+        asciidoctor.shutdown();
+    }
+
+    @Test
+    void should_produce_the_same_output_as_converting_the_file() throws IOException {
+        // given
+        final File source = createSources();
+        final File fileOutput = new File(tempDir, "file-output");
+        final File pipelinedOutput = new File(tempDir, "pipelined-output");
+
+        // when
+        asciidoctor.convertFile(source, options(fileOutput, Attributes.builder().build()));
+        try (PipelinedConverter converter = new PipelinedConverter(asciidoctor, List.of(source))) {
+            converter.convert(source, options(pipelinedOutput, Attributes.builder().build()));
+        }
+
+        // then
+        final String expected = Files.readString(new File(fileOutput, "sample.html").toPath());
+        assertThat(expected).contains("Included content", "sample.adoc", "Last updated");
+        assertThat(new File(pipelinedOutput, "sample.html")).hasContent(expected);
+    }
+
+    @Test
+    void should_convert_the_file_when_linking_stylesheets() throws IOException {
+        // given
+        final File source = createSources();
+        final File outputDir = new File(tempDir, "output");
+
+        // when
+        try (PipelinedConverter converter = new PipelinedConverter(asciidoctor, List.of(source))) {
+            converter.convert(source, options(outputDir, Attributes.builder().linkCss(true).copyCss(true).build()));
+        }
+
+        // then
+        assertThat(new File(outputDir, "sample.html")).exists();
+        assertThat(new File(outputDir, "asciidoctor.css")).exists();
+    }
+
+    @Test
+    void should_not_write_unchanged_outputs() throws IOException {
+        // given
+        final File source = createSources();
+        final File outputDir = new File(tempDir, "output");
+        final File output = new File(outputDir, "sample.html");
+        try (PipelinedConverter converter = new PipelinedConverter(asciidoctor, List.of(source))) {
+            converter.convert(source, options(outputDir, Attributes.builder().build()));
+        }
+        final FileTime lastModified = FileTime.fromMillis(System.currentTimeMillis() - 60_000);
+        Files.setLastModifiedTime(output.toPath(), lastModified);
+
+        // when
+        final PipelinedConverter converter = new PipelinedConverter(asciidoctor, List.of(source));
+        converter.convert(source, options(outputDir, Attributes.builder().build()));
+        converter.close();
+
+        // then
+        assertThat(converter.getChangedOutputs()).isEqualTo(0);
+        assertThat(converter.getUnchangedOutputs()).isEqualTo(1);
+        assertThat(Files.getLastModifiedTime(output.toPath())).isEqualTo(lastModified);
+    }
+
+    @Test
+    void should_compare_file_contents() throws IOException {
+        // given
+        final File file = new File(tempDir, "file.txt");
+        Files.writeString(file.toPath(), "content");
+
+        // when
+        final boolean same = PipelinedConverter.hasContent(file, "content".getBytes(StandardCharsets.UTF_8));
+        final boolean different = PipelinedConverter.hasContent(file, "CONTENT".getBytes(StandardCharsets.UTF_8));
+        final boolean longer = PipelinedConverter.hasContent(file, "contents".getBytes(StandardCharsets.UTF_8));
+        final boolean missing = PipelinedConverter.hasContent(new File(tempDir, "missing.txt"), new byte[0]);
+
+        // then
+        assertThat(same).isTrue();
+        assertThat(different).isFalse();
+        assertThat(longer).isFalse();
+        assertThat(missing).isFalse();
+    }
+
+    private File createSources() throws IOException {
+        final File sourceDir = new File(tempDir, "sources");
+        sourceDir.mkdirs();
+        Files.writeString(new File(sourceDir, "_include.adoc").toPath(), "Included content.\n");
+        final File source = new File(sourceDir, "sample.adoc");
+        Files.writeString(source.toPath(), "= Sample\n\nDocument {docname} from {docfile}.\n\ninclude::_include.adoc[]\n");
+        return source;
+    }
+
+    private static Options options(File outputDir, Attributes attributes) {
+        return Options.builder()
+            .backend("html5")
+            .safe(SafeMode.UNSAFE)
+            .standalone(true)
+            .mkDirs(true)
+            .toDir(outputDir)
+            .attributes(attributes)
+            .build();
+    }
+}
@@ -0,0 +1,136 @@
+package org.asciidoctor.maven.process;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SourceSharderTest {
+
+    @TempDir
+    File sourceDirectory;
+
+    @Test
+    void should_split_sources_by_hash_in_disjoint_shards() throws IOException {
+        // given
+        final List<File> sources = newSources(20);
+        final SourceSharder sharder = new SourceSharder(sourceDirectory, 3);
+
+        // when
+        final List<File> merged = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            merged.addAll(sharder.byHash(sources, i));
+        }
+
+        // then
+        assertThat(merged)
+            .doesNotHaveDuplicates()
+            .containsExactlyInAnyOrderElementsOf(sources);
+    }
+
+    @Test
+    void should_select_the_same_shard_regardless_of_source_directory_location() throws IOException {
+        // given
+        final List<File> sources = newSources(10);
+        final File movedDirectory = new File(sourceDirectory, "moved");
+        final List<File> movedSources = new ArrayList<>();
+        for (File source : sources) {
+            movedSources.add(new File(movedDirectory, "chapters/" + source.getName()));
+        }
+
+        // when
+        final List<File> shard = new SourceSharder(sourceDirectory, 4).byHash(sources, 1);
+        final List<File> movedShard = new SourceSharder(movedDirectory, 4).byHash(movedSources, 1);
+
+        // then
+        assertThat(movedShard).isNotEmpty();
+        assertThat(movedShard).extracting(File::getName)
+            .containsExactlyElementsOf(names(shard));
+    }
+
+    @Test
+    void should_balance_shards_by_timings() throws IOException {
+        // given
+        final List<File> sources = newSources(4);
+        final ConversionTimings timings = ConversionTimings.load(null, sourceDirectory);
+        timings.record(sources.get(0), 100);
+        timings.record(sources.get(1), 60);
+        timings.record(sources.get(2), 30);
+        timings.record(sources.get(3), 30);
+        final SourceSharder sharder = new SourceSharder(sourceDirectory, 2);
+
+        // when
+        final List<File> shard0 = sharder.byTimings(sources, 0, timings);
+        final List<File> shard1 = sharder.byTimings(sources, 1, timings);
+
+        // then
+        assertThat(shard0).containsExactly(sources.get(0));
+        assertThat(shard1).containsExactly(sources.get(1), sources.get(2), sources.get(3));
+    }
+
+    @Test
+    void should_select_the_same_shards_by_timings_in_different_workspaces() throws IOException {
+        // given: timings recorded in one workspace and shared with another one
+        final File timingsFile = new File(sourceDirectory, "conversion-timings.properties");
+        final File workspace = new File(sourceDirectory, "workspace");
+        final File otherWorkspace = new File(sourceDirectory, "other-workspace");
+        final List<File> sources = newSources(workspace, 9);
+        final List<File> otherSources = newSources(otherWorkspace, 9);
+        final ConversionTimings recorded = ConversionTimings.load(timingsFile, workspace);
+        for (int i = 0; i < sources.size(); i++) {
+            recorded.record(sources.get(i), (i % 4 + 1) * 100L);
+        }
+        recorded.save();
+        final ConversionTimings timings = ConversionTimings.load(timingsFile, workspace);
+        final ConversionTimings otherTimings = ConversionTimings.load(timingsFile, otherWorkspace);
+
+        // when
+        final int shardCount = 3;
+        final List<File> merged = new ArrayList<>();
+        final List<File> otherMerged = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            final List<File> shard = new SourceSharder(workspace, shardCount).byTimings(sources, i, timings);
+            final List<File> otherShard = new SourceSharder(otherWorkspace, shardCount).byTimings(otherSources, i, otherTimings);
+
+            // then
+            assertThat(otherShard).extracting(File::getName).containsExactlyElementsOf(names(shard));
+            merged.addAll(shard);
+            otherMerged.addAll(otherShard);
+        }
+
+        // and: each document is converted exactly once
+        assertThat(merged)
+            .doesNotHaveDuplicates()
+            .containsExactlyInAnyOrderElementsOf(sources);
+        assertThat(otherMerged)
+            .doesNotHaveDuplicates()
+            .containsExactlyInAnyOrderElementsOf(otherSources);
+    }
+
+    private static List<String> names(List<File> files) {
+        final List<String> names = new ArrayList<>();
+        files.forEach(file -> names.add(file.getName()));
+        return names;
+    }
+
+    private List<File> newSources(int count) throws IOException {
+        return newSources(sourceDirectory, count);
+    }
+
+    private static List<File> newSources(File directory, int count) throws IOException {
+        final List<File> sources = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final File source = new File(directory, "chapters/document-" + i + ".adoc");
+            source.getParentFile().mkdirs();
+            Files.writeString(source.toPath(), "= Document " + i);
+            sources.add(source);
+        }
+        return sources;
+    }
+}
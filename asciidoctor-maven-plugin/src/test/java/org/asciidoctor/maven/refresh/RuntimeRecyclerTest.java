@@ -0,0 +1,117 @@
+package org.asciidoctor.maven.refresh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.asciidoctor.Asciidoctor;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+class RuntimeRecyclerTest {
+
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    private final Log log = new SystemStreamLog();
+    private final List<Asciidoctor> created = new ArrayList<>();
+
+    @Test
+    void should_reuse_instance_while_under_thresholds() throws Exception {
+        // given
+        final RuntimeRecycler recycler = new RuntimeRecycler(factory(), 10, 0, 0, () -> 0L, log);
+
+        // when
+        final Asciidoctor first = recycler.acquire();
+        recycler.release(5);
+        final Asciidoctor second = recycler.acquire();
+        recycler.release(4);
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(created).hasSize(1);
+        recycler.close();
+    }
+
+    @Test
+    void should_replace_instance_after_converting_max_documents() throws Exception {
+        // given
+        final RuntimeRecycler recycler = new RuntimeRecycler(factory(), 10, 0, 0, () -> 0L, log);
+        final Asciidoctor first = recycler.acquire();
+
+        // when
+        recycler.release(10);
+        final Asciidoctor replacement = awaitReplacement(recycler, first);
+
+        // then
+        assertThat(replacement).isNotSameAs(first);
+        verify(first).shutdown();
+        verify(replacement, never()).shutdown();
+        recycler.close();
+        verify(replacement).shutdown();
+    }
+
+    @Test
+    void should_replace_instance_when_heap_grows() throws Exception {
+        // given
+        final AtomicLong heapUsage = new AtomicLong(100);
+        final RuntimeRecycler recycler = new RuntimeRecycler(factory(), 0, 50, 0, heapUsage::get, log);
+        final Asciidoctor first = recycler.acquire();
+        recycler.release(1);
+
+        // when
+        heapUsage.set(160);
+        recycler.acquire();
+        recycler.release(1);
+        final Asciidoctor replacement = awaitReplacement(recycler, first);
+
+        // then
+        assertThat(replacement).isNotSameAs(first);
+        verify(first).shutdown();
+        recycler.close();
+    }
+
+    @Test
+    void should_replace_instance_when_idle() throws Exception {
+        // given
+        final RuntimeRecycler recycler = new RuntimeRecycler(factory(), 0, 0, 100, () -> 0L, log);
+        final Asciidoctor first = recycler.acquire();
+
+        // when
+        recycler.release(1);
+
+        // then
+        verify(first, timeout(TIMEOUT_MILLIS)).shutdown();
+        assertThat(recycler.acquire()).isSameAs(created.get(1));
+        recycler.close();
+    }
+
+    private Callable<Asciidoctor> factory() {
+        return () -> {
+            final Asciidoctor asciidoctor = mock(Asciidoctor.class);
+            synchronized (created) {
+                created.add(asciidoctor);
+            }
+            return asciidoctor;
+        };
+    }
+
+    private static Asciidoctor awaitReplacement(RuntimeRecycler recycler, Asciidoctor current) throws Exception {
+        final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        Asciidoctor asciidoctor = recycler.acquire();
+        recycler.release(0);
+        while (asciidoctor == current && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            asciidoctor = recycler.acquire();
+            recycler.release(0);
+        }
+        return asciidoctor;
+    }
+}
@@ -16,12 +16,14 @@ import org.asciidoctor.maven.commons.StringUtils;
 import org.asciidoctor.maven.log.LogHandler;
 import org.asciidoctor.maven.log.LogRecordsProcessors;
 import org.asciidoctor.maven.log.MemoryLogHandler;
+import org.asciidoctor.maven.site.AsciidoctorRuntimePool;
 import org.asciidoctor.maven.site.HeadParser;
 import org.asciidoctor.maven.site.HeaderMetadata;
 import org.asciidoctor.maven.site.LogHandlerFactory;
 import org.asciidoctor.maven.site.SiteConversionConfiguration;
 import org.asciidoctor.maven.site.SiteConversionConfigurationParser;
 import org.codehaus.plexus.component.annotations.Component;
+import org.codehaus.plexus.personality.plexus.lifecycle.phase.Disposable;
 import org.codehaus.plexus.util.IOUtil;
 import org.codehaus.plexus.util.xml.Xpp3Dom;
 import org.slf4j.Logger;
@@ -39,7 +41,7 @@ import static org.asciidoctor.maven.commons.StringUtils.isNotBlank;
  * @since 3.0.0
  */
 @Component(role = Parser.class, hint = AsciidoctorAstDoxiaParser.ROLE_HINT)
-public class AsciidoctorAstDoxiaParser extends AbstractTextParser {
+public class AsciidoctorAstDoxiaParser extends AbstractTextParser implements Disposable {
 
     /**
      * The role hint for the {@link AsciidoctorAstDoxiaParser} Plexus component.
@@ -51,14 +53,23 @@ public class AsciidoctorAstDoxiaParser extends AbstractTextParser {
     private final MavenProject mavenProject;
     private final SiteConversionConfigurationParser siteConfigParser;
     private final LogHandlerFactory logHandlerFactory;
+    private final AsciidoctorRuntimePool runtimePool;
+
+    // Processors only depend on the Sink, so they can be re-used for all documents handled by a thread
+    private final ThreadLocal<NodeSinker> nodeSinkers = ThreadLocal.withInitial(() ->
+        new NodeSinker(null, logger.isDebugEnabled() ? new NodeProcessorMetrics() : null));
+    // Metrics of all documents rendered, from all threads, reported once when the parser is disposed
+    private final NodeProcessorMetrics totalMetrics = new NodeProcessorMetrics();
 
     @Inject
     public AsciidoctorAstDoxiaParser(MavenProject mavenProject,
                                      SiteConversionConfigurationParser siteConfigParser,
-                                     LogHandlerFactory logHandlerFactory) {
+                                     LogHandlerFactory logHandlerFactory,
+                                     AsciidoctorRuntimePool runtimePool) {
         this.mavenProject = mavenProject;
         this.siteConfigParser = siteConfigParser;
         this.logHandlerFactory = logHandlerFactory;
+        this.runtimePool = runtimePool;
     }
 
     /**
@@ -76,19 +87,14 @@ public class AsciidoctorAstDoxiaParser extends AbstractTextParser {
             return;
         }
 
-        final SiteConversionConfiguration conversionConfig = siteConfigParser.processAsciiDocConfig(mavenProject, ROLE_HINT);
+        final SiteConversionConfiguration conversionConfig = siteConfigParser.processAsciiDocConfig(mavenProject, ROLE_HINT, reference);
         final Xpp3Dom siteConfig = conversionConfig.getAsciidocConfig();
         final File siteDirectory = conversionConfig.getSiteBaseDir();
 
         // Doxia handles a single instance of this class and invokes it multiple times.
-        // We need to ensure certain elements are initialized only once to avoid errors.
-        // Note, this cannot be done in the constructor because mavenProjectProvider in set after construction.
-        // And overriding init and other methods form parent classes does not work.
-        final Asciidoctor asciidoctor = Asciidoctor.Factory.create();
-
-        for (String require : conversionConfig.getRequires()) {
-            requireLibrary(asciidoctor, require);
-        }
+        // Initialized instances are kept in a pool to avoid booting a new runtime for each document,
+        // locale and module.
+        final Asciidoctor asciidoctor = runtimePool.acquire(conversionConfig.getRequires());
 
         if (isNotBlank(reference))
             logger.debug("Document loaded: {}", reference);
@@ -96,8 +102,24 @@ public class AsciidoctorAstDoxiaParser extends AbstractTextParser {
         final LogHandler logHandler = logHandlerFactory.getConfiguration(siteConfig);
         final MemoryLogHandler memoryLogHandler = logHandlerFactory.create(asciidoctor, siteDirectory, logger);
 
-        final Document document = asciidoctor.load(source, conversionConfig.getOptions());
+        try {
+            final Document document = asciidoctor.load(source, conversionConfig.getOptions());
+            processLogRecords(memoryLogHandler, logHandler, siteDirectory, reference);
+
+            new HeadParser(sink)
+                .parse(HeaderMetadata.from(document));
+
+            final NodeSinker nodeSinker = nodeSinkers.get();
+            nodeSinker.setSink(sink);
+            nodeSinker.sink(document);
+            reportMetrics(nodeSinker.getMetrics(), reference);
+        } finally {
+            asciidoctor.unregisterLogHandler(memoryLogHandler);
+            runtimePool.release(conversionConfig.getRequires(), asciidoctor);
+        }
+    }
 
+    private void processLogRecords(MemoryLogHandler memoryLogHandler, LogHandler logHandler, File siteDirectory, String reference) throws ParseException {
         try {
             // process log messages according to mojo configuration
             if (!memoryLogHandler.isEmpty()) {
@@ -111,20 +133,30 @@ public class AsciidoctorAstDoxiaParser extends AbstractTextParser {
         } catch (Exception exception) {
             throw new ParseException(exception.getMessage(), exception);
         }
+    }
 
-        new HeadParser(sink)
-            .parse(HeaderMetadata.from(document));
-
-        new NodeSinker(sink)
-            .sink(document);
+    private void reportMetrics(NodeProcessorMetrics metrics, String reference) {
+        if (metrics != null && !metrics.isEmpty()) {
+            logger.debug("NodeProcessors metrics for: {}", reference);
+            metrics.report(line -> logger.debug("  {}", line));
+            synchronized (totalMetrics) {
+                totalMetrics.add(metrics);
+            }
+            metrics.reset();
+        }
     }
 
-    private void requireLibrary(Asciidoctor asciidoctor, String require) {
-        if (!(require = require.trim()).isEmpty()) {
-            try {
-                asciidoctor.requireLibrary(require);
-            } catch (Exception ex) {
-                logger.error(ex.getLocalizedMessage());
+    /**
+     * Reports the metrics of all documents, when metrics are enabled with debug logging.
+     * The container disposes the parser at the end of the session, once the site is rendered.
+     */
+    @Override
+    public void dispose() {
+        synchronized (totalMetrics) {
+            if (!totalMetrics.isEmpty()) {
+                logger.info("NodeProcessors metrics for all documents:");
+                totalMetrics.report(line -> logger.info("  {}", line));
+                totalMetrics.reset();
             }
         }
     }
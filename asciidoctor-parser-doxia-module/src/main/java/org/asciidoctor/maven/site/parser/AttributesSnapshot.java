@@ -0,0 +1,92 @@
+package org.asciidoctor.maven.site.parser;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.asciidoctor.ast.ContentNode;
+import org.asciidoctor.ast.Document;
+
+/**
+ * Java copy of the attributes of a document and its nodes.
+ * <p>
+ * Document attributes are copied once on creation, and each node's attributes
+ * the first time they are requested, so that repeated lookups during
+ * processing do not cross the Java/Ruby boundary.
+ * Changes made to a node after its attributes are copied are not visible.
+ *
+ * @since 3.2.1
+ */
+public class AttributesSnapshot {
+
+    private final Document document;
+    private final Map<String, Object> documentAttributes;
+    // AsciidoctorJ caches node wrappers, so the same Java instance is returned for a given Ruby node
+    private final Map<ContentNode, NodeAttributes> nodesAttributes = new IdentityHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param document document to take the attributes from
+     */
+    public AttributesSnapshot(Document document) {
+        this.document = document;
+        this.documentAttributes = document == null
+            ? Collections.emptyMap()
+            : Collections.unmodifiableMap(new HashMap<>(document.getAttributes()));
+    }
+
+    /**
+     * Returns all document attributes.
+     *
+     * @return immutable map of document attributes
+     */
+    public Map<String, Object> getDocumentAttributes() {
+        return documentAttributes;
+    }
+
+    /**
+     * Returns a document attribute.
+     *
+     * @param name attribute name
+     * @return attribute value or {@literal null} if not set
+     */
+    public Object getDocumentAttribute(String name) {
+        return documentAttributes.get(name);
+    }
+
+    /**
+     * Tests for the presence of an attribute in a node, its parents and the document.
+     *
+     * @param name attribute name
+     * @param node node to check
+     * @return true if attribute is found
+     */
+    public boolean hasAttribute(String name, ContentNode node) {
+        ContentNode current = node;
+        while (current != null) {
+            if (current == document) {
+                return documentAttributes.get(name) != null;
+            }
+            final NodeAttributes nodeAttributes = nodesAttributes.computeIfAbsent(current, NodeAttributes::new);
+            if (nodeAttributes.attributes.get(name) != null) {
+                return true;
+            }
+            current = nodeAttributes.parent;
+        }
+        return documentAttributes.get(name) != null;
+    }
+
+    private static final class NodeAttributes {
+
+        private final Map<String, Object> attributes;
+        private final ContentNode parent;
+
+        NodeAttributes(ContentNode node) {
+            // getAttributes returns a view of the Ruby hash, copy it so that lookups stay in Java
+            this.attributes = new HashMap<>(node.getAttributes());
+            this.parent = node.getParent();
+        }
+    }
+}
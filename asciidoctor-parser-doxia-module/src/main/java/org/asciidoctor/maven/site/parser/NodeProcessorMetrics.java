@@ -0,0 +1,160 @@
+package org.asciidoctor.maven.site.parser;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.asciidoctor.ast.StructuralNode;
+
+/**
+ * Collects the number of processed nodes and the processing time for each {@link NodeProcessor} type.
+ * <p>
+ * Times are exclusive: the time spent processing child nodes is accounted to
+ * the processors of the child nodes, not to the parent ones.
+ * Instances are not thread-safe, the same as {@link NodeSinker}.
+ *
+ * @since 3.2.1
+ */
+public class NodeProcessorMetrics {
+
+    private final Map<String, Counter> counters = new HashMap<>();
+    // Time consumed by child nodes for each processor in the current call stack
+    private final Deque<long[]> childrenTime = new ArrayDeque<>();
+
+    /**
+     * Wraps a {@link NodeProcessor} to collect its metrics.
+     *
+     * @param nodeProcessor processor to instrument
+     * @return instrumented processor
+     */
+    NodeProcessor instrument(NodeProcessor nodeProcessor) {
+        return new TimedNodeProcessor(nodeProcessor, this);
+    }
+
+    void start() {
+        childrenTime.push(new long[1]);
+    }
+
+    void stop(String processorName, long elapsedNanos) {
+        final long childrenNanos = childrenTime.pop()[0];
+        final long[] parent = childrenTime.peek();
+        if (parent != null) {
+            parent[0] += elapsedNanos;
+        }
+        final Counter counter = counters.computeIfAbsent(processorName, key -> new Counter());
+        counter.nodes++;
+        counter.nanos += elapsedNanos - childrenNanos;
+    }
+
+    /**
+     * Returns the number of nodes processed by a processor type.
+     *
+     * @param processorName processor simple class name
+     * @return number of nodes
+     */
+    public long getNodeCount(String processorName) {
+        final Counter counter = counters.get(processorName);
+        return counter == null ? 0 : counter.nodes;
+    }
+
+    /**
+     * Returns the time spent by a processor type, excluding child nodes.
+     *
+     * @param processorName processor simple class name
+     * @return time in nanoseconds
+     */
+    public long getTimeNanos(String processorName) {
+        final Counter counter = counters.get(processorName);
+        return counter == null ? 0 : counter.nanos;
+    }
+
+    /**
+     * Whether no node has been processed since creation or last reset.
+     *
+     * @return {@literal true} if no metrics are available
+     */
+    public boolean isEmpty() {
+        return counters.isEmpty();
+    }
+
+    /**
+     * Reports one line per processor type, sorted by time (slowest first).
+     *
+     * @param reporter line consumer
+     */
+    public void report(Consumer<String> reporter) {
+        final List<Map.Entry<String, Counter>> entries = new ArrayList<>(counters.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<String, Counter> entry) -> entry.getValue().nanos).reversed());
+        for (Map.Entry<String, Counter> entry : entries) {
+            final Counter counter = entry.getValue();
+            reporter.accept(String.format("%s: %d node(s) in %dms",
+                entry.getKey(), counter.nodes, TimeUnit.NANOSECONDS.toMillis(counter.nanos)));
+        }
+    }
+
+    /**
+     * Adds the metrics collected by another instance, to keep totals across documents.
+     *
+     * @param metrics metrics to add, not modified
+     */
+    public void add(NodeProcessorMetrics metrics) {
+        for (Map.Entry<String, Counter> entry : metrics.counters.entrySet()) {
+            final Counter counter = counters.computeIfAbsent(entry.getKey(), key -> new Counter());
+            counter.nodes += entry.getValue().nodes;
+            counter.nanos += entry.getValue().nanos;
+        }
+    }
+
+    /**
+     * Clears all collected metrics.
+     */
+    public void reset() {
+        counters.clear();
+        childrenTime.clear();
+    }
+
+    private static final class Counter {
+        private long nodes;
+        private long nanos;
+    }
+
+    private static final class TimedNodeProcessor implements NodeProcessor {
+
+        private final NodeProcessor delegate;
+        private final NodeProcessorMetrics metrics;
+        private final String name;
+
+        TimedNodeProcessor(NodeProcessor delegate, NodeProcessorMetrics metrics) {
+            this.delegate = delegate;
+            this.metrics = metrics;
+            this.name = delegate.getClass().getSimpleName();
+        }
+
+        @Override
+        public boolean applies(StructuralNode node) {
+            return delegate.applies(node);
+        }
+
+        @Override
+        public boolean isTerminal(StructuralNode node) {
+            return delegate.isTerminal(node);
+        }
+
+        @Override
+        public void process(StructuralNode node) {
+            metrics.start();
+            final long start = System.nanoTime();
+            try {
+                delegate.process(node);
+            } finally {
+                metrics.stop(name, System.nanoTime() - start);
+            }
+        }
+    }
+}
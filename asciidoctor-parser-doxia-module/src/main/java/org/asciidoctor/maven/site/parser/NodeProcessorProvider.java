@@ -0,0 +1,52 @@
+package org.asciidoctor.maven.site.parser;
+
+import java.util.List;
+
+import org.apache.maven.doxia.sink.Sink;
+
+/**
+ * Service Provider Interface to register additional {@link NodeProcessor}s.
+ * <p>
+ * Implementations are discovered with {@link java.util.ServiceLoader}, to register one
+ * add its fully qualified name to {@code META-INF/services/org.asciidoctor.maven.site.parser.NodeProcessorProvider}
+ * and add the jar as a dependency of the maven-site-plugin.
+ * <p>
+ * Provided processors take precedence over the built-in ones for the same node names.
+ * When several providers handle the same node name, the one with the highest priority is used.
+ *
+ * @since 3.2.1
+ */
+public interface NodeProcessorProvider {
+
+    /**
+     * Default priority for providers.
+     */
+    int DEFAULT_PRIORITY = 0;
+
+    /**
+     * Names of the nodes handled by the processor (e.g. 'admonition', 'sidebar').
+     * When empty, the processor is evaluated with {@link NodeProcessor#applies(org.asciidoctor.ast.StructuralNode)}
+     * only for nodes without a processor registered by name.
+     *
+     * @return node names handled by the processor
+     */
+    List<String> getNodeNames();
+
+    /**
+     * Priority to resolve conflicts between providers, higher values are preferred.
+     *
+     * @return provider priority
+     */
+    default int getPriority() {
+        return DEFAULT_PRIORITY;
+    }
+
+    /**
+     * Creates a new processor instance.
+     *
+     * @param sink       Doxia {@link Sink}
+     * @param nodeSinker {@link NodeSinker} to delegate processing of child nodes
+     * @return new {@link NodeProcessor}
+     */
+    NodeProcessor create(Sink sink, NodeSinker nodeSinker);
+}
@@ -1,10 +1,17 @@
 package org.asciidoctor.maven.site.parser;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
 
 import org.apache.maven.doxia.sink.Sink;
+import org.asciidoctor.ast.ContentNode;
+import org.asciidoctor.ast.Document;
 import org.asciidoctor.ast.StructuralNode;
+import org.asciidoctor.maven.site.parser.processors.AbstractSinkNodeProcessor;
 import org.asciidoctor.maven.site.parser.processors.DescriptionListNodeProcessor;
 import org.asciidoctor.maven.site.parser.processors.DocumentNodeProcessor;
 import org.asciidoctor.maven.site.parser.processors.ExampleNodeProcessor;
@@ -22,47 +29,177 @@ import org.asciidoctor.maven.site.parser.processors.UnorderedListNodeProcessor;
 
 /**
  * Factory and repository for NodeProcessors.
+ * <p>
+ * Processors are dispatched by node name through a precomputed table.
+ * Processors registered without a name are evaluated in registration order
+ * using {@link NodeProcessor#applies(StructuralNode)}.
+ * Additional processors can be registered with {@link NodeProcessorProvider}.
  *
  * @author abelsromero
  * @since 3.1.0
  */
 public class NodeSinker {
 
-    private final List<NodeProcessor> nodeProcessors;
+    private final Map<String, NodeProcessor> processorsByName = new HashMap<>();
+    private final List<NodeProcessor> fallbackProcessors = new ArrayList<>();
+    private final List<AbstractSinkNodeProcessor> sinkProcessors = new ArrayList<>();
 
+    private final NodeProcessorMetrics metrics;
     private final NodeProcessor noOpProcessor;
 
+    private AttributesSnapshot attributesSnapshot;
+
     public NodeSinker(Sink sink) {
-        nodeProcessors = Arrays.asList(
-            new DescriptionListNodeProcessor(sink, this),
-            new DocumentNodeProcessor(sink, this),
-            new ExampleNodeProcessor(sink, this),
-            new ImageNodeProcessor(sink, this),
-            new ListItemNodeProcessor(sink, this),
-            new ListingNodeProcessor(sink, this),
-            new ListingNodeProcessor(sink, this),
-            new LiteralNodeProcessor(sink, this),
-            new OrderedListNodeProcessor(sink, this),
-            new ParagraphNodeProcessor(sink, this),
-            new PreambleNodeProcessor(sink, this),
-            new SectionNodeProcessor(sink, this),
-            new TableNodeProcessor(sink, this),
-            new UnorderedListNodeProcessor(sink, this)
-        );
-        noOpProcessor = new NoOpNodeProcessor(sink, this);
+        this(sink, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param sink    Doxia {@link Sink}
+     * @param metrics collector for processing metrics, {@literal null} to disable them
+     * @since 3.2.1
+     */
+    public NodeSinker(Sink sink, NodeProcessorMetrics metrics) {
+        this.metrics = metrics;
+        register("dlist", new DescriptionListNodeProcessor(sink, this));
+        register("document", new DocumentNodeProcessor(sink, this));
+        register("example", new ExampleNodeProcessor(sink, this));
+        register("image", new ImageNodeProcessor(sink, this));
+        register("list_item", new ListItemNodeProcessor(sink, this));
+        register("listing", new ListingNodeProcessor(sink, this));
+        register("literal", new LiteralNodeProcessor(sink, this));
+        register("olist", new OrderedListNodeProcessor(sink, this));
+        register("paragraph", new ParagraphNodeProcessor(sink, this));
+        register("preamble", new PreambleNodeProcessor(sink, this));
+        register("section", new SectionNodeProcessor(sink, this));
+        register("table", new TableNodeProcessor(sink, this));
+        register("ulist", new UnorderedListNodeProcessor(sink, this));
+
+        registerProviders(sink);
+
+        final NoOpNodeProcessor noOpNodeProcessor = new NoOpNodeProcessor(sink, this);
+        sinkProcessors.add(noOpNodeProcessor);
+        noOpProcessor = instrument(noOpNodeProcessor);
+    }
+
+    private void registerProviders(Sink sink) {
+        final List<NodeProcessorProvider> providers = new ArrayList<>();
+        ServiceLoader.load(NodeProcessorProvider.class).forEach(providers::add);
+        // Highest priority first, so it is evaluated first in the fallback chain
+        // and does not get replaced when registered by name.
+        providers.sort(Comparator.comparingInt(NodeProcessorProvider::getPriority).reversed());
+
+        final Map<String, NodeProcessorProvider> registeredNames = new HashMap<>();
+        for (NodeProcessorProvider provider : providers) {
+            final NodeProcessor nodeProcessor = provider.create(sink, this);
+            final List<String> nodeNames = provider.getNodeNames();
+            if (nodeNames == null || nodeNames.isEmpty()) {
+                register(nodeProcessor);
+            } else {
+                for (String nodeName : nodeNames) {
+                    if (registeredNames.putIfAbsent(nodeName, provider) == null) {
+                        register(nodeName, nodeProcessor);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Registers a processor for a given node name.
+     * Replaces any processor previously registered for the same name.
+     *
+     * @param nodeName      Asciidoctor node name (e.g. 'paragraph', 'section')
+     * @param nodeProcessor processor for the node
+     */
+    public void register(String nodeName, NodeProcessor nodeProcessor) {
+        processorsByName.put(nodeName, instrument(nodeProcessor));
+        track(nodeProcessor);
+    }
+
+    /**
+     * Registers a processor that requires more than the node name to be selected.
+     * These are only evaluated when no processor is registered for the node name.
+     *
+     * @param nodeProcessor processor for the node
+     */
+    public void register(NodeProcessor nodeProcessor) {
+        fallbackProcessors.add(instrument(nodeProcessor));
+        track(nodeProcessor);
+    }
+
+    private NodeProcessor instrument(NodeProcessor nodeProcessor) {
+        return metrics == null ? nodeProcessor : metrics.instrument(nodeProcessor);
+    }
+
+    private void track(NodeProcessor nodeProcessor) {
+        if (nodeProcessor instanceof AbstractSinkNodeProcessor) {
+            sinkProcessors.add((AbstractSinkNodeProcessor) nodeProcessor);
+        }
+    }
+
+    /**
+     * Re-targets all registered processors to a new {@link Sink}.
+     * Allows re-using the same instance to process multiple documents.
+     *
+     * @param sink Doxia {@link Sink}
+     */
+    public void setSink(Sink sink) {
+        for (AbstractSinkNodeProcessor sinkProcessor : sinkProcessors) {
+            sinkProcessor.setSink(sink);
+        }
     }
 
     /**
-     * Returns first NodeProcessor that can treat the node.
+     * Returns the NodeProcessor registered for the node name, or the first
+     * fallback NodeProcessor that can treat the node.
      **/
     private NodeProcessor get(StructuralNode node) {
-        return nodeProcessors.stream()
-            .filter(nodeProcessor -> nodeProcessor.applies(node))
-            .findFirst()
-            .orElse(noOpProcessor);
+        final NodeProcessor nodeProcessor = processorsByName.get(node.getNodeName());
+        if (nodeProcessor != null) {
+            return nodeProcessor;
+        }
+        for (NodeProcessor fallbackProcessor : fallbackProcessors) {
+            if (fallbackProcessor.applies(node)) {
+                return fallbackProcessor;
+            }
+        }
+        return noOpProcessor;
+    }
+
+    /**
+     * Returns the metrics collector.
+     *
+     * @return metrics collector, {@literal null} when metrics are disabled
+     * @since 3.2.1
+     */
+    public NodeProcessorMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns the attributes of the document being processed.
+     * When nodes are processed outside a document, a new snapshot is taken for every call.
+     *
+     * @param node node being processed
+     * @return attributes snapshot
+     * @since 3.2.1
+     */
+    public AttributesSnapshot getAttributes(ContentNode node) {
+        return attributesSnapshot != null ? attributesSnapshot : new AttributesSnapshot(node.getDocument());
     }
 
     public void sink(StructuralNode node) {
-        get(node).process(node);
+        if (attributesSnapshot == null && node instanceof Document) {
+            attributesSnapshot = new AttributesSnapshot((Document) node);
+            try {
+                get(node).process(node);
+            } finally {
+                attributesSnapshot = null;
+            }
+        } else {
+            get(node).process(node);
+        }
     }
 }
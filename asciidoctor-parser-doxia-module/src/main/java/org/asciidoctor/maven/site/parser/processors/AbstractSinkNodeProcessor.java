@@ -13,7 +13,7 @@ import org.asciidoctor.maven.site.parser.NodeSinker;
  */
 public class AbstractSinkNodeProcessor {
 
-    private final Sink sink;
+    private Sink sink;
     private final NodeSinker nodeSinker;
 
     /**
@@ -36,6 +36,16 @@ public class AbstractSinkNodeProcessor {
         return sink;
     }
 
+    /**
+     * Replaces internal {@link Sink}, used when re-using processors across documents.
+     *
+     * @param sink Doxia {@link Sink}
+     * @since 3.2.1
+     */
+    public void setSink(Sink sink) {
+        this.sink = sink;
+    }
+
     /**
      * Delegates the processing of the new node to the appropriate processor.
      * Similar to {@link org.asciidoctor.maven.site.parser.NodeProcessor#process(StructuralNode)}
@@ -55,12 +65,18 @@ public class AbstractSinkNodeProcessor {
      * @return true if attribute is found
      */
     protected boolean hasAttribute(String name, ContentNode node) {
-        ContentNode current = node;
-        while (current != null) {
-            if (current.getAttribute(name) != null)
-                return true;
-            current = current.getParent();
-        }
-        return false;
+        return nodeSinker.getAttributes(node).hasAttribute(name, node);
+    }
+
+    /**
+     * Returns a document attribute from the snapshot taken for the document being processed.
+     *
+     * @param name attribute name
+     * @param node node being processed
+     * @return attribute value or {@literal null} if not set
+     * @since 3.2.1
+     */
+    protected Object getDocumentAttribute(String name, ContentNode node) {
+        return nodeSinker.getAttributes(node).getDocumentAttribute(name);
     }
 }
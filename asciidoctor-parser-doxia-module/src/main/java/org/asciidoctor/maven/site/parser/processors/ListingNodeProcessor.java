@@ -37,44 +37,37 @@ public class ListingNodeProcessor extends AbstractSinkNodeProcessor implements N
 
     @Override
     public void process(StructuralNode node) {
-        final StringBuilder contentBuilder = new StringBuilder();
+        final Sink sink = getSink();
         final String language = (String) node.getAttribute("language");
         final String style = node.getStyle();
 
         boolean isSourceBlock = isSourceBlock(language, style);
 
+        // Markup and content are written directly to avoid copying large listings in intermediate buffers
         if (isSourceBlock) {
             // source class triggers prettify auto-detection
-            contentBuilder.append("<div class=\"source\">");
-            processTitle(node, contentBuilder);
-            contentBuilder.append("<pre class=\"")
-                .append(FLUIDO_SKIN_SOURCE_HIGHLIGHTER);
-            if (isLinenumsEnabled(node))
-                contentBuilder.append(" linenums");
-
-            contentBuilder.append("\">");
-            contentBuilder.append("<code>");
+            sink.rawText("<div class=\"source\">");
+            processTitle(node, sink);
+            sink.rawText(isLinenumsEnabled(node)
+                ? "<pre class=\"" + FLUIDO_SKIN_SOURCE_HIGHLIGHTER + " linenums\"><code>"
+                : "<pre class=\"" + FLUIDO_SKIN_SOURCE_HIGHLIGHTER + "\"><code>");
         } else {
-            contentBuilder.append("<div>");
-            contentBuilder.append("<pre>");
+            sink.rawText("<div><pre>");
         }
 
         // Use 'content' (not 'source') to apply substitutions of special characters
-        contentBuilder.append((String) node.getContent());
-
-        if (isSourceBlock) {
-            contentBuilder.append("</code>");
+        final String content = (String) node.getContent();
+        if (content != null) {
+            sink.rawText(content);
         }
 
-        contentBuilder.append("</pre></div>");
-
-        getSink().rawText(contentBuilder.toString());
+        sink.rawText(isSourceBlock ? "</code></pre></div>" : "</pre></div>");
     }
 
-    private static void processTitle(StructuralNode node, StringBuilder contentBuilder) {
+    private static void processTitle(StructuralNode node, Sink sink) {
         final String title = TitleCaptionExtractor.getText(node);
         if (isNotBlank(title)) {
-            contentBuilder.append("<div style=\"" + Styles.CAPTION + "\" >" + title + "</div>");
+            sink.rawText("<div style=\"" + Styles.CAPTION + "\" >" + title + "</div>");
         }
     }
 
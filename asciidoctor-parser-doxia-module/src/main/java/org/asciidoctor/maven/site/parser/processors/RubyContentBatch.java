@@ -0,0 +1,118 @@
+package org.asciidoctor.maven.site.parser.processors;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.asciidoctor.ast.StructuralNode;
+import org.asciidoctor.jruby.internal.RubyObjectWrapper;
+import org.jruby.Ruby;
+import org.jruby.RubyArray;
+import org.jruby.runtime.ThreadContext;
+import org.jruby.runtime.builtin.IRubyObject;
+import org.jruby.runtime.builtin.InternalVariables;
+
+/**
+ * Utility to fetch the converted content of many nodes directly from their Ruby objects.
+ * The content of all rows and cells is collected in a single call into Ruby, instead of
+ * creating Java wrappers and calling Ruby for every row and cell, which dominates processing time
+ * for large blocks.
+ * <p>
+ * The Ruby function doing so is created once per runtime and kept in an internal variable,
+ * not visible to Ruby code, of the runtime's top-level object.
+ * <p>
+ * Getting the Ruby object of a node relies on AsciidoctorJ internals, which may change in any
+ * release. When they are not available, {@literal null} is returned and callers use the
+ * public {@link StructuralNode} API instead.
+ *
+ * @since 3.2.1
+ */
+class RubyContentBatch {
+
+    private static final String RUBY_OBJECT_WRAPPER = "org.asciidoctor.jruby.internal.RubyObjectWrapper";
+
+    private static final String CELLS_TEXT_VARIABLE = "__asciidoctor_maven_table_cells_text";
+    private static final String CELLS_TEXT_FUNCTION = "lambda { |table| rows = table.rows; "
+        + "[rows.head, rows.body].map { |section| section.map { |row| row.map(&:text) } } }";
+
+    private static final boolean AVAILABLE = isAvailable();
+
+    /**
+     * Returns the text of the header and body cells of a table.
+     *
+     * @param node table node
+     * @return cells text, or {@literal null} when the Ruby object of the node cannot be accessed
+     */
+    static TableCellsText tableCellsText(StructuralNode node) {
+        if (!AVAILABLE) {
+            return null;
+        }
+        try {
+            final IRubyObject rubyNode = rubyObject(node);
+            if (rubyNode == null) {
+                return null;
+            }
+            final Ruby runtime = rubyNode.getRuntime();
+            final ThreadContext context = runtime.getCurrentContext();
+            final RubyArray sections = (RubyArray) cellsTextFunction(runtime).callMethod(context, "call", rubyNode);
+            return new TableCellsText(toRows(sections.eltInternal(0)), toRows(sections.eltInternal(1)));
+        } catch (RuntimeException | LinkageError e) {
+            // AsciidoctorJ or Asciidoctor internals changed
+            return null;
+        }
+    }
+
+    private static IRubyObject rubyObject(StructuralNode node) {
+        return node instanceof RubyObjectWrapper ? ((RubyObjectWrapper) node).getRubyObject() : null;
+    }
+
+    private static boolean isAvailable() {
+        try {
+            Class.forName(RUBY_OBJECT_WRAPPER, false, RubyContentBatch.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static IRubyObject cellsTextFunction(Ruby runtime) {
+        final InternalVariables variables = runtime.getTopSelf().getInternalVariables();
+        synchronized (runtime) {
+            IRubyObject function = (IRubyObject) variables.getInternalVariable(CELLS_TEXT_VARIABLE);
+            if (function == null) {
+                function = runtime.evalScriptlet(CELLS_TEXT_FUNCTION);
+                variables.setInternalVariable(CELLS_TEXT_VARIABLE, function);
+            }
+            return function;
+        }
+    }
+
+    private static List<List<String>> toRows(IRubyObject rubyRows) {
+        final RubyArray rows = (RubyArray) rubyRows;
+        if (rows.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<List<String>> result = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            final RubyArray cells = (RubyArray) rows.eltInternal(i);
+            final List<String> row = new ArrayList<>(cells.size());
+            for (int j = 0; j < cells.size(); j++) {
+                final IRubyObject text = cells.eltInternal(j);
+                row.add(text.isNil() ? null : text.asJavaString());
+            }
+            result.add(row);
+        }
+        return result;
+    }
+
+    static final class TableCellsText {
+
+        final List<List<String>> header;
+        final List<List<String>> body;
+
+        TableCellsText(List<List<String>> header, List<List<String>> body) {
+            this.header = header;
+            this.body = body;
+        }
+    }
+}
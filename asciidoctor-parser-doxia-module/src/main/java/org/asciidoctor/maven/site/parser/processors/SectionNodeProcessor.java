@@ -79,10 +79,7 @@ public class SectionNodeProcessor extends AbstractSinkNodeProcessor implements N
     }
 
     private String formatTitle(String title, Section node) {
-        final boolean numbered = node.isNumbered();
-        final Long sectnumlevels = getSectnumlevels(node);
-        final int level = node.getLevel();
-        if (numbered && level <= sectnumlevels) {
+        if (node.isNumbered() && node.getLevel() <= getSectnumlevels(node)) {
             // Use 'getString' instead of method to support pre-3.0.0 AsciidoctorJ
             final String caption = node.getCaption();
             final String sectnum = ((SectionImpl) node).getString("sectnum");
@@ -96,7 +93,7 @@ public class SectionNodeProcessor extends AbstractSinkNodeProcessor implements N
     }
 
     private Long getSectnumlevels(Section node) {
-        final Object sectnumlevels = node.getDocument().getAttribute("sectnumlevels");
+        final Object sectnumlevels = getDocumentAttribute("sectnumlevels", node);
 
         if (sectnumlevels != null) {
             // Injecting from Maven configuration
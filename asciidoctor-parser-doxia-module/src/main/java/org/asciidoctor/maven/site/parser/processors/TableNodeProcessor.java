@@ -1,5 +1,6 @@
 package org.asciidoctor.maven.site.parser.processors;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.maven.doxia.sink.Sink;
@@ -39,13 +40,14 @@ public class TableNodeProcessor extends AbstractSinkNodeProcessor implements Nod
 
     @Override
     public void process(StructuralNode node) {
-        final TableImpl tableNode = (TableImpl) node;
-
         final Sink sink = getSink();
         sink.table(SinkAttributes.of(STYLE, Styles.TABLE));
         sink.tableRows(new int[]{JUSTIFY_LEFT}, false);
-        final List<Row> header = tableNode.getHeader();
-        final List<Row> rows = tableNode.getBody();
+
+        // Fetch all cells from the Ruby table in a single call, without wrapping every row and cell
+        final RubyContentBatch.TableCellsText cellsText = RubyContentBatch.tableCellsText(node);
+        final List<List<String>> header = cellsText != null ? cellsText.header : cellsText(((TableImpl) node).getHeader());
+        final List<List<String>> rows = cellsText != null ? cellsText.body : cellsText(((TableImpl) node).getBody());
 
         if (header.isEmpty() && rows.isEmpty()) {
             return;
@@ -54,21 +56,21 @@ public class TableNodeProcessor extends AbstractSinkNodeProcessor implements Nod
         if (!header.isEmpty()) {
             sink.tableRow();
 
-            for (Row headerRow : header) {
-                for (Cell cell : headerRow.getCells()) {
+            for (List<String> headerRow : header) {
+                for (String cellText : headerRow) {
                     sink.tableHeaderCell();
-                    sink.rawText(cell.getText());
+                    sink.rawText(cellText);
                     sink.tableHeaderCell_();
                 }
             }
             sink.tableRow_();
         }
 
-        for (Row row : rows) {
+        for (List<String> row : rows) {
             sink.tableRow();
-            for (Cell cell : row.getCells()) {
+            for (String cellText : row) {
                 sink.tableCell();
-                sink.rawText(cell.getText());
+                sink.rawText(cellText);
                 sink.tableCell_();
             }
             sink.tableRow_();
@@ -80,6 +82,19 @@ public class TableNodeProcessor extends AbstractSinkNodeProcessor implements Nod
         sink.table_();
     }
 
+    private static List<List<String>> cellsText(List<Row> rows) {
+        final List<List<String>> result = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            final List<Cell> cells = row.getCells();
+            final List<String> rowText = new ArrayList<>(cells.size());
+            for (Cell cell : cells) {
+                rowText.add(cell.getText());
+            }
+            result.add(rowText);
+        }
+        return result;
+    }
+
     private void processCaption(StructuralNode node, Sink sink) {
         // 'null' when not set or '[caption=]'
         final String tableCaption = (String) node.getAttribute("table-caption");
@@ -12,6 +12,7 @@ import org.apache.maven.doxia.parser.AbstractTextParser;
 import org.apache.maven.doxia.parser.ParseException;
 import org.apache.maven.doxia.sink.Sink;
 import org.apache.maven.project.MavenProject;
+import org.asciidoctor.maven.site.AsciidoctorRuntimePool;
 import org.asciidoctor.maven.site.LogHandlerFactory;
 import org.asciidoctor.maven.site.SiteBaseDirResolver;
 import org.asciidoctor.maven.site.SiteConversionConfigurationParser;
@@ -115,6 +116,24 @@ class AsciidoctorAstDoxiaParserTest {
             .contains("This has been included");
     }
 
+    @Test
+    void should_convert_html_in_multiple_locale_paths() throws IOException, ParseException {
+        final String localeSourceDir = TEST_DOCS_PATH + "with-locale/";
+        final File srcAsciidoc = new File(localeSourceDir + "es/" + ROLE_HINT, "sample.adoc");
+
+        AsciidoctorAstDoxiaParser parser = mockAsciidoctorDoxiaParser(
+            "<configuration>\n" +
+                "  <siteDirectory>" + localeSourceDir + "</siteDirectory>\n" +
+                "  <locales>en,es</locales>\n" +
+                "</configuration>");
+
+        parser.parse(new FileReader(srcAsciidoc), sink, srcAsciidoc.getPath());
+        String result = removeLineBreaks(sinkWriter.toString());
+
+        assertThat(result)
+            .contains("Esto ha sido incluido");
+    }
+
     @Test
     void should_process_empty_selfclosing_XML_attributes() throws ParseException {
         final String source = sectionsSample();
@@ -252,7 +271,8 @@ class AsciidoctorAstDoxiaParserTest {
             return new AsciidoctorAstDoxiaParser(
                 createMockMavenProject(configuration),
                 new SiteConversionConfigurationParser(new SiteBaseDirResolver()),
-                new LogHandlerFactory()
+                new LogHandlerFactory(),
+                new AsciidoctorRuntimePool()
             );
         }
     }
@@ -0,0 +1,109 @@
+package org.asciidoctor.maven.site.parser;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.asciidoctor.Asciidoctor;
+import org.asciidoctor.Attributes;
+import org.asciidoctor.Options;
+import org.asciidoctor.ast.Document;
+import org.asciidoctor.ast.StructuralNode;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class AttributesSnapshotTest {
+
+    private static Asciidoctor asciidoctor;
+
+    @BeforeAll
+    static void setup() {
+        asciidoctor = Asciidoctor.Factory.create();
+    }
+
+    @AfterAll
+    static void teardown() {
+        asciidoctor.shutdown();
+    }
+
+    @Test
+    void should_copy_document_attributes() {
+        Document document = load(":custom-attribute: a value\n\n= Title\n\nParagraph");
+
+        AttributesSnapshot snapshot = new AttributesSnapshot(document);
+
+        assertThat(snapshot.getDocumentAttribute("custom-attribute")).isEqualTo("a value");
+        assertThat(snapshot.getDocumentAttribute("sectnumlevels")).isEqualTo(2L);
+        assertThat(snapshot.getDocumentAttribute("not-set")).isNull();
+    }
+
+    @Test
+    void should_return_immutable_document_attributes() {
+        Document document = load("= Title\n\nParagraph");
+
+        Map<String, Object> attributes = new AttributesSnapshot(document).getDocumentAttributes();
+        Throwable throwable = catchThrowable(() -> attributes.put("key", "value"));
+
+        assertThat(throwable).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void should_find_attribute_in_node_parents_and_document() {
+        Document document = load(":doc-attribute:\n\n= Title\n\n[block-attribute=value]\n====\nParagraph\n====");
+        StructuralNode example = findBy(document, ":example");
+        StructuralNode paragraph = example.getBlocks().get(0);
+
+        AttributesSnapshot snapshot = new AttributesSnapshot(document);
+
+        assertThat(snapshot.hasAttribute("block-attribute", paragraph)).isTrue();
+        assertThat(snapshot.hasAttribute("block-attribute", example)).isTrue();
+        assertThat(snapshot.hasAttribute("block-attribute", document)).isFalse();
+        assertThat(snapshot.hasAttribute("doc-attribute", paragraph)).isTrue();
+        assertThat(snapshot.hasAttribute("not-set", paragraph)).isFalse();
+    }
+
+    @Test
+    void should_read_node_attributes_only_once() {
+        Document document = load("= Title\n\nParagraph");
+        StructuralNode paragraph = Mockito.mock(StructuralNode.class);
+        Mockito.when(paragraph.getAttributes()).thenReturn(Map.of("role", "lead"));
+        Mockito.when(paragraph.getParent()).thenReturn(document);
+
+        AttributesSnapshot snapshot = new AttributesSnapshot(document);
+        snapshot.hasAttribute("role", paragraph);
+        snapshot.hasAttribute("role", paragraph);
+        snapshot.hasAttribute("other", paragraph);
+
+        Mockito.verify(paragraph, Mockito.times(1)).getAttributes();
+        Mockito.verify(paragraph, Mockito.never()).getAttribute(Mockito.any());
+    }
+
+    @Test
+    void should_not_see_node_changes_after_snapshot() {
+        Document document = load("= Title\n\nParagraph");
+        StructuralNode paragraph = findBy(document, ":paragraph");
+
+        AttributesSnapshot snapshot = new AttributesSnapshot(document);
+        boolean before = snapshot.hasAttribute("role", paragraph);
+        paragraph.setAttribute("role", "lead", true);
+        boolean after = snapshot.hasAttribute("role", paragraph);
+
+        assertThat(before).isFalse();
+        assertThat(after).isFalse();
+        assertThat(paragraph.hasAttribute("role")).isTrue();
+    }
+
+    private static Document load(String content) {
+        return asciidoctor.load(content, Options.builder()
+            .attributes(Attributes.builder().attribute("sectnumlevels", 2L).build())
+            .build());
+    }
+
+    private static StructuralNode findBy(Document document, String context) {
+        return document.findBy(Collections.singletonMap("context", context)).get(0);
+    }
+}
@@ -1,6 +1,7 @@
 package org.asciidoctor.maven.site.parser;
 
 import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.maven.doxia.sink.Sink;
@@ -15,6 +16,7 @@ import org.asciidoctor.jruby.ast.impl.BlockImpl;
 import org.asciidoctor.jruby.ast.impl.DocumentImpl;
 import org.asciidoctor.jruby.ast.impl.SectionImpl;
 import org.asciidoctor.jruby.ast.impl.TableImpl;
+import org.asciidoctor.maven.site.parser.processors.test.TestNodeProcessorProvider;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -171,6 +173,100 @@ class NodeSinkerTest {
         assertThat(sinkWriter.toString()).isNotBlank();
     }
 
+    @Test
+    void should_reuse_processors_with_a_new_sink() throws NoSuchFieldException, IllegalAccessException {
+        Sink otherSink = createSink();
+        StringWriter otherSinkWriter = extractField(otherSink, "writer");
+        StructuralNode mockNode = mockNode("paragraph");
+        Mockito.when(mockNode.getContent()).thenReturn("something");
+
+        nodeSinker.setSink(otherSink);
+        nodeSinker.sink(mockNode);
+
+        assertThat(sinkWriter.toString()).isEmpty();
+        assertThat(otherSinkWriter.toString()).isNotBlank();
+    }
+
+    @Test
+    void should_replace_processor_registered_by_name() {
+        StructuralNode mockNode = mockNode("paragraph");
+        NodeProcessor customProcessor = Mockito.mock(NodeProcessor.class);
+
+        nodeSinker.register("paragraph", customProcessor);
+        nodeSinker.sink(mockNode);
+
+        Mockito.verify(customProcessor).process(mockNode);
+        Mockito.verify(customProcessor, Mockito.never()).applies(mockNode);
+        assertThat(sinkWriter.toString()).isEmpty();
+    }
+
+    @Test
+    void should_use_fallback_processor_when_no_processor_is_registered_by_name() {
+        StructuralNode mockNode = mockNode("sidebar");
+        NodeProcessor notApplyingProcessor = Mockito.mock(NodeProcessor.class);
+        NodeProcessor applyingProcessor = Mockito.mock(NodeProcessor.class);
+        Mockito.when(applyingProcessor.applies(mockNode)).thenReturn(true);
+
+        nodeSinker.register(notApplyingProcessor);
+        nodeSinker.register(applyingProcessor);
+        nodeSinker.sink(mockNode);
+
+        Mockito.verify(notApplyingProcessor, Mockito.never()).process(mockNode);
+        Mockito.verify(applyingProcessor).process(mockNode);
+    }
+
+    @Test
+    void should_process_node_with_processor_registered_through_spi() {
+        StructuralNode mockNode = mockNode(TestNodeProcessorProvider.NODE_NAME);
+
+        nodeSinker.sink(mockNode);
+
+        assertThat(sinkWriter.toString()).isEqualTo("<p>Processed by SPI</p>");
+    }
+
+    @Test
+    void should_collect_metrics_per_processor_type() {
+        NodeSinker instrumentedSinker = new NodeSinker(createSink(), new NodeProcessorMetrics());
+        StructuralNode preamble = mockNode("preamble");
+        StructuralNode paragraph = mockNode("paragraph");
+        StructuralNode unknown = mockNode("this-is-not-a-node");
+        Mockito.when(paragraph.getContent()).thenReturn("something");
+        Mockito.when(preamble.getBlocks()).thenReturn(List.of(paragraph, paragraph, unknown));
+
+        instrumentedSinker.sink(preamble);
+
+        NodeProcessorMetrics metrics = instrumentedSinker.getMetrics();
+        assertThat(metrics.getNodeCount("PreambleNodeProcessor")).isEqualTo(1);
+        assertThat(metrics.getNodeCount("ParagraphNodeProcessor")).isEqualTo(2);
+        assertThat(metrics.getNodeCount("NoOpNodeProcessor")).isEqualTo(1);
+        List<String> report = new ArrayList<>();
+        metrics.report(report::add);
+        assertThat(report)
+            .hasSize(3)
+            .anySatisfy(line -> assertThat(line).startsWith("ParagraphNodeProcessor: 2 node(s) in "));
+
+        metrics.reset();
+        assertThat(metrics.isEmpty()).isTrue();
+    }
+
+    @Test
+    void should_keep_metrics_totals_across_documents() {
+        NodeSinker instrumentedSinker = new NodeSinker(createSink(), new NodeProcessorMetrics());
+        NodeProcessorMetrics total = new NodeProcessorMetrics();
+        StructuralNode paragraph = mockNode("paragraph");
+        Mockito.when(paragraph.getContent()).thenReturn("something");
+
+        for (int document = 0; document < 3; document++) {
+            instrumentedSinker.sink(paragraph);
+            total.add(instrumentedSinker.getMetrics());
+            instrumentedSinker.getMetrics().reset();
+        }
+
+        assertThat(total.getNodeCount("ParagraphNodeProcessor")).isEqualTo(3);
+        assertThat(total.getTimeNanos("ParagraphNodeProcessor")).isPositive();
+        assertThat(instrumentedSinker.getMetrics().isEmpty()).isTrue();
+    }
+
     private static StructuralNode mockNode(String nodeName) {
         StructuralNode mockNode = Mockito.mock(StructuralNode.class);
         Mockito.when(mockNode.getNodeName()).thenReturn(nodeName);
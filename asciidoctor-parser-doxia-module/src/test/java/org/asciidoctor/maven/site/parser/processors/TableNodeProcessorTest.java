@@ -6,6 +6,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.asciidoctor.Asciidoctor;
 import org.asciidoctor.Options;
@@ -141,6 +142,32 @@ class TableNodeProcessorTest {
             .isEqualTo(expectedTableWithoutLabel());
     }
 
+    @Test
+    void should_convert_table_with_header_and_multiple_body_rows() {
+        String content = "= Document tile\n\n" +
+            "== Section\n" +
+            "[cols=\"1,1\",options=\"header\"]\n" +
+            "|===\n" +
+            "|Name |Language\n" +
+            IntStream.range(0, 50)
+                .mapToObj(i -> "|Row " + i + " |*Value " + i + "*\n")
+                .collect(Collectors.joining()) +
+            "|===";
+
+        String html = process(content);
+
+        assertThat(html)
+            .startsWith("<table class=\"bodyTable\" style=\"background: #FFFFFF\">" +
+                "<tr class=\"a\"><th>Name</th><th>Language</th></tr>" +
+                tr("b", td("Row 0", textAlignLeft()) + td("<strong>Value 0</strong>")))
+            .contains(tr("a", td("Row 25", textAlignLeft()) + td("<strong>Value 25</strong>")))
+            .endsWith(tr("a", td("Row 49", textAlignLeft()) + td("<strong>Value 49</strong>")) + "</table>");
+    }
+
+    private static Map<String, String> textAlignLeft() {
+        return Map.of(STYLE, "text-align: left;");
+    }
+
     @Nested
     class WhenCellContains {
 
@@ -196,7 +223,7 @@ class TableNodeProcessorTest {
         }
 
         private Map<String, String> textAlignLeft() {
-            return Map.of(STYLE, "text-align: left;");
+            return TableNodeProcessorTest.textAlignLeft();
         }
     }
 
@@ -266,10 +293,26 @@ class TableNodeProcessorTest {
         }
     }
 
-    private String process(String content) {
-        StructuralNode node = asciidoctor.load(content, Options.builder().build())
+    @Test
+    void should_fetch_cells_text_from_ruby_in_a_single_batch() {
+        String content = documentWithTable(true, noCaption, emptyList());
+
+        RubyContentBatch.TableCellsText cellsText = RubyContentBatch.tableCellsText(findTable(content));
+
+        // null means the table would be converted by the per-cell fallback
+        assertThat(cellsText).isNotNull();
+        assertThat(cellsText.header).containsExactly(List.of("Name", "Language"));
+        assertThat(cellsText.body).containsExactly(List.of("JRuby", "Java"), List.of("Rubinius", "Ruby"));
+    }
+
+    private StructuralNode findTable(String content) {
+        return asciidoctor.load(content, Options.builder().build())
             .findBy(Collections.singletonMap("context", ":table"))
             .get(0);
+    }
+
+    private String process(String content) {
+        StructuralNode node = findTable(content);
 
         nodeProcessor.process(node);
 
@@ -0,0 +1,45 @@
+package org.asciidoctor.maven.site.parser.processors.test;
+
+import java.util.List;
+
+import org.apache.maven.doxia.sink.Sink;
+import org.asciidoctor.ast.StructuralNode;
+import org.asciidoctor.maven.site.parser.NodeProcessor;
+import org.asciidoctor.maven.site.parser.NodeProcessorProvider;
+import org.asciidoctor.maven.site.parser.NodeSinker;
+import org.asciidoctor.maven.site.parser.processors.AbstractSinkNodeProcessor;
+
+/**
+ * {@link NodeProcessorProvider} registered through SPI for testing.
+ */
+public class TestNodeProcessorProvider implements NodeProcessorProvider {
+
+    public static final String NODE_NAME = "test-spi-node";
+
+    @Override
+    public List<String> getNodeNames() {
+        return List.of(NODE_NAME);
+    }
+
+    @Override
+    public NodeProcessor create(Sink sink, NodeSinker nodeSinker) {
+        return new TestSpiNodeProcessor(sink, nodeSinker);
+    }
+
+    public static class TestSpiNodeProcessor extends AbstractSinkNodeProcessor implements NodeProcessor {
+
+        public TestSpiNodeProcessor(Sink sink, NodeSinker nodeSinker) {
+            super(sink, nodeSinker);
+        }
+
+        @Override
+        public boolean applies(StructuralNode node) {
+            return NODE_NAME.equals(node.getNodeName());
+        }
+
+        @Override
+        public void process(StructuralNode node) {
+            getSink().rawText("<p>Processed by SPI</p>");
+        }
+    }
+}